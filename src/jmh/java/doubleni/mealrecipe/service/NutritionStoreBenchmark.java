@@ -0,0 +1,109 @@
+package doubleni.mealrecipe.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NutritionStore 범위 / 근접 검색 벤치마크 - 합성 레시피 recipes 개 (기본 100만)
+ * 영양소별 값은 고정 시드 난수, 5% 는 값 없음(NaN)
+ * 실행 : ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NutritionStoreBenchmark {
+
+    // 영양소별 최댓값 (열량 kcal, 탄수화물 g, 단백질 g, 지방 g, 나트륨 mg)
+    private static final float[] MAX = {1200f, 150f, 80f, 70f, 3000f};
+
+    @Param({"1000000"})
+    private int recipes;
+
+    private NutritionStore store;
+    private long[] rcpIds;
+    private float[][] rows;
+
+    private final float[] noMin = nan();
+    private final float[] noMax = nan();
+    private float[] caloriesMin;
+    private float[] caloriesMax;
+    private float[] allMin;
+    private float[] allMax;
+    private float[] target;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        rcpIds = new long[recipes];
+        rows = new float[recipes][NutritionStore.FIELDS.size()];
+        for (int i = 0; i < recipes; i++) {
+            rcpIds[i] = i + 1;
+            for (int f = 0; f < MAX.length; f++) {
+                rows[i][f] = random.nextInt(20) == 0 ? Float.NaN : Math.round(random.nextFloat() * MAX[f] * 10) / 10f;
+            }
+        }
+        store = new NutritionStore(null);
+        store.load(rcpIds, rows);
+
+        // 열량 300~600 kcal
+        caloriesMin = nan();
+        caloriesMax = nan();
+        caloriesMin[0] = 300f;
+        caloriesMax[0] = 600f;
+
+        // 모든 영양소에 범위 조건
+        allMin = new float[]{300f, 20f, 20f, 5f, 100f};
+        allMax = new float[]{700f, 100f, 60f, 40f, 1500f};
+
+        // 열량 500, 단백질 30, 나트륨 800 에 가까운 레시피
+        target = nan();
+        target[0] = 500f;
+        target[2] = 30f;
+        target[4] = 800f;
+    }
+
+    @Benchmark
+    public NutritionStore.RangeResult rangeCaloriesFirstPage() {
+        return store.range(caloriesMin, caloriesMax, 0, false, 0, 20);
+    }
+
+    @Benchmark
+    public NutritionStore.RangeResult rangeAllFieldsSortByProteinDesc() {
+        return store.range(allMin, allMax, 2, true, 0, 20);
+    }
+
+    @Benchmark
+    public NutritionStore.RangeResult rangeDeepPage() {
+        return store.range(caloriesMin, caloriesMax, 0, false, 100000, 20);
+    }
+
+    @Benchmark
+    public NutritionStore.RangeResult rangeNoCondition() {
+        return store.range(noMin, noMax, 0, false, 0, 20);
+    }
+
+    @Benchmark
+    public List<NutritionStore.Match> nearestTop20() {
+        return store.nearest(target, 20);
+    }
+
+    // 서버 시작 / json 저장 완료 때의 전체 재생성 (정렬 순서, 표준편차 포함)
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public NutritionStore rebuild() {
+        NutritionStore rebuilt = new NutritionStore(null);
+        rebuilt.load(rcpIds, rows);
+        return rebuilt;
+    }
+
+    private static float[] nan() {
+        float[] values = new float[NutritionStore.FIELDS.size()];
+        Arrays.fill(values, Float.NaN);
+        return values;
+    }
+}
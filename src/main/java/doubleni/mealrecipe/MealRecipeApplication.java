@@ -3,17 +3,17 @@ package doubleni.mealrecipe;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import javax.annotation.PostConstruct;
 import java.util.TimeZone;
 
 @EnableJpaAuditing // createdDate, updatedDate 자동 업데이트
+@EnableScheduling // 메모리 색인 주기적 갱신
 @SpringBootApplication
 @ComponentScan(basePackages = "doubleni")
 @EnableJpaRepositories(basePackages = "doubleni") // jpaRepository를 상속한 repository scan
@@ -31,9 +31,4 @@ public class MealRecipeApplication {
         SpringApplication.run(MealRecipeApplication.class, args);
     }
 
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
-
 }
@@ -3,6 +3,7 @@ package doubleni.mealrecipe.auth;
 import doubleni.mealrecipe.auth.model.PostKakaoReq;
 import doubleni.mealrecipe.config.exception.BaseException;
 import doubleni.mealrecipe.config.exception.BaseResponse;
+import doubleni.mealrecipe.model.DTO.DownstreamStatsRes;
 import doubleni.mealrecipe.model.DTO.PostUserRes;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -41,4 +42,16 @@ public class OAuthController {
             return new BaseResponse<>(exception.getStatus());
         }
     }
+
+    /**
+     * 카카오 호출 현황 api
+     * [GET] /oauth/kakao/client-stats
+     *
+     * @return BaseResponse<DownstreamStatsRes>
+     */
+    @GetMapping(value = "/kakao/client-stats")
+    @ApiOperation(value="카카오 호출 현황", notes="회로 차단기 상태(CLOSED / OPEN / HALF_OPEN), 최근 실패 비율, 동시 호출 수, 연결 풀 사용 현황")
+    public BaseResponse<DownstreamStatsRes> getKakaoClientStats() {
+        return new BaseResponse<>(OAuthService.getKakaoClientStats());
+    }
 }
@@ -2,7 +2,9 @@ package doubleni.mealrecipe.auth;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import doubleni.mealrecipe.auth.model.KakaoProfile;
+import doubleni.mealrecipe.config.DownstreamClient;
 import doubleni.mealrecipe.config.exception.BaseException;
+import doubleni.mealrecipe.model.DTO.DownstreamStatsRes;
 import doubleni.mealrecipe.model.DTO.PostUserRes;
 import doubleni.mealrecipe.model.User;
 import doubleni.mealrecipe.utils.JwtService;
@@ -13,23 +15,28 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 
 import java.sql.Timestamp;
 import java.util.Optional;
 
 import static doubleni.mealrecipe.config.exception.BaseResponseStatus.DATABASE_ERROR;
+import static doubleni.mealrecipe.config.exception.BaseResponseStatus.INVALID_JWT;
 import static doubleni.mealrecipe.config.exception.BaseResponseStatus.KAKAO_CONNECTION_ERROR;
+import static doubleni.mealrecipe.config.exception.BaseResponseStatus.REQUEST_ERROR;
 
 @Service
 public class OAuthService {
     private final JwtService jwtService;
     private final OAuthRepository oAuthRepository;
+    private final DownstreamClient kakaoClient;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public OAuthService(JwtService jwtService, OAuthRepository oAuthRepository){
+    public OAuthService(JwtService jwtService, OAuthRepository oAuthRepository, DownstreamClient kakaoClient, ObjectMapper objectMapper){
         this.oAuthRepository=oAuthRepository;
         this.jwtService=jwtService;
+        this.kakaoClient=kakaoClient;
+        this.objectMapper=objectMapper;
     }
 
 
@@ -64,22 +71,29 @@ public class OAuthService {
     }
 
     public KakaoProfile findProfile(String token) throws BaseException {
-        RestTemplate rt = new RestTemplate();
-
         HttpHeaders headers = new HttpHeaders();
         headers.add("Authorization", "Bearer " + token);
         headers.add("Content-type", "application/x-www-form-urlencoded;charset=utf-8");
 
         HttpEntity<MultiValueMap<String, String>> kakaoProfileRequest = new HttpEntity<>(headers);
 
-        ResponseEntity<String> kakaoProfileResponse = rt.exchange(
-                "https://kapi.kakao.com/v2/user/me",
-                HttpMethod.POST,
-                kakaoProfileRequest,
-                String.class
-        );
+        // 공용 연결 풀 + 제한 시간 + 회로 차단기 (카카오 서버가 멈추면 기다리지 않고 바로 실패)
+        ResponseEntity<String> kakaoProfileResponse;
+        try {
+            kakaoProfileResponse = kakaoClient.execute(rt -> rt.exchange(
+                    "https://kapi.kakao.com/v2/user/me",
+                    HttpMethod.POST,
+                    kakaoProfileRequest,
+                    String.class
+            ));
+        } catch (BaseException exception) {
+            // 4xx - 잘못되었거나 만료된 카카오 토큰
+            if (exception.getStatus() == REQUEST_ERROR) {
+                throw new BaseException(INVALID_JWT);
+            }
+            throw new BaseException(KAKAO_CONNECTION_ERROR);
+        }
 
-        ObjectMapper objectMapper = new ObjectMapper();
         KakaoProfile kakaoProfile = null;
         try {
             kakaoProfile = objectMapper.readValue(kakaoProfileResponse.getBody(), KakaoProfile.class);
@@ -90,6 +104,10 @@ public class OAuthService {
         return kakaoProfile;
     }
 
+    public DownstreamStatsRes getKakaoClientStats() {
+        return kakaoClient.stats();
+    }
+
     public PostUserRes loginUser(KakaoProfile kakaoProfile) throws BaseException{
         try {
             Long id = kakaoProfile.getId();
@@ -0,0 +1,214 @@
+package doubleni.mealrecipe.config;
+
+import doubleni.mealrecipe.config.exception.BaseException;
+import doubleni.mealrecipe.model.DTO.DownstreamStatsRes;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static doubleni.mealrecipe.config.exception.BaseResponseStatus.REQUEST_ERROR;
+import static doubleni.mealrecipe.config.exception.BaseResponseStatus.SERVER_ERROR;
+
+/**
+ * 외부 서버(downstream) 하나를 부르는 클라이언트
+ * - 연결 풀은 모든 외부 서버가 같이 쓰고, 연결 / 응답 제한 시간은 서버마다 따로
+ * - 동시 호출 수 제한(bulkhead) - 자리가 없으면 기다리지 않고 바로 실패
+ * - 회로 차단기 - 최근 호출 실패가 많으면 일정 시간 호출하지 않고 바로 실패, 그 뒤 한 번 시험 호출
+ * 외부 서버가 멈춰도 요청 스레드가 그 뒤에 쌓이지 않게 한다.
+ */
+@Slf4j
+public class DownstreamClient {
+
+    private final String name;
+    private final RestTemplate restTemplate;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final Semaphore bulkhead;
+    private final int maxConcurrent;
+    private final CircuitBreaker circuitBreaker;
+
+    private final AtomicLong successCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong clientErrorCount = new AtomicLong(); // 4xx 응답 (요청 값 문제, 차단기 실패로 세지 않음)
+    private final AtomicLong rejectedCount = new AtomicLong(); // 차단기 / 동시 호출 제한으로 부르지 않은 수
+
+    public DownstreamClient(String name, RestTemplate restTemplate, PoolingHttpClientConnectionManager connectionManager,
+                            int maxConcurrent, CircuitBreaker circuitBreaker) {
+        this.name = name;
+        this.restTemplate = restTemplate;
+        this.connectionManager = connectionManager;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * 호출 - 차단 중이거나 동시 호출 수를 넘었거나 호출이 실패하면 SERVER_ERROR
+     * 4xx 응답은 외부 서버는 정상이고 요청(만료된 토큰 등)이 잘못된 것이므로 차단기에는 성공으로 기록하고 REQUEST_ERROR
+     * 차단기 실패는 연결 / 응답 제한 시간 초과(ResourceAccessException)와 5xx 응답만
+     */
+    public <T> T execute(Function<RestTemplate, T> call) throws BaseException {
+        if (!circuitBreaker.tryAcquire()) {
+            rejectedCount.incrementAndGet();
+            throw new BaseException(SERVER_ERROR);
+        }
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.release();
+            rejectedCount.incrementAndGet();
+            throw new BaseException(SERVER_ERROR);
+        }
+        try {
+            T result = call.apply(restTemplate);
+            circuitBreaker.onSuccess();
+            successCount.incrementAndGet();
+            return result;
+        } catch (HttpClientErrorException exception) {
+            circuitBreaker.onSuccess();
+            clientErrorCount.incrementAndGet();
+            throw new BaseException(REQUEST_ERROR);
+        } catch (ResourceAccessException | HttpServerErrorException exception) {
+            circuitBreaker.onFailure();
+            failureCount.incrementAndGet();
+            log.warn("외부 서버 호출 실패 ({}) - {}", name, exception.getMessage());
+            throw new BaseException(SERVER_ERROR);
+        } catch (RuntimeException exception) {
+            // 응답 변환 실패 등 외부 서버 상태와 무관한 오류 - 기록 없이 시험 호출 자리만 돌려줌
+            circuitBreaker.release();
+            log.warn("외부 서버 응답 처리 실패 ({})", name, exception);
+            throw new BaseException(SERVER_ERROR);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public DownstreamStatsRes stats() {
+        PoolStats pool = connectionManager.getTotalStats();
+        return new DownstreamStatsRes(name, circuitBreaker.getState().name(), circuitBreaker.failureRate(),
+                successCount.get(), failureCount.get(), clientErrorCount.get(), rejectedCount.get(),
+                maxConcurrent - bulkhead.availablePermits(), maxConcurrent,
+                pool.getLeased(), pool.getAvailable(), pool.getPending(), pool.getMax());
+    }
+
+    /**
+     * 회로 차단기 - 최근 window 번 호출 중 실패 비율로 판단
+     * CLOSED : 정상 호출, 최근 minimumCalls 번 이상 중 실패 비율이 failureRateThreshold 이상이면 OPEN
+     * OPEN : openMs 동안 바로 실패, 지나면 HALF_OPEN
+     * HALF_OPEN : 시험 호출 하나만 허용 - 성공하면 CLOSED(기록 초기화), 실패하면 다시 OPEN
+     */
+    public static final class CircuitBreaker {
+
+        public enum State { CLOSED, OPEN, HALF_OPEN }
+
+        private final boolean[] outcomes; // 최근 호출 실패 여부 (원형 버퍼)
+        private final int minimumCalls;
+        private final double failureRateThreshold;
+        private final long openNanos;
+
+        private State state = State.CLOSED;
+        private int position;
+        private int recorded;
+        private int failures;
+        private long openedAt;
+        private boolean trialInFlight;
+
+        public CircuitBreaker(int window, int minimumCalls, double failureRateThreshold, long openMs) {
+            this.outcomes = new boolean[window];
+            this.minimumCalls = Math.min(minimumCalls, window);
+            this.failureRateThreshold = failureRateThreshold;
+            this.openNanos = openMs * 1_000_000;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+            }
+            return true;
+        }
+
+        // 허용 받고 부르지 않은 경우 (동시 호출 제한) / 결과를 판단할 수 없는 경우
+        synchronized void release() {
+            trialInFlight = false;
+        }
+
+        // 차단 전에 시작한 호출의 결과는 버림
+        synchronized void onSuccess() {
+            if (state == State.OPEN) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                reset();
+                state = State.CLOSED;
+                return;
+            }
+            record(false);
+        }
+
+        synchronized void onFailure() {
+            if (state == State.OPEN) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                open();
+                return;
+            }
+            record(true);
+            if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+                open();
+            }
+        }
+
+        public synchronized State getState() {
+            return state;
+        }
+
+        public synchronized double failureRate() {
+            return recorded == 0 ? 0 : Math.round((double) failures / recorded * 1000) / 1000.0;
+        }
+
+        private void record(boolean failure) {
+            if (recorded == outcomes.length) {
+                if (outcomes[position]) {
+                    failures--;
+                }
+            } else {
+                recorded++;
+            }
+            outcomes[position] = failure;
+            if (failure) {
+                failures++;
+            }
+            position = (position + 1) % outcomes.length;
+        }
+
+        private void open() {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            reset();
+        }
+
+        private void reset() {
+            Arrays.fill(outcomes, false);
+            position = 0;
+            recorded = 0;
+            failures = 0;
+            trialInFlight = false;
+        }
+    }
+}
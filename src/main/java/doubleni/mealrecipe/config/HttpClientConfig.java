@@ -0,0 +1,74 @@
+package doubleni.mealrecipe.config;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 서버 호출용 HTTP 클라이언트
+ * 연결 풀(keep-alive) 하나를 같이 쓰고, 외부 서버마다 제한 시간 / 동시 호출 수 / 회로 차단기를 따로 둔다.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManager httpConnectionManager(
+            @Value("${http.client.max-total:100}") int maxTotal,
+            @Value("${http.client.max-per-route:20}") int maxPerRoute) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(2000); // 2초 넘게 놀던 연결은 꺼내기 전에 확인
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager,
+                                          @Value("${http.client.keep-alive-ms:30000}") long keepAliveMs) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                // 서버가 keep-alive 시간을 주면 그 값과 keepAliveMs 중 짧은 쪽
+                .setKeepAliveStrategy((response, context) -> {
+                    long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return duration > 0 ? Math.min(duration, keepAliveMs) : keepAliveMs;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAliveMs, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    // 기본 RestTemplate - 연결 풀 사용
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient httpClient) {
+        return new RestTemplate(requestFactory(httpClient, 2000, 5000));
+    }
+
+    // 카카오 사용자 정보 조회
+    @Bean
+    public DownstreamClient kakaoClient(CloseableHttpClient httpClient, PoolingHttpClientConnectionManager httpConnectionManager,
+                                        @Value("${http.kakao.connect-timeout-ms:1000}") int connectTimeoutMs,
+                                        @Value("${http.kakao.read-timeout-ms:3000}") int readTimeoutMs,
+                                        @Value("${http.kakao.max-concurrent:20}") int maxConcurrent,
+                                        @Value("${http.kakao.open-ms:30000}") long openMs) {
+        RestTemplate restTemplate = new RestTemplate(requestFactory(httpClient, connectTimeoutMs, readTimeoutMs));
+        return new DownstreamClient("kakao", restTemplate, httpConnectionManager, maxConcurrent,
+                new DownstreamClient.CircuitBreaker(20, 10, 0.5, openMs));
+    }
+
+    private static HttpComponentsClientHttpRequestFactory requestFactory(CloseableHttpClient httpClient,
+                                                                         int connectTimeoutMs, int readTimeoutMs) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+        requestFactory.setConnectionRequestTimeout(connectTimeoutMs); // 풀에서 연결을 기다리는 시간
+        return requestFactory;
+    }
+}
@@ -59,6 +59,9 @@ public enum BaseResponseStatus {
     // recipe
     RECIPE_NOT_EXISTS(false, 2050, "존재하지 않는 레시피입니다."),
     RECIPE_ID_NO_EXISTS(false,2051,"레시피 아이디를 입력해주세요"),
+    INGEST_JOB_NOT_EXISTS(false, 2052, "존재하지 않는 저장 작업입니다."),
+    MEAL_PLAN_NOT_FOUND(false, 2053, "조건을 만족하는 식단이 없습니다."),
+    RECOMMEND_JOB_NOT_EXISTS(false, 2054, "추천 계산 작업이 없습니다."),
 
     // board
     POST_BOARD_FAILS(false, 2060, "게시글 등록을 실패하였습니다."),
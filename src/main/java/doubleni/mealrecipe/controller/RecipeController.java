@@ -3,14 +3,18 @@ package doubleni.mealrecipe.controller;
 import doubleni.mealrecipe.config.exception.BaseException;
 import doubleni.mealrecipe.config.exception.BaseResponse;
 import doubleni.mealrecipe.model.DTO.*;
+import doubleni.mealrecipe.model.IngestJob;
+import doubleni.mealrecipe.service.AutocompleteService;
+import doubleni.mealrecipe.service.IngredientSearchService;
+import doubleni.mealrecipe.service.MealPlanService;
+import doubleni.mealrecipe.service.RecipeIngestJobService;
 import doubleni.mealrecipe.service.RecipeService;
+import doubleni.mealrecipe.service.RecipeTextSearchService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.parameters.P;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -37,48 +41,90 @@ public class RecipeController {
      */
 
     private final RecipeService recipeService;
+    private final RecipeIngestJobService recipeIngestJobService;
+    private final IngredientSearchService ingredientSearchService;
+    private final RecipeTextSearchService recipeTextSearchService;
+    private final AutocompleteService autocompleteService;
+    private final MealPlanService mealPlanService;
 
     /**
-     * json 저장 api
-     * [POST] /recipe
+     * json 저장 api - 백그라운드 작업으로 실행
+     * [POST] /recipe/read-json?mode={INSERT|DELTA}
      *
-     * @return BaseResponse<String>
+     * @return BaseResponse<IngestRes> (jobId 로 진행 상황 조회)
      */
     @PostMapping("/read-json")
-    @ApiOperation(value="json 저장 API", notes="식약처 API 사용")
-    public ResponseEntity<String> readRecipes() {
+    @ApiOperation(value="json 저장 API", notes="식약처 API 사용 \n 저장 작업을 등록하고 작업 id 를 바로 반환 \n 완료되지 않은 이전 작업이 있으면 이어서 진행 \n"
+            + " - mode=INSERT : 레시피명 기준 새 레시피만 저장 \n - mode=DELTA : 일련 번호 기준 추가/변경/삭제 반영")
+    @ApiResponses(value={@ApiResponse(code = 2000, message = "입력값을 확인해주세요."),
+            @ApiResponse(code = 4003, message = "json 파일 저장 실패하였습니다.")})
+    public BaseResponse<IngestRes> readRecipes(@RequestParam(value = "mode", defaultValue = IngestJob.MODE_INSERT) String mode) {
+        if (!IngestJob.MODE_INSERT.equals(mode) && !IngestJob.MODE_DELTA.equals(mode)) {
+            return new BaseResponse<>(REQUEST_ERROR);
+        }
         try {
-            // JSON 파일을 읽고 데이터베이스에 저장하는 작업 수행
-            recipeService.read();
-            return ResponseEntity.ok("레시피를 성공적으로 저장했습니다!");
+            // JSON 파일을 읽고 데이터베이스에 저장하는 작업 등록
+            IngestRes ingestRes = recipeService.read(mode);
+            return new BaseResponse<>(ingestRes);
         } catch (BaseException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+            return new BaseResponse<>(e.getStatus());
         }
     }
 
     /**
-     * 모든 레시피(리스트) 조회 api
-     * [GET] /recipe/List
+     * json 저장 작업 상태 조회 api
+     * [GET] /recipe/read-json/{jobId}
      *
-     * @return BaseResponse<List>
+     * @return BaseResponse<IngestRes>
+     */
+    @GetMapping("/read-json/{jobId}")
+    @ApiOperation(value="json 저장 상태 조회 API", notes="읽은/저장/건너뜀/실패 행 수, 처리량(rows/sec), 체크포인트")
+    @ApiResponses(value={@ApiResponse(code = 2052, message = "존재하지 않는 저장 작업입니다.")})
+    public BaseResponse<IngestRes> getIngestJob(@PathVariable Long jobId) {
+        try {
+            return new BaseResponse<>(recipeIngestJobService.getJob(jobId));
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
+        }
+    }
+
+    /**
+     * json 저장 작업 취소 api
+     * [DELETE] /recipe/read-json/{jobId}
+     *
+     * @return BaseResponse<IngestRes>
+     */
+    @DeleteMapping("/read-json/{jobId}")
+    @ApiOperation(value="json 저장 취소 API", notes="현재 청크까지 커밋 후 중단 \n 다시 저장 요청 시 체크포인트부터 이어서 진행")
+    @ApiResponses(value={@ApiResponse(code = 2052, message = "존재하지 않는 저장 작업입니다.")})
+    public BaseResponse<IngestRes> cancelIngestJob(@PathVariable Long jobId) {
+        try {
+            return new BaseResponse<>(recipeIngestJobService.cancel(jobId));
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
+        }
+    }
+
+    /**
+     * 레시피 목록 조회 api (cursor 페이지)
+     * [GET] /recipe/list?sort=likes&size=20&cursor={nextCursor}
+     *
+     * @return BaseResponse<CursorPageRes<RecipeCardRes>>
      */
     @GetMapping("/list")
-    @ApiOperation(value = "레시피 조회 API", notes = "모든 레시피(리스트) 조회")
-    @ApiResponses(value={@ApiResponse(code = 3000, message = "값을 불러오는데 실패하였습니다."),
-            @ApiResponse(code = 4000, message = "데이터베이스 연결에 실패하였습니다."),
-            @ApiResponse(code = 4020, message = "레시피 조회 실패")})
-    public BaseResponse<List<GetRecipeRes>> getAllRecipes() throws BaseException {
+    @ApiOperation(value = "레시피 조회 API", notes = "레시피 목록 조회 - 카드 정보(id, 이름, 종류, 이미지, 열량, 평점, 좋아요)만 \n"
+            + " sort : id(등록순), likes(좋아요 많은 순), rating(평점 높은 순), kcal(열량 낮은 순, 열량 없는 레시피 제외) \n"
+            + " 다음 페이지는 응답의 nextCursor 를 cursor 로 전달, size 최대 100")
+    @ApiResponses(value={@ApiResponse(code = 2000, message = "입력값을 확인해주세요."),
+            @ApiResponse(code = 4000, message = "데이터베이스 연결에 실패하였습니다.")})
+    public BaseResponse<CursorPageRes<RecipeCardRes>> getAllRecipes(@RequestParam(value = "sort", defaultValue = "id") String sort,
+                                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                                    @RequestParam(value = "size", defaultValue = "20") int size) {
         try {
-            List<GetRecipeRes> getRecipeRes = recipeService.getAllRecipes();
-            return new BaseResponse<>(getRecipeRes);
-        } catch (Exception e) {
-            return new BaseResponse<>(RESPONSE_ERROR);
+            return new BaseResponse<>(recipeService.getRecipeCards(sort, cursor, size));
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
         }
-//        List<GetRecipeRes> getRecipeRes = recipeService.getAllRecipes();
-//        if (getRecipeRes.isEmpty()) {
-//            return new BaseResponse<>(RESPONSE_ERROR);
-//        }
-//        return new BaseResponse<>(getRecipeRes);
     }
 
 
@@ -108,70 +154,261 @@ public class RecipeController {
         }
     }
 
+    /**
+     * 레시피 여러 개 조회 api
+     * [GET] /recipe/batch?rcpIds=1,2,3 또는 /recipe/batch?rcpSeqs=28,31
+     *
+     * @return BaseResponse<RecipeBatchRes>
+     */
+    @GetMapping("/batch")
+    @ApiOperation(value="레시피 여러 개 조회 API", notes="id(rcpIds) 또는 일련 번호(rcpSeqs) 목록으로 한 번에 조회, 최대 100 개 \n"
+            + " 요청 순서대로 반환, 찾지 못한 id / 일련 번호는 missing")
+    @ApiResponses(value={@ApiResponse(code = 2000, message = "입력값을 확인해주세요."),
+            @ApiResponse(code = 4000, message = "데이터베이스 연결에 실패하였습니다.")})
+    public BaseResponse<RecipeBatchRes> getRecipesInBatch(@RequestParam(required = false) List<Long> rcpIds,
+                                                         @RequestParam(required = false) List<String> rcpSeqs) {
+        try {
+            return new BaseResponse<>(recipeService.getRecipesInBatch(rcpIds, rcpSeqs));
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
+        }
+    }
+
+    /**
+     * 레시피 카탈로그 버전 조회 api
+     * [GET] /recipe/catalog-version
+     *
+     * @return BaseResponse<CatalogVersionRes>
+     */
+    @GetMapping("/catalog-version")
+    @ApiOperation(value = "레시피 카탈로그 버전 API", notes = "레시피 목록 / 검색에 쓰는 카탈로그의 버전 \n"
+            + " 저장해 둔 버전과 같으면 목록을 다시 받을 필요 없음")
+    public BaseResponse<CatalogVersionRes> getCatalogVersion() {
+        return new BaseResponse<>(recipeService.getCatalogVersion());
+    }
+
+    /**
+     * 레시피 상세 조회 캐시 현황 api
+     * [GET] /recipe/cache-stats
+     *
+     * @return BaseResponse<CacheStatsRes>
+     */
+    @GetMapping("/cache-stats")
+    @ApiOperation(value = "레시피 캐시 현황 API", notes = "상세 조회 캐시의 크기, hit / miss, 밀려난 항목 수")
+    public BaseResponse<CacheStatsRes> getRecipeDetailCacheStats() {
+        return new BaseResponse<>(recipeService.getRecipeDetailCacheStats());
+    }
+
+    /**
+     * 레시피 조리 순서 조회 api
+     * [GET] /recipe/{rcpId}/steps
+     *
+     * @return BaseResponse<List<RecipeStepRes>>
+     */
+    @GetMapping("/{rcpId}/steps")
+    @ApiOperation(value="레시피 조리 순서 조회 API", notes="id로 레시피 조리 순서(설명, 이미지) 조회")
+    @ApiResponses(value={@ApiResponse(code = 2050, message = "존재하지 않는 레시피입니다."),
+            @ApiResponse(code = 4000, message = "데이터베이스 연결에 실패하였습니다.")})
+    public BaseResponse<List<RecipeStepRes>> getRecipeSteps(@PathVariable Long rcpId) {
+        try {
+            return new BaseResponse<>(recipeService.getRecipeSteps(rcpId));
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
+        }
+    }
+
     /**
      * 고단백 조건 정렬 조회 api
-     * [GET] /recipe/list-order-by-protein
+     * [GET] /recipe/list-order-by-protein?page={page}&size={size}
      *
-     * @return BaseResponse<GetRecipeIdRes>
+     * @return BaseResponse<PageRes<GetRecipeOrderRes>>
      */
-//    @GetMapping("/list-order-by-protein")
-//    @ApiOperation(value="레시피 조건 정렬 API", notes="고단백 레시피 정렬")
-//    @ApiResponses(value={@ApiResponse(code =3000,message = "값을 불러오는데 실패하였습니다.")})
-//    public BaseResponse<List<GetRecipeOrderRes>> getRecipeByOrderByInfoProDesc() {
-//        try {
-//            List<GetRecipeOrderRes> getRecipeRes  = recipeService.getRecipeByOrderByInfoProDesc();
-//            return new BaseResponse<>(getRecipeRes);
-//        } catch (Exception e) {
-//            return new BaseResponse<>(RESPONSE_ERROR);
-//        }
-//    }
+    @GetMapping("/list-order-by-protein")
+    @ApiOperation(value="레시피 조건 정렬 API", notes="고단백 레시피 정렬 (단백질 내림차순, 페이지 단위)")
+    @ApiResponses(value={@ApiResponse(code = 2000, message = "입력값을 확인해주세요."),
+            @ApiResponse(code = 4000, message = "데이터베이스 연결에 실패하였습니다.")})
+    public BaseResponse<PageRes<GetRecipeOrderRes>> getRecipeByOrderByInfoProDesc(@RequestParam(defaultValue = "0") int page,
+                                                                                  @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > RecipeService.MAX_PAGE_SIZE) {
+            return new BaseResponse<>(REQUEST_ERROR);
+        }
+        try {
+            return new BaseResponse<>(recipeService.getRecipeByOrderByInfoProDesc(page, size));
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
+        }
+    }
 
     /**
      * 저지방 조건 정렬 조회 api
-     * [GET] /recipe/list-order-by-fat
+     * [GET] /recipe/list-order-by-fat?page={page}&size={size}
      *
-     * @return BaseResponse<GetRecipeIdRes>
+     * @return BaseResponse<PageRes<GetRecipeOrderRes>>
      */
-//    @GetMapping("/list-order-by-fat")
-//    @ApiOperation(value="레시피 조건 정렬 API", notes="저지방 레시피 정렬")
-//    @ApiResponses(value={@ApiResponse(code =3000,message = "값을 불러오는데 실패하였습니다.")})
-//    public BaseResponse<List<GetRecipeOrderRes>> getRecipeByOrderByInfoFatAsc() {
-//        try {
-//            List<GetRecipeOrderRes> getRecipeRes  = recipeService.getRecipeByOrderByInfoFatAsc();
-//            return new BaseResponse<>(getRecipeRes);
-//        } catch (Exception e) {
-//            return new BaseResponse<>(RESPONSE_ERROR);
-//        }
-//    }
+    @GetMapping("/list-order-by-fat")
+    @ApiOperation(value="레시피 조건 정렬 API", notes="저지방 레시피 정렬 (지방 오름차순, 페이지 단위)")
+    @ApiResponses(value={@ApiResponse(code = 2000, message = "입력값을 확인해주세요."),
+            @ApiResponse(code = 4000, message = "데이터베이스 연결에 실패하였습니다.")})
+    public BaseResponse<PageRes<GetRecipeOrderRes>> getRecipeByOrderByInfoFatAsc(@RequestParam(defaultValue = "0") int page,
+                                                                                 @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > RecipeService.MAX_PAGE_SIZE) {
+            return new BaseResponse<>(REQUEST_ERROR);
+        }
+        try {
+            return new BaseResponse<>(recipeService.getRecipeByOrderByInfoFatAsc(page, size));
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
+        }
+    }
+
+    /**
+     * 영양 정보 범위 검색 api
+     * [GET] /recipe/search-nutrition?minPro=20&maxNa=400&minEng=300&maxEng=600&sort=pro&direction=desc&page=0&size=20
+     *
+     * @return BaseResponse<PageRes<GetRecipeOrderRes>>
+     */
+    @GetMapping("/search-nutrition")
+    @ApiOperation(value="영양 정보 범위 검색 API", notes="열량(eng), 탄수화물(car), 단백질(pro), 지방(fat), 나트륨(na) 의 min/max 조건 \n"
+            + " 값이 없는 조건은 무시, sort 는 eng/car/pro/fat/na, direction 은 asc/desc, size 는 최대 100")
+    @ApiResponses(value={@ApiResponse(code = 2000, message = "입력값을 확인해주세요."),
+            @ApiResponse(code = 4000, message = "데이터베이스 연결에 실패하였습니다.")})
+    public BaseResponse<PageRes<GetRecipeOrderRes>> searchRecipeByNutrition(NutritionRangeReq req) {
+        try {
+            return new BaseResponse<>(recipeService.searchRecipeByNutrition(req));
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
+        }
+    }
+
+    /**
+     * 목표 영양소 근접 검색 api
+     * [GET] /recipe/nearest-nutrition?eng=500&pro=30&na=600&size=20
+     *
+     * @return BaseResponse<List<NutritionMatchRes>>
+     */
+    @GetMapping("/nearest-nutrition")
+    @ApiOperation(value="목표 영양소 근접 검색 API", notes="열량(eng), 탄수화물(car), 단백질(pro), 지방(fat), 나트륨(na) 목표 값에 가까운 순 \n"
+            + " 값이 있는 영양소만 비교, 목표는 하나 이상, size 는 최대 100")
+    @ApiResponses(value={@ApiResponse(code = 2000, message = "입력값을 확인해주세요."),
+            @ApiResponse(code = 4000, message = "데이터베이스 연결에 실패하였습니다.")})
+    public BaseResponse<List<NutritionMatchRes>> searchRecipeByNutritionTarget(NutritionTargetReq req) {
+        try {
+            return new BaseResponse<>(recipeService.searchRecipeByNutritionTarget(req));
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
+        }
+    }
+
+    /**
+     * 인기 급상승 레시피 api
+     * [GET] /recipe/trending?size=20
+     *
+     * @return BaseResponse<List<TrendingRecipeRes>>
+     */
+    @GetMapping("/trending")
+    @ApiOperation(value="인기 급상승 레시피 API", notes="최근 좋아요, 리뷰가 많은 순 (하루 지날 때마다 점수 절반), size 는 최대 100")
+    @ApiResponses(value={@ApiResponse(code = 2000, message = "입력값을 확인해주세요.")})
+    public BaseResponse<List<TrendingRecipeRes>> getTrendingRecipes(@RequestParam(defaultValue = "20") int size) {
+        try {
+            return new BaseResponse<>(recipeService.getTrendingRecipes(size));
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
+        }
+    }
+
+    /**
+     * 하루 식단 추천 api
+     * [POST] /recipe/meal-plan
+     * {"maxEng": 2000, "maxNa": 2000, "minPro": 90, "user_likes": ["두부"], "user_allergies": ["새우"]}
+     *
+     * @return BaseResponse<MealPlanRes>
+     */
+    @PostMapping("/meal-plan")
+    @ApiOperation(value="하루 식단 추천 API", notes="아침, 점심, 저녁마다 주식(밥, 일품) + 곁들임(국&찌개, 반찬) \n"
+            + " 하루 합계 영양 정보 min/max 조건, 선호 재료(user_likes) 우선, 알러지 재료(user_allergies) 제외 \n"
+            + " 제한 시간 안에 탐색을 끝내지 못하면 그때까지의 최선 (optimal = false)")
+    @ApiResponses(value={@ApiResponse(code = 2000, message = "입력값을 확인해주세요."),
+            @ApiResponse(code = 2053, message = "조건을 만족하는 식단이 없습니다."),
+            @ApiResponse(code = 4000, message = "데이터베이스 연결에 실패하였습니다.")})
+    public BaseResponse<MealPlanRes> planMeals(@RequestBody MealPlanReq req) {
+        try {
+            return new BaseResponse<>(mealPlanService.plan(req));
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
+        }
+    }
 
     // ===============================================================================================
 
     /**
      * 키워드(in 레시피) 리스트 검색 api
-     * [GET] /recipe/search-recipe-of?keyword={keyword}
+     * [GET] /recipe/search-recipe-of?keyword={keyword}&page={page}&size={size}
      *
-     *  @return BaseResponse<String>
+     *  @return BaseResponse<PageRes<RecipeSearchHitRes>>
      */
-    // 키워드로 검색 - 키워드가 레시피명에 속한 레시피 리스트 출력
+    // 키워드로 검색 - 레시피명, 해시태그, 조리 순서, 저감 조리법에서 검색해 점수 순으로 출력
     @GetMapping("/search-recipe-of")
-    @ApiOperation(value="레시피 검색 API", notes="키워드로 레시피 검색")
+    @ApiOperation(value="레시피 검색 API", notes="키워드로 레시피 검색 \n 레시피명, 해시태그, 조리 순서, 저감 조리법 전문 검색 (BM25 점수 순, 페이지 단위)")
     @ApiResponses(value={@ApiResponse(code = 2000, message = "입력값을 확인해주세요."),
             @ApiResponse(code = 2050, message = "존재하지 않는 레시피입니다."),
             @ApiResponse(code = 3000, message = "값을 불러오는데 실패하였습니다."),
             @ApiResponse(code = 4000, message = "데이터베이스 연결에 실패하였습니다."),
             @ApiResponse(code = 4020, message = "레시피 조회 실패")})
-    public BaseResponse<List<GetRecipeRes>> searchRecipeByKeyword (@RequestParam("keyword") String writer){
+    public BaseResponse<PageRes<RecipeSearchHitRes>> searchRecipeByKeyword (@RequestParam("keyword") String writer,
+                                                                         @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                         @RequestParam(value = "size", defaultValue = "20") int size){
         try{
-            if (writer == null) {
+            if (writer == null || writer.isBlank()) {
                 return new BaseResponse<>(REQUEST_ERROR);
             }
-            List<GetRecipeRes> response = recipeService.searchRecipeByName(writer);
-            if (response.isEmpty()) {
+            PageRes<RecipeSearchHitRes> response = recipeTextSearchService.search(writer, page, size);
+            if (response.getTotalElements() == 0) {
                 return new BaseResponse<>(RECIPE_NOT_EXISTS);
             }
             return new BaseResponse<>(response);
         } catch (BaseException exception){
-            return new BaseResponse<>(RESPONSE_ERROR);
+            return new BaseResponse<>(exception.getStatus());
+        }
+    }
+
+    /**
+     * 검색어 자동 완성 api
+     * [GET] /recipe/autocomplete?q=김ㅊ&size=10
+     *
+     * @return BaseResponse<AutocompleteRes>
+     */
+    @GetMapping("/autocomplete")
+    @ApiOperation(value = "검색어 자동 완성 API", notes = "레시피명, 재료명 앞부분 또는 초성(ㄱㅊㅉ)으로 자동 완성 \n"
+            + " 레시피는 좋아요 수 + 평균 평점, 재료는 사용 레시피 수가 많은 순으로 각각 상위 size 개 (최대 10)")
+    @ApiResponses(value={@ApiResponse(code = 2000, message = "입력값을 확인해주세요.")})
+    public BaseResponse<AutocompleteRes> autocomplete(@RequestParam("q") String query,
+                                                      @RequestParam(value = "size", defaultValue = "10") int size) {
+        try {
+            return new BaseResponse<>(autocompleteService.autocomplete(query, size));
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
+        }
+    }
+
+    /**
+     * 재료 조합 검색 api
+     * [GET] /recipe/search-ingredients?all=새우,두부&none=우유&size=20
+     *
+     * @return BaseResponse<IngredientSearchRes>
+     */
+    @GetMapping("/search-ingredients")
+    @ApiOperation(value = "재료 조합 검색 API", notes = "all : 모두 포함(AND), any : 하나 이상 포함(OR), none : 제외(NOT) \n"
+            + " 일치한 재료 수가 많은 순으로 상위 size 개 (최대 100), 검색 재료는 합쳐서 최대 10개")
+    @ApiResponses(value={@ApiResponse(code = 2000, message = "입력값을 확인해주세요."),
+            @ApiResponse(code = 4000, message = "데이터베이스 연결에 실패하였습니다.")})
+    public BaseResponse<IngredientSearchRes> searchRecipeByIngredients(@RequestParam(value = "all", required = false) List<String> all,
+                                                                       @RequestParam(value = "any", required = false) List<String> any,
+                                                                       @RequestParam(value = "none", required = false) List<String> none,
+                                                                       @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            return new BaseResponse<>(ingredientSearchService.search(all, any, none, size));
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
         }
     }
 
@@ -190,7 +427,7 @@ public class RecipeController {
             @ApiResponse(code = 4000, message = "데이터베이스 연결에 실패하였습니다.")})
     public BaseResponse<List<GetRecipeRes>> searchRecipeByRcpPartsDtls (@RequestParam("keyword") String ingredient) throws BaseException {
         try {
-            if (ingredient.isEmpty()) {
+            if (ingredient.isBlank()) {
                 return new BaseResponse<>(REQUEST_ERROR);
             }
 
@@ -212,7 +449,7 @@ public class RecipeController {
      */
     // 레시피명 검색 - 레시피의 재료 출력
     @GetMapping("/search-ingredient-of-recipe")
-    @ApiOperation(value = "재료 검색 API", notes = "레시피의 재료 검색")
+    @ApiOperation(value = "재료 검색 API", notes = "레시피의 재료 검색 \n 레시피명이 정확하지 않으면 가장 비슷한 레시피 (trigram 유사도)")
     @ApiResponses(value={@ApiResponse(code =2000,message = "입력값을 확인해주세요."),
             @ApiResponse(code =2050,message = "존재하지 않는 레시피입니다."),
             @ApiResponse(code = 3000, message = "값을 불러오는데 실패하였습니다."),})
@@ -226,6 +463,8 @@ public class RecipeController {
                 return new BaseResponse<>(RECIPE_NOT_EXISTS);
             }
             return new BaseResponse<>(response);
+        } catch (BaseException exception) {
+            return new BaseResponse<>(exception.getStatus());
         } catch (Exception exception) {
             return new BaseResponse<>(RESPONSE_ERROR);
         }
@@ -1,13 +1,14 @@
 package doubleni.mealrecipe.controller;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import doubleni.mealrecipe.config.exception.BaseException;
 import doubleni.mealrecipe.config.exception.BaseResponse;
+import doubleni.mealrecipe.model.DTO.CfModelStatsRes;
 import doubleni.mealrecipe.model.DTO.FlaskDTO;
 import doubleni.mealrecipe.model.DTO.GetRecipeRes;
-import doubleni.mealrecipe.model.DTO.GetRecord;
-import doubleni.mealrecipe.model.DTO.UserFlaskDTO;
+import doubleni.mealrecipe.model.DTO.RecommendJobRes;
 import doubleni.mealrecipe.service.RecipeService;
+import doubleni.mealrecipe.service.RecommendPrecomputeService;
+import doubleni.mealrecipe.service.RecommendationCache;
 import doubleni.mealrecipe.service.RecordService;
 import doubleni.mealrecipe.utils.JwtService;
 import io.swagger.annotations.Api;
@@ -15,15 +16,14 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.*;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import static doubleni.mealrecipe.config.exception.BaseResponseStatus.USERS_EMPTY_USER_ID;
 
@@ -35,6 +35,8 @@ public class RecommendController {
     private final RecipeService recipeService;
     private final JwtService jwtService;
     private final RecordService recordService;
+    private final RecommendationCache recommendationCache;
+    private final RecommendPrecomputeService recommendPrecomputeService;
 
 
 //    @PostMapping("/recommend-recipes")
@@ -145,59 +147,13 @@ public class RecommendController {
 
 
     @PostMapping("/recommend-recipe")
-    @ApiOperation(value="키워드 기반 사용자 맞춤 레시피 추천 - 좋아하는 식재료 + 알러지 ", notes="header 값이 필요업음")
+    @ApiOperation(value="키워드 기반 사용자 맞춤 레시피 추천 - 좋아하는 식재료 + 알러지 ", notes="header 값이 필요업음 \n"
+            + " 좋아하는 식재료가 많이(흔하지 않은 재료일수록 크게) 들어간 순, 알러지 식재료가 들어간 레시피 제외")
     @ApiResponses(value={@ApiResponse(code=4000,message = "데이터베이스 연결에 실패하였습니다.")})
     public List<GetRecipeRes> recommendRecipes(@RequestBody FlaskDTO user_profile) {
-        // Flask API 엔드포인트 URL
-        String apiUrl = "http://15.164.139.103:5000/recommend-recipes-not-allergy";
-
-        // HTTP 헤더 설정
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        // 요청 본문 생성
-        HttpEntity<FlaskDTO> request = new HttpEntity<>(user_profile, headers);
-
-        // RestTemplate을 사용하여 Flask API로 POST 요청 보내기
-        RestTemplate restTemplate = new RestTemplate();
-        ResponseEntity<String> response = restTemplate.exchange(
-                apiUrl,
-                HttpMethod.POST,
-                request,
-                String.class
-        );
-
-        // Flask API에서 반환한 응답을 가져옵니다.
-        String jsonResponse = response.getBody();
-
-        //System.out.println(jsonResponse);
-
-        // JSON 응답을 처리하기 위해 ObjectMapper를 생성합니다.
-        ObjectMapper objectMapper = new ObjectMapper();
-
         try {
-            // JSON 문자열에서 레시피 목록을 역직렬화합니다.
-            List<String> recommendedRecipes = objectMapper.readValue(jsonResponse, new TypeReference<List<String>>() {});
-            //System.out.println(recommendedRecipes);
-
-            List<GetRecipeRes> recipeResList = new ArrayList();
-
-            for (int i = 0; i < recommendedRecipes.size(); i++) {
-                String recipeName = recommendedRecipes.get(i);
-                GetRecipeRes recipeRes = recipeService.searchGetRecipeResByKeyword(recipeName);
-
-                //System.out.println(recipeRes);
-
-                if (recipeRes != null) {
-                    recipeResList.add(recipeRes);
-                } else {
-                    // 검색 결과가 null인 경우 로그에 기록
-                    System.out.println("Recipe for " + recipeName + " not found.");
-
-                }
-            }
-
-            return recipeResList;
+            // 재료 메모리 색인에서 바로 추천 (외부 추천 서버 호출 없음)
+            return recipeService.recommendRecipesByIngredients(user_profile);
         } catch (Exception e) {
             if (e.getMessage() != null) {
                 System.out.println("예외 발생: " + e.getMessage());
@@ -209,68 +165,30 @@ public class RecommendController {
     }
 
     @PostMapping("/recommend-user")
-    @ApiOperation(value="협업 필터링 기반 사용자 맞춤 레시피 추천 - 리뷰 평점 ", notes="리뷰 평점으로 결과 출력 \n header 값이 필요함 \n - X-ACCESS-TOKEN : jwt")
+    @ApiOperation(value="협업 필터링 기반 사용자 맞춤 레시피 추천 - 리뷰 평점 ", notes="리뷰 평점으로 결과 출력 \n header 값이 필요함 \n - X-ACCESS-TOKEN : jwt \n"
+            + " 평점 기록이 없으면 평균 평점 높은 순 \n 리뷰를 작성 / 수정 / 삭제하기 전까지 같은 결과 (최대 10분)")
     @ApiResponses(value={@ApiResponse(code=4000,message = "데이터베이스 연결에 실패하였습니다."), @ApiResponse(code=2090,message = "기록 저장을 실패하였습니다.")})
     public BaseResponse<List<GetRecipeRes>> recommendRecipesCollaborative() {
         try {
-            // Flask API 엔드포인트 URL
-            String apiUrl = "http://15.164.139.103:5000/collaborative-recommend";
-
             Long idx = jwtService.getUserIdx();
 
             if (idx == 0) {
                 return new BaseResponse<>(USERS_EMPTY_USER_ID);
             }
 
-            // HTTP 헤더 설정
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            GetRecord getRecord = recipeService.getRecipeByUser(idx);
-
-            UserFlaskDTO userFlaskDTO = new UserFlaskDTO();
-            userFlaskDTO.setUserId(idx);
-            userFlaskDTO.setRecordNum(getRecord.getRecordNum());
-
-            // 요청 본문 생성
-            HttpEntity<UserFlaskDTO> request = new HttpEntity<>(userFlaskDTO, headers);
-
-            // RestTemplate을 사용하여 Flask API로 POST 요청 보내기
-            RestTemplate restTemplate = new RestTemplate();
-            ResponseEntity<String> response = restTemplate.exchange(
-                    apiUrl,
-                    HttpMethod.POST,
-                    request,
-                    String.class
-            );
-
-            // Flask API에서 반환한 응답을 가져옵니다.
-            String jsonResponse = response.getBody();
-
-            //System.out.println(jsonResponse);
-
-            // JSON 응답을 처리하기 위해 ObjectMapper를 생성합니다.
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            // JSON 문자열에서 레시피 목록을 역직렬화합니다.
-            List<String> recommendedRecipes = objectMapper.readValue(jsonResponse, new TypeReference<List<String>>() {});
-            //System.out.println(recommendedRecipes);
-
-            recordService.saveRecord(recommendedRecipes,idx);
-
-            List<GetRecipeRes> recipeResList = new ArrayList<>();
+            // 리뷰를 바꾸지 않았으면 이전 추천 그대로 (기록도 이미 저장됨)
+            List<GetRecipeRes> cached = recommendationCache.getIfPresent(idx);
+            if (cached != null) {
+                return new BaseResponse<>(cached);
+            }
 
-            for (int i = 0; i < recommendedRecipes.size(); i++) {
-                String recipeId = recommendedRecipes.get(i);
-                GetRecipeRes recipeRes = recipeService.searchGetRecipeResByRcpId(recipeId);
+            // 메모리 협업 필터링 모델에서 바로 추천 (외부 추천 서버 호출 없음)
+            long loadedAt = recommendationCache.epoch();
+            List<GetRecipeRes> recipeResList = recipeService.recommendRecipesCollaborative(idx);
 
-                if (recipeRes != null) {
-                    recipeResList.add(recipeRes);
-                } else {
-                    // 검색 결과가 null인 경우 로그에 기록
-                    System.out.println("Recipe for " + recipeId + " not found.");
-                }
-            }
+            // 추천 기록 추가 (rcp_id 목록, 비동기 저장)
+            recordService.saveRecord(recipeResList.stream().map(GetRecipeRes::getRcpId).filter(Objects::nonNull).toList(), idx);
+            recommendationCache.put(idx, recipeResList, loadedAt);
 
             return new BaseResponse<>(recipeResList);
 
@@ -284,8 +202,32 @@ public class RecommendController {
         }
     }
 
+    @GetMapping("/recommend-user/model")
+    @ApiOperation(value="협업 필터링 모델 현황", notes="사용자 / 레시피 / 평점 / 이웃 수, 모델 크기(byte), 생성 시간(ms)")
+    public BaseResponse<CfModelStatsRes> getCollaborativeModelStats() {
+        return new BaseResponse<>(recipeService.getCollaborativeModelStats());
+    }
 
+    @PostMapping("/recommend-user/precompute")
+    @ApiOperation(value="사용자별 추천 미리 계산 시작", notes="매일 새벽 자동 실행 \n 작업을 등록하고 바로 반환, 실행 중이면 그 작업 \n"
+            + " 완료되지 않은 이전 작업이 있으면 체크포인트 다음 사용자부터 이어서 계산")
+    @ApiResponses(value={@ApiResponse(code=4000,message = "데이터베이스 연결에 실패하였습니다.")})
+    public BaseResponse<RecommendJobRes> startPrecompute() {
+        try {
+            return new BaseResponse<>(recommendPrecomputeService.start());
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
+        }
+    }
 
-
-
+    @GetMapping("/recommend-user/precompute")
+    @ApiOperation(value="사용자별 추천 미리 계산 현황", notes="가장 최근 작업의 진행 사용자 수, 처리량(명/초), 체크포인트")
+    @ApiResponses(value={@ApiResponse(code=2054,message = "추천 계산 작업이 없습니다.")})
+    public BaseResponse<RecommendJobRes> getPrecomputeJob() {
+        try {
+            return new BaseResponse<>(recommendPrecomputeService.getLatestJob());
+        } catch (BaseException e) {
+            return new BaseResponse<>(e.getStatus());
+        }
+    }
 }
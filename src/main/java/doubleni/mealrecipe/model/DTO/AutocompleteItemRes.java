@@ -0,0 +1,34 @@
+package doubleni.mealrecipe.model.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AutocompleteItemRes {
+    private Long rcpId; // 레시피 id (레시피 항목만)
+    private String name; // 레시피명 / 재료명
+    private Integer likeCnt; // 좋아요 수 (레시피 항목만)
+    private Double reviewAverge; // 평균 평점 (레시피 항목만)
+    private Integer recipeCount; // 이 재료가 들어간 레시피 수 (재료 항목만)
+
+    public static AutocompleteItemRes recipe(Long rcpId, String rcpNm, int likeCnt, double reviewAverge) {
+        AutocompleteItemRes item = new AutocompleteItemRes();
+        item.rcpId = rcpId;
+        item.name = rcpNm;
+        item.likeCnt = likeCnt;
+        item.reviewAverge = reviewAverge;
+        return item;
+    }
+
+    public static AutocompleteItemRes ingredient(String baseName, int recipeCount) {
+        AutocompleteItemRes item = new AutocompleteItemRes();
+        item.name = baseName;
+        item.recipeCount = recipeCount;
+        return item;
+    }
+}
@@ -0,0 +1,17 @@
+package doubleni.mealrecipe.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteRes {
+    private List<AutocompleteItemRes> recipes; // 레시피명 후보 (인기순)
+    private List<AutocompleteItemRes> ingredients; // 재료명 후보 (사용 레시피 수 순)
+}
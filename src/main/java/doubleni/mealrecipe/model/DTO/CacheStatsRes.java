@@ -0,0 +1,31 @@
+package doubleni.mealrecipe.model.DTO;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CacheStatsRes {
+    private long size; // 현재 항목 수 (근사값)
+    private long weight; // 현재 사용량 (byte, 근사값)
+    private long maxWeight; // 최대 사용량 (byte)
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount; // 용량 초과로 밀려난 항목 수
+    private long invalidationCount; // 리뷰 / 좋아요 / 레시피 변경으로 지운 항목 수
+
+    public CacheStatsRes(CacheStats stats, long size, long weight, long maxWeight, long invalidationCount) {
+        this.size = size;
+        this.weight = weight;
+        this.maxWeight = maxWeight;
+        this.hitCount = stats.hitCount();
+        this.missCount = stats.missCount();
+        this.hitRate = Math.round(stats.hitRate() * 1000) / 1000.0;
+        this.evictionCount = stats.evictionCount();
+        this.invalidationCount = invalidationCount;
+    }
+}
@@ -0,0 +1,16 @@
+package doubleni.mealrecipe.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogVersionRes {
+    private long version; // 카탈로그 버전 (바뀔 때마다 증가, 같으면 다시 받을 필요 없음)
+    private int recipeCount; // 레시피 수
+    private long builtAt; // 생성 시각 (epoch ms)
+}
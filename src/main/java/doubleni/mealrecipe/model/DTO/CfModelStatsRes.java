@@ -0,0 +1,21 @@
+package doubleni.mealrecipe.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CfModelStatsRes {
+    private long version; // 모델 버전 (새로 만들 때마다 증가)
+    private int userCount; // 평점을 남긴 사용자 수
+    private int recipeCount; // 평점이 있는 레시피 수
+    private int ratingCount; // 평점 수 (행렬의 0 이 아닌 칸)
+    private int neighborCount; // 저장한 레시피 이웃 쌍 수
+    private long bytes; // 모델 배열 크기 (byte, 근사값)
+    private long buildMs; // 생성 시간
+    private long builtAt; // 평점을 읽기 시작한 시각 (epoch ms) - 이후에 바뀐 평점은 반영되지 않음
+}
@@ -0,0 +1,26 @@
+package doubleni.mealrecipe.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DownstreamStatsRes {
+    private String name; // 외부 서버 이름
+    private String circuitState; // CLOSED / OPEN / HALF_OPEN
+    private double failureRate; // 최근 호출 실패 비율
+    private long successCount;
+    private long failureCount; // 연결 / 응답 제한 시간 초과, 5xx
+    private long clientErrorCount; // 4xx (차단기 실패로 세지 않음)
+    private long rejectedCount; // 차단 / 동시 호출 제한으로 부르지 않은 수
+    private int inFlight; // 진행 중인 호출 수
+    private int maxConcurrent; // 동시 호출 제한
+    private int poolLeased; // 연결 풀 - 사용 중 (전체 외부 서버 공용)
+    private int poolAvailable; // 연결 풀 - 유휴 (keep-alive)
+    private int poolPending; // 연결 풀 - 연결 대기 중인 요청
+    private int poolMax; // 연결 풀 - 최대 연결 수
+}
@@ -1,25 +1,48 @@
-//package doubleni.mealrecipe.model.DTO;
-//
-//import doubleni.mealrecipe.model.Recipe;
-//import lombok.AllArgsConstructor;
-//import lombok.Getter;
-//import lombok.NoArgsConstructor;
-//import lombok.Setter;
-//
-//@Getter
-//@Setter
-//@NoArgsConstructor
-//@AllArgsConstructor
-//public class GetRecipeOrderRes {
-//    private Long rcpId;
-//    private String rcpNm; // 레시피명
-//    private int infoPro; // 단백질
-//    private int infoFat; // 지방
-//
-//    public GetRecipeOrderRes(Recipe r) {
-//        this.rcpId = r.getRcpId();
-//        this.rcpNm = r.getRcpNm();
-//        this.infoPro = r.getInfoPro();
-//        this.infoFat = r.getInfoFat();
-//    }
-//}
+package doubleni.mealrecipe.model.DTO;
+
+import doubleni.mealrecipe.model.Recipe;
+import doubleni.mealrecipe.model.RecipeSummary;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetRecipeOrderRes {
+    private Long rcpId;
+    private String rcpNm; // 레시피명
+    private String rcpPat2; // 요리 종류
+    private String attFileNoMain; // 이미지 경로(소)
+    private Double infoEng; // 열량(kcal)
+    private Double infoCar; // 탄수화물(g)
+    private Double infoPro; // 단백질(g)
+    private Double infoFat; // 지방(g)
+    private Double infoNa; // 나트륨(mg)
+
+    public GetRecipeOrderRes(Recipe r) {
+        this.rcpId = r.getRcpId();
+        this.rcpNm = r.getRcpNm();
+        this.rcpPat2 = r.getRcpPat2();
+        this.attFileNoMain = r.getAttFileNoMain();
+        this.infoEng = r.getInfoEngNum();
+        this.infoCar = r.getInfoCarNum();
+        this.infoPro = r.getInfoProNum();
+        this.infoFat = r.getInfoFatNum();
+        this.infoNa = r.getInfoNaNum();
+    }
+
+    public GetRecipeOrderRes(RecipeSummary r) {
+        this.rcpId = r.getRcpId();
+        this.rcpNm = r.getRcpNm();
+        this.rcpPat2 = r.getRcpPat2();
+        this.attFileNoMain = r.getAttFileNoMain();
+        this.infoEng = r.getInfoEngNum();
+        this.infoCar = r.getInfoCarNum();
+        this.infoPro = r.getInfoProNum();
+        this.infoFat = r.getInfoFatNum();
+        this.infoNa = r.getInfoNaNum();
+    }
+}
@@ -1,7 +1,9 @@
 package doubleni.mealrecipe.model.DTO;
 
-import doubleni.mealrecipe.model.Board;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import doubleni.mealrecipe.model.Recipe;
+import doubleni.mealrecipe.model.RecipeStep;
+import doubleni.mealrecipe.model.RecipeSummary;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -39,51 +41,20 @@ public class GetRecipeRes {
     private String attFileNoMk; // 이미지 경로(대)
     private String rcpPartsDtls; // 재료 정보
 
-    private String manual01; // 레시피 설명
-    private String manualImg01; // 레시피 이미지
-    private String manual02;
-    private String manualImg02;
-    private String manual03;
-    private String manualImg03;
-    private String manual04;
-    private String manualImg04;
-    private String manual05;
-    private String manualImg05;
-    private String manual06;
-    private String manualImg06;
-    private String manual07;
-    private String manualImg07;
-    private String manual08;
-    private String manualImg08;
-    private String manual09;
-    private String manualImg09;
-    private String manual10;
-    private String manualImg10;
-    private String manual11;
-    private String manualImg11;
-    private String manual12;
-    private String manualImg12;
-    private String manual13;
-    private String manualImg13;
-    private String manual14;
-    private String manualImg14;
-    private String manual15;
-    private String manualImg15;
-    private String manual16;
-    private String manualImg16;
-    private String manual17;
-    private String manualImg17;
-    private String manual18;
-    private String manualImg18;
-    private String manual19;
-    private String manualImg19;
-    private String manual20;
-    private String manualImg20;
     private String rcpNaTip;
 
     private Double reviewAverge;
 
+    // 조리 순서 - 상세 조회에서만 채움 (목록 응답에는 포함하지 않음)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<RecipeStepRes> steps;
+
     public GetRecipeRes(Recipe r) {
+        this(new RecipeSummary(r, List.of()));
+    }
+
+    // 카탈로그 스냅샷의 레시피
+    public GetRecipeRes(RecipeSummary r) {
         this.rcpId = r.getRcpId();
         this.rcpSeq = r.getRcpSeq();
         this.rcpNm = r.getRcpNm();
@@ -99,50 +70,16 @@ public class GetRecipeRes {
         this.attFileNoMain = r.getAttFileNoMain();
         this.attFileNoMk = r.getAttFileNoMk();
         this.rcpPartsDtls = r.getRcpPartsDtls();
-        this.manual01 = r.getManual01();
-        this.manualImg01 = r.getManualImg01();
-        this.manual02 = r.getManual02();
-        this.manualImg02 = r.getManualImg02();
-        this.manual03 = r.getManual03();
-        this.manualImg03 = r.getManualImg03();
-        this.manual04 = r.getManual04();
-        this.manualImg04 = r.getManualImg04();
-        this.manual05 = r.getManual05();
-        this.manualImg05 = r.getManualImg05();
-        this.manual06 = r.getManual06();
-        this.manualImg06 = r.getManualImg06();
-        this.manual07 = r.getManual07();
-        this.manualImg07 = r.getManualImg07();
-        this.manual08 = r.getManual08();
-        this.manualImg08 = r.getManualImg08();
-        this.manual09 = r.getManual09();
-        this.manualImg09 = r.getManualImg09();
-        this.manual10 = r.getManual10();
-        this.manualImg10 = r.getManualImg10();
-        this.manual11 = r.getManual11();
-        this.manualImg11 = r.getManualImg11();
-        this.manual12 = r.getManual12();
-        this.manualImg12 = r.getManualImg12();
-        this.manual13 = r.getManual13();
-        this.manualImg13 = r.getManualImg13();
-        this.manual14 = r.getManual14();
-        this.manualImg14 = r.getManualImg14();
-        this.manual15 = r.getManual15();
-        this.manualImg15 = r.getManualImg15();
-        this.manual16 = r.getManual16();
-        this.manualImg16 = r.getManualImg16();
-        this.manual17 = r.getManual17();
-        this.manualImg17 = r.getManualImg17();
-        this.manual18 = r.getManual18();
-        this.manualImg18 = r.getManualImg18();
-        this.manual19 = r.getManual19();
-        this.manualImg19 = r.getManualImg19();
-        this.manual20 = r.getManual20();
-        this.manualImg20 = r.getManualImg20();
         this.rcpNaTip = r.getRcpNaTip();
-//        this.reviewAverge = r.getReviewAverge();
-        this.reviewAverge = r.getAverageRating();
+        this.reviewAverge = r.getReviewAverge();
+    }
 
+    // 상세 조회 - 조리 순서 포함
+    public GetRecipeRes(Recipe r, List<RecipeStep> steps) {
+        this(r);
+        this.steps = steps.stream()
+                .map(RecipeStepRes::new)
+                .toList();
     }
 
 
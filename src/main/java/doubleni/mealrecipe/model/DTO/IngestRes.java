@@ -0,0 +1,52 @@
+package doubleni.mealrecipe.model.DTO;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import doubleni.mealrecipe.model.IngestJob;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.sql.Timestamp;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class IngestRes {
+    private Long jobId; // 작업 id
+    private String status; // RUNNING, COMPLETED, FAILED, CANCELLED
+    private String mode; // INSERT, DELTA
+
+    private long rowsRead; // 읽은 행 수
+    private long rowsWritten; // 새로 저장한 행 수
+    private long rowsUpdated; // 수정한 행 수
+    private long rowsDeleted; // 삭제한 레시피 수
+    private long rowsSkipped; // 이미 저장되었거나 변경 없어 건너뛴 행 수
+    private long rowsFailed; // 형식 오류로 저장하지 못한 행 수
+    private double rowsPerSec; // 처리량
+
+    private long checkpoint; // 커밋된 행 수
+    private String message;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private Timestamp startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private Timestamp finishedAt;
+
+    public IngestRes(IngestJob job) {
+        this.jobId = job.getJobId();
+        this.status = job.getStatus();
+        this.mode = job.getMode();
+        this.rowsRead = job.getRowsRead();
+        this.rowsWritten = job.getRowsWritten();
+        this.rowsUpdated = job.getRowsUpdated();
+        this.rowsDeleted = job.getRowsDeleted();
+        this.rowsSkipped = job.getRowsSkipped();
+        this.rowsFailed = job.getRowsFailed();
+        this.rowsPerSec = job.getRowsPerSec();
+        this.checkpoint = job.getCheckpoint();
+        this.message = job.getMessage();
+        this.startedAt = job.getStartedAt();
+        this.finishedAt = job.getFinishedAt();
+    }
+}
@@ -0,0 +1,29 @@
+package doubleni.mealrecipe.model.DTO;
+
+import doubleni.mealrecipe.model.RecipeSummary;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class IngredientMatchRes {
+    private Long rcpId;
+    private String rcpNm; // 레시피명
+    private String rcpPat2; // 요리 종류
+    private String attFileNoMain; // 이미지 경로(소)
+    private int matchCount; // 일치한 검색 재료 수
+    private List<String> matched; // 일치한 검색 재료
+
+    public IngredientMatchRes(RecipeSummary r, int matchCount, List<String> matched) {
+        this.rcpId = r.getRcpId();
+        this.rcpNm = r.getRcpNm();
+        this.rcpPat2 = r.getRcpPat2();
+        this.attFileNoMain = r.getAttFileNoMain();
+        this.matchCount = matchCount;
+        this.matched = matched;
+    }
+}
@@ -0,0 +1,18 @@
+package doubleni.mealrecipe.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientSearchRes {
+    private int total; // 조건에 맞는 전체 레시피 수
+    private long tookMs; // 검색 시간(ms)
+    private List<IngredientMatchRes> results; // 상위 레시피 (일치한 재료 수 순)
+}
@@ -0,0 +1,16 @@
+package doubleni.mealrecipe.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealPlanItemRes {
+    private String meal; // 아침, 점심, 저녁
+    private String course; // 주식(밥, 일품), 곁들임(국&찌개, 반찬)
+    private GetRecipeOrderRes recipe;
+}
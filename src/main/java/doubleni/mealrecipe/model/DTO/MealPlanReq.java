@@ -0,0 +1,19 @@
+package doubleni.mealrecipe.model.DTO;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class MealPlanReq extends NutritionBoundsReq {
+    // 하루(아침, 점심, 저녁) 합계 영양 정보 조건(min / max)은 NutritionBoundsReq
+
+    // 추천 api(FlaskDTO)와 같은 형식
+    private List<String> user_likes = new ArrayList<>(); // 선호 식재료 - 들어간 레시피 우선
+    private List<String> user_allergies = new ArrayList<>(); // 알러지 식재료 - 들어간 레시피 제외
+}
@@ -0,0 +1,25 @@
+package doubleni.mealrecipe.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MealPlanRes {
+    private List<MealPlanItemRes> items; // 끼니, 코스 순
+    private Double infoEng; // 하루 합계 열량(kcal)
+    private Double infoCar; // 탄수화물(g)
+    private Double infoPro; // 단백질(g)
+    private Double infoFat; // 지방(g)
+    private Double infoNa; // 나트륨(mg)
+    private double score; // 식단 점수 (평점 + 좋아요 + 선호 재료)
+    private boolean optimal; // 제한 시간 안에 탐색을 끝내서 최고 점수가 보장되면 true
+    private long explored; // 탐색한 노드 수
+    private long elapsedMs;
+}
@@ -0,0 +1,36 @@
+package doubleni.mealrecipe.model.DTO;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public abstract class NutritionBoundsReq {
+    // 영양 정보 범위 조건 - 값이 없으면 조건 없음 (min 이상, max 이하)
+    // 영양 정보 범위 검색(NutritionRangeReq), 식단 추천(MealPlanReq) 공통
+    private Double minEng; // 열량(kcal)
+    private Double maxEng;
+    private Double minCar; // 탄수화물(g)
+    private Double maxCar;
+    private Double minPro; // 단백질(g)
+    private Double maxPro;
+    private Double minFat; // 지방(g)
+    private Double maxFat;
+    private Double minNa; // 나트륨(mg)
+    private Double maxNa;
+
+    // min <= max, 음수 값 없음
+    public boolean isValidRange() {
+        return isValid(minEng, maxEng) && isValid(minCar, maxCar) && isValid(minPro, maxPro)
+                && isValid(minFat, maxFat) && isValid(minNa, maxNa);
+    }
+
+    private static boolean isValid(Double min, Double max) {
+        if ((min != null && min < 0) || (max != null && max < 0)) {
+            return false;
+        }
+        return min == null || max == null || min <= max;
+    }
+}
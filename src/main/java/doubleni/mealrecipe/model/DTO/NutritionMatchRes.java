@@ -0,0 +1,35 @@
+package doubleni.mealrecipe.model.DTO;
+
+import doubleni.mealrecipe.model.RecipeSummary;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class NutritionMatchRes {
+    private Long rcpId;
+    private String rcpNm; // 레시피명
+    private String rcpPat2; // 요리 종류
+    private String attFileNoMain; // 이미지 경로(소)
+    private Double infoEng; // 열량(kcal)
+    private Double infoCar; // 탄수화물(g)
+    private Double infoPro; // 단백질(g)
+    private Double infoFat; // 지방(g)
+    private Double infoNa; // 나트륨(mg)
+    private double distance; // 목표 영양소와의 거리 (영양소별 표준편차로 나눈 값, 0 이면 정확히 일치)
+
+    public NutritionMatchRes(RecipeSummary r, double distance) {
+        this.rcpId = r.getRcpId();
+        this.rcpNm = r.getRcpNm();
+        this.rcpPat2 = r.getRcpPat2();
+        this.attFileNoMain = r.getAttFileNoMain();
+        this.infoEng = r.getInfoEngNum();
+        this.infoCar = r.getInfoCarNum();
+        this.infoPro = r.getInfoProNum();
+        this.infoFat = r.getInfoFatNum();
+        this.infoNa = r.getInfoNaNum();
+        this.distance = Math.round(distance * 1000) / 1000.0;
+    }
+}
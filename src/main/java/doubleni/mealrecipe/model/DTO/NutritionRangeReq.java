@@ -0,0 +1,20 @@
+package doubleni.mealrecipe.model.DTO;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class NutritionRangeReq extends NutritionBoundsReq {
+    // 영양 정보 범위 조건(min / max)은 NutritionBoundsReq
+
+    // 정렬 기준 - eng, car, pro, fat, na
+    private String sort = "eng";
+    // 정렬 방향 - asc, desc
+    private String direction = "asc";
+
+    private int page = 0;
+    private int size = 20;
+}
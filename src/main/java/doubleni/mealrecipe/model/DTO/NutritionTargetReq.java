@@ -0,0 +1,33 @@
+package doubleni.mealrecipe.model.DTO;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class NutritionTargetReq {
+    // 목표 영양 정보 - 값이 있는 영양소만 거리 계산에 사용
+    private Double eng; // 열량(kcal)
+    private Double car; // 탄수화물(g)
+    private Double pro; // 단백질(g)
+    private Double fat; // 지방(g)
+    private Double na; // 나트륨(mg)
+
+    private int size = 20;
+
+    // 목표가 하나 이상, 음수 값 없음
+    public boolean isValidTarget() {
+        boolean any = false;
+        for (Double value : new Double[]{eng, car, pro, fat, na}) {
+            if (value != null) {
+                if (value < 0) {
+                    return false;
+                }
+                any = true;
+            }
+        }
+        return any;
+    }
+}
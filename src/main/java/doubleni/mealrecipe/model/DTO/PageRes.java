@@ -0,0 +1,29 @@
+package doubleni.mealrecipe.model.DTO;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class PageRes<T> {
+    private List<T> content;
+    private int page; // 현재 페이지 (0부터)
+    private int size; // 페이지 크기
+    private long totalElements; // 전체 개수
+    private int totalPages; // 전체 페이지 수
+    private boolean hasNext; // 다음 페이지 여부
+
+    public PageRes(Page<T> page) {
+        this.content = page.getContent();
+        this.page = page.getNumber();
+        this.size = page.getSize();
+        this.totalElements = page.getTotalElements();
+        this.totalPages = page.getTotalPages();
+        this.hasNext = page.hasNext();
+    }
+}
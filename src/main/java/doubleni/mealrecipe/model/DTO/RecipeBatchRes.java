@@ -0,0 +1,17 @@
+package doubleni.mealrecipe.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeBatchRes {
+    private List<GetRecipeRes> recipes; // 요청 순서 그대로 (찾은 레시피만)
+    private List<String> missing; // 찾지 못한 레시피 id / 일련 번호
+}
@@ -0,0 +1,29 @@
+package doubleni.mealrecipe.model.DTO;
+
+import doubleni.mealrecipe.repository.RecipeCardView;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class RecipeCardRes {
+    private Long rcpId;
+    private String rcpNm; // 레시피명
+    private String rcpPat2; // 요리 종류
+    private String attFileNoMain; // 이미지 경로(소)
+    private Double infoEng; // 열량 (kcal)
+    private Double reviewAverge; // 평균 평점
+    private Integer likeCnt; // 좋아요 수
+
+    public RecipeCardRes(RecipeCardView v) {
+        this.rcpId = v.getRcpId();
+        this.rcpNm = v.getRcpNm();
+        this.rcpPat2 = v.getRcpPat2();
+        this.attFileNoMain = v.getAttFileNoMain();
+        this.infoEng = v.getInfoEngNum();
+        this.reviewAverge = v.getReviewAverge();
+        this.likeCnt = v.getLikeCnt();
+    }
+}
@@ -0,0 +1,29 @@
+package doubleni.mealrecipe.model.DTO;
+
+import doubleni.mealrecipe.model.RecipeSummary;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class RecipeSearchHitRes {
+    private Long rcpId;
+    private String rcpNm; // 레시피명
+    private String rcpWay2; // 조리 방법
+    private String rcpPat2; // 요리 종류
+    private String hashTag; // 해시태그
+    private String attFileNoMain; // 이미지 경로(소)
+    private double score; // 검색 점수 (BM25)
+
+    public RecipeSearchHitRes(RecipeSummary r, double score) {
+        this.rcpId = r.getRcpId();
+        this.rcpNm = r.getRcpNm();
+        this.rcpWay2 = r.getRcpWay2();
+        this.rcpPat2 = r.getRcpPat2();
+        this.hashTag = r.getHashTag();
+        this.attFileNoMain = r.getAttFileNoMain();
+        this.score = Math.round(score * 1000) / 1000.0;
+    }
+}
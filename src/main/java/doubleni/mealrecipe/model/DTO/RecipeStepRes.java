@@ -0,0 +1,21 @@
+package doubleni.mealrecipe.model.DTO;
+
+import doubleni.mealrecipe.model.RecipeStep;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class RecipeStepRes {
+    private Integer stepNo; // 순서
+    private String description; // 레시피 설명
+    private String imageUrl; // 레시피 이미지
+
+    public RecipeStepRes(RecipeStep step) {
+        this.stepNo = step.getStepNo();
+        this.description = step.getDescription();
+        this.imageUrl = step.getImageUrl();
+    }
+}
@@ -0,0 +1,48 @@
+package doubleni.mealrecipe.model.DTO;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import doubleni.mealrecipe.model.RecommendJob;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.sql.Timestamp;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class RecommendJobRes {
+    private Long jobId; // 작업 id
+    private String status; // RUNNING, COMPLETED, FAILED, CANCELLED
+    private long modelVersion; // 협업 필터링 모델 버전
+
+    private long usersTotal; // 전체 사용자 수
+    private long usersDone; // 계산을 마친 사용자 수
+    private long usersWritten; // 추천을 저장한 사용자 수 (리뷰가 바뀐 사용자는 저장 쿼리에서 건너뜀)
+    private long usersSkipped; // 추천할 레시피가 없어 빈 목록으로 덮어쓴 사용자 수
+    private double usersPerSec; // 처리량
+
+    private long checkpoint; // 저장까지 끝난 마지막 사용자 id
+    private String message;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private Timestamp startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private Timestamp finishedAt;
+
+    public RecommendJobRes(RecommendJob job) {
+        this.jobId = job.getJobId();
+        this.status = job.getStatus();
+        this.modelVersion = job.getModelVersion();
+        this.usersTotal = job.getUsersTotal();
+        this.usersDone = job.getUsersDone();
+        this.usersWritten = job.getUsersWritten();
+        this.usersSkipped = job.getUsersSkipped();
+        this.usersPerSec = job.getUsersPerSec();
+        this.checkpoint = job.getCheckpoint();
+        this.message = job.getMessage();
+        this.startedAt = job.getStartedAt();
+        this.finishedAt = job.getFinishedAt();
+    }
+}
@@ -0,0 +1,29 @@
+package doubleni.mealrecipe.model.DTO;
+
+import doubleni.mealrecipe.model.RecipeSummary;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class TrendingRecipeRes {
+    private Long rcpId;
+    private String rcpNm; // 레시피명
+    private String rcpPat2; // 요리 종류
+    private String attFileNoMain; // 이미지 경로(소)
+    private Double reviewAverge; // 평균 평점
+    private int likeCnt; // 좋아요 수
+    private double score; // 인기 급상승 점수 (최근 좋아요 / 리뷰일수록 크게)
+
+    public TrendingRecipeRes(RecipeSummary r, double score) {
+        this.rcpId = r.getRcpId();
+        this.rcpNm = r.getRcpNm();
+        this.rcpPat2 = r.getRcpPat2();
+        this.attFileNoMain = r.getAttFileNoMain();
+        this.reviewAverge = r.getReviewAverge();
+        this.likeCnt = r.getLikeCnt();
+        this.score = Math.round(score * 1000) / 1000.0;
+    }
+}
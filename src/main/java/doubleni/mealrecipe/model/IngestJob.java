@@ -0,0 +1,51 @@
+package doubleni.mealrecipe.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "ingest_jobs")
+@Entity
+public class IngestJob {
+    // 레시피 json 저장 작업 (백그라운드 실행 + 체크포인트)
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    public static final String CANCELLED = "CANCELLED";
+
+    public static final String MODE_INSERT = "INSERT"; // 레시피명 기준, 새 레시피만 저장
+    public static final String MODE_DELTA = "DELTA"; // 일련 번호 기준, 추가/변경/삭제 반영
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long jobId;
+
+    private String fileName; // 저장할 json 파일
+    private String status; // RUNNING, COMPLETED, FAILED, CANCELLED
+    private String mode; // INSERT, DELTA
+
+    private long rowsRead; // 읽은 행 수
+    private long rowsWritten; // 새로 저장한 행 수
+    private long rowsUpdated; // 내용이 바뀌어 수정한 행 수 (DELTA)
+    private long rowsDeleted; // 데이터셋에서 빠져 삭제한 레시피 수 (DELTA)
+    private long rowsSkipped; // 건너뛴 행 수 (이미 저장됨 / 변경 없음)
+    private long rowsFailed; // 실패한 행 수
+    private double rowsPerSec; // 처리량
+
+    private long checkpoint; // 커밋까지 끝난 행 수 - 재시작 시 이 위치부터 다시 읽음
+
+    private String message; // 실패 사유
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private Timestamp startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private Timestamp finishedAt;
+}
@@ -13,7 +13,15 @@ import java.util.List;
 @Getter
 @Setter
 @ToString
-@Table(name = "recipes")
+@Table(name = "recipes", indexes = {
+        @Index(name = "idx_recipes_rcp_seq", columnList = "rcp_seq"),
+        @Index(name = "idx_recipes_info_eng_num", columnList = "info_eng_num"),
+        @Index(name = "idx_recipes_info_car_num", columnList = "info_car_num"),
+        @Index(name = "idx_recipes_info_pro_num", columnList = "info_pro_num"),
+        @Index(name = "idx_recipes_info_fat_num", columnList = "info_fat_num"),
+        @Index(name = "idx_recipes_info_na_num", columnList = "info_na_num"),
+        @Index(name = "idx_recipes_like_cnt", columnList = "like_cnt, rcp_id"),
+        @Index(name = "idx_recipes_review_averge", columnList = "review_averge, rcp_id")})
 @Entity
 public class Recipe {
     // 식약처 공공 데이터 레시피
@@ -35,62 +43,38 @@ public class Recipe {
     private String infoFat; // 지방
     private String infoNa; // 나트륨
 
-//    private int infoEng; // 열량
-//    private int infoCar; // 탄수화물
-//    private int infoPro; // 단백질
-//    private int infoFat; // 지방
-//    private int infoNa; // 나트륨
+    // 숫자 영양 정보 - 범위 검색/정렬용 (ingest 시 위 문자열 값을 파싱해서 채움, 값이 없으면 null)
+    private Double infoEngNum; // 열량(kcal)
+    private Double infoCarNum; // 탄수화물(g)
+    private Double infoProNum; // 단백질(g)
+    private Double infoFatNum; // 지방(g)
+    private Double infoNaNum; // 나트륨(mg)
 
     private String hashTag; // 해시태그
     private String attFileNoMain; // 이미지 경로(소)
     private String attFileNoMk; // 이미지 경로(대)
-    private String rcpPartsDtls; // 재료 정보
+    private String rcpPartsDtls; // 재료 정보 (원문)
+
+    // 재료 - 저장 시 재료 정보 원문을 파싱한 결과 (recipe_ingredients)
+    @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("position ASC")
+    @ToString.Exclude
+    private List<RecipeIngredient> ingredients;
 
 //    @ElementCollection
 //    private List<String> rcpPartsDtls;
 
-    private String manual01; // 레시피 설명
-    private String manualImg01; // 레시피 이미지
-    private String manual02;
-    private String manualImg02;
-    private String manual03;
-    private String manualImg03;
-    private String manual04;
-    private String manualImg04;
-    private String manual05;
-    private String manualImg05;
-    private String manual06;
-    private String manualImg06;
-    private String manual07;
-    private String manualImg07;
-    private String manual08;
-    private String manualImg08;
-    private String manual09;
-    private String manualImg09;
-    private String manual10;
-    private String manualImg10;
-    private String manual11;
-    private String manualImg11;
-    private String manual12;
-    private String manualImg12;
-    private String manual13;
-    private String manualImg13;
-    private String manual14;
-    private String manualImg14;
-    private String manual15;
-    private String manualImg15;
-    private String manual16;
-    private String manualImg16;
-    private String manual17;
-    private String manualImg17;
-    private String manual18;
-    private String manualImg18;
-    private String manual19;
-    private String manualImg19;
-    private String manual20;
-    private String manualImg20;
+    // 조리 순서 - 별도 테이블(recipe_steps), 상세 조회 / 조리 순서 조회 시에만 로딩
+    @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("stepNo ASC")
+    @ToString.Exclude
+    private List<RecipeStep> steps;
+
     private String rcpNaTip;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // 원본 행 내용 해시 (delta ingest 시 변경 여부 확인)
+
 //    // 일대다 관계 설정: 한 개의 Recipe가 여러 개의 Review를 가질 수 있음
 //    @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL)
 //    private List<Review> reviews;  // Recipe에 대한 리뷰 목록
@@ -101,23 +85,30 @@ public class Recipe {
     // 다대일 관계 설정: 한 개의 Recipe는 여러 개의 Like를 가질 수 있음
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL)
     private List<RecipeLike> likes; // 레시피에 달린 좋아요 목록
+    // 좋아요 수 - 좋아요 / 취소 시 RecipeRepository.applyLikeChange 로 SQL 에서 바로 갱신 (엔티티 flush 로는 쓰지 않음)
+    @Column(name = "like_cnt", updatable = false)
     private Integer likeCnt; // 레시피 좋아요 수
 
-    public void likeChange(Integer likeCnt) {
-        this.likeCnt = likeCnt;
-    }
-
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL)
+    @ToString.Exclude
     private List<Review> reviews;
-    @Column(name = "review_averge")
+    @Column(name = "review_averge", updatable = false)
     private Double reviewAverge;
 
+    // 리뷰 평점 합계 / 개수 - 리뷰 작성, 수정, 삭제 시 RecipeRepository.applyRatingChange 로 SQL 에서 바로 갱신
+    // 집계 컬럼은 updatable = false - 다른 컬럼 때문에 flush 될 때 트랜잭션 시작 시점의 값으로 덮어쓰지 않음
+    @Column(name = "rating_sum", updatable = false)
+    private Double ratingSum;
+    @Column(name = "rating_count", updatable = false)
+    private Integer ratingCount;
+
 
+    // 평균 평점 (소수점 첫째 자리) - reviews 를 읽지 않고 합계 / 개수로 계산
     public double getAverageRating() {
-        return Math.round(reviews.stream()
-                .mapToDouble(Review::getReviewRating)
-                .average()
-                .orElse(0.0) * 10) / 10.0;
+        if (ratingCount == null || ratingCount == 0 || ratingSum == null) {
+            return 0.0;
+        }
+        return Math.round(ratingSum / ratingCount * 10) / 10.0;
     }
 
 
@@ -0,0 +1,47 @@
+package doubleni.mealrecipe.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@Table(name = "recipe_ingredients", indexes = {
+        // 재료 -> 레시피 역색인 (재료명으로 레시피 id 를 인덱스만 보고 찾음)
+        @Index(name = "idx_recipe_ingredients_base_name", columnList = "base_name, rcp_id"),
+        @Index(name = "idx_recipe_ingredients_name", columnList = "name, rcp_id")})
+@Entity
+public class RecipeIngredient {
+    // 레시피 재료 (식약처 데이터 RCP_PARTS_DTLS 를 저장 시 1번 파싱)
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long ingredientId;
+
+    // 다대일 관계 설정: 한 개의 Recipe는 여러 개의 재료를 가짐
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "rcp_id")
+    private Recipe recipe;
+
+    private Integer position; // 원문 순서
+
+    @Column(name = "name", length = 100)
+    private String name; // 재료명 (예: 다진 대파)
+
+    @Column(name = "base_name", length = 100)
+    private String baseName; // 검색용 재료명 - 수식어를 뺀 마지막 단어 (예: 대파)
+
+    private Double quantity; // 수량 (예: 5)
+    private String unit; // 단위 (예: g, ml, 큰술)
+    private String amount; // 원문 분량 (예: 5g(1작은술), 약간)
+
+    private String section; // 구분 (예: 고명, 양념장)
+
+    // 화면 출력용 - "다진 대파 5g(1작은술)"
+    public String toText() {
+        return amount == null ? name : name + " " + amount;
+    }
+}
@@ -0,0 +1,34 @@
+package doubleni.mealrecipe.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@Table(name = "recipe_steps", uniqueConstraints = @UniqueConstraint(name = "uk_recipe_steps_rcp_id_step_no", columnNames = {"rcp_id", "step_no"}))
+@Entity
+public class RecipeStep {
+    // 레시피 조리 순서 (식약처 데이터 MANUAL01~20, MANUAL_IMG01~20)
+    public static final int MAX_STEPS = 20;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long stepId;
+
+    // 다대일 관계 설정: 한 개의 Recipe는 여러 개의 조리 순서를 가짐
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "rcp_id")
+    private Recipe recipe;
+
+    @Column(name = "step_no")
+    private Integer stepNo; // 순서 (1 ~ 20, 원본 MANUAL 번호)
+
+    @Column(length = 2000)
+    private String description; // 레시피 설명
+
+    private String imageUrl; // 레시피 이미지
+}
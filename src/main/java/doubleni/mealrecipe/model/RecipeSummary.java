@@ -0,0 +1,122 @@
+package doubleni.mealrecipe.model;
+
+import doubleni.mealrecipe.repository.RecipeCardView;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 메모리 카탈로그(RecipeCatalog)에 올려 두는 레시피 - 조리 순서를 뺀 레시피 정보와 재료 목록
+ * 여러 요청이 동시에 읽으므로 생성 후 바뀌지 않는다. (좋아요, 평점이 바뀌면 새 객체로 교체)
+ */
+@Getter
+public class RecipeSummary implements RecipeCardView {
+    private final Long rcpId;
+    private final String rcpSeq; // 일련 번호
+    private final String rcpNm; // 레시피명
+    private final String rcpWay2; // 조리 방법
+    private final String rcpPat2; // 요리 종류
+    private final String infoWgt; // 중량(1인분)
+
+    private final String infoEng; // 열량
+    private final String infoCar; // 탄수화물
+    private final String infoPro; // 단백질
+    private final String infoFat; // 지방
+    private final String infoNa; // 나트륨
+
+    private final Double infoEngNum; // 열량(kcal)
+    private final Double infoCarNum; // 탄수화물(g)
+    private final Double infoProNum; // 단백질(g)
+    private final Double infoFatNum; // 지방(g)
+    private final Double infoNaNum; // 나트륨(mg)
+
+    private final String hashTag; // 해시태그
+    private final String attFileNoMain; // 이미지 경로(소)
+    private final String attFileNoMk; // 이미지 경로(대)
+    private final String rcpPartsDtls; // 재료 정보 (원문)
+    private final String rcpNaTip;
+
+    private final Integer likeCnt; // 좋아요 수
+    private final Double reviewAverge; // 평균 평점
+
+    private final List<String> ingredients; // 재료 ("연두부 75g(3/4모)")
+
+    public RecipeSummary(Recipe r, List<String> ingredients) {
+        this.rcpId = r.getRcpId();
+        this.rcpSeq = r.getRcpSeq();
+        this.rcpNm = r.getRcpNm();
+        this.rcpWay2 = r.getRcpWay2();
+        this.rcpPat2 = r.getRcpPat2();
+        this.infoWgt = r.getInfoWgt();
+        this.infoEng = r.getInfoEng();
+        this.infoCar = r.getInfoCar();
+        this.infoPro = r.getInfoPro();
+        this.infoFat = r.getInfoFat();
+        this.infoNa = r.getInfoNa();
+        this.infoEngNum = r.getInfoEngNum();
+        this.infoCarNum = r.getInfoCarNum();
+        this.infoProNum = r.getInfoProNum();
+        this.infoFatNum = r.getInfoFatNum();
+        this.infoNaNum = r.getInfoNaNum();
+        this.hashTag = r.getHashTag();
+        this.attFileNoMain = r.getAttFileNoMain();
+        this.attFileNoMk = r.getAttFileNoMk();
+        this.rcpPartsDtls = r.getRcpPartsDtls();
+        this.rcpNaTip = r.getRcpNaTip();
+        this.likeCnt = r.getLikeCnt() == null ? 0 : r.getLikeCnt();
+        this.reviewAverge = r.getAverageRating();
+        this.ingredients = List.copyOf(ingredients);
+    }
+
+    private RecipeSummary(RecipeSummary r, Integer likeCnt, Double reviewAverge) {
+        this.rcpId = r.rcpId;
+        this.rcpSeq = r.rcpSeq;
+        this.rcpNm = r.rcpNm;
+        this.rcpWay2 = r.rcpWay2;
+        this.rcpPat2 = r.rcpPat2;
+        this.infoWgt = r.infoWgt;
+        this.infoEng = r.infoEng;
+        this.infoCar = r.infoCar;
+        this.infoPro = r.infoPro;
+        this.infoFat = r.infoFat;
+        this.infoNa = r.infoNa;
+        this.infoEngNum = r.infoEngNum;
+        this.infoCarNum = r.infoCarNum;
+        this.infoProNum = r.infoProNum;
+        this.infoFatNum = r.infoFatNum;
+        this.infoNaNum = r.infoNaNum;
+        this.hashTag = r.hashTag;
+        this.attFileNoMain = r.attFileNoMain;
+        this.attFileNoMk = r.attFileNoMk;
+        this.rcpPartsDtls = r.rcpPartsDtls;
+        this.rcpNaTip = r.rcpNaTip;
+        this.likeCnt = likeCnt == null ? 0 : likeCnt;
+        this.reviewAverge = reviewAverge;
+        this.ingredients = r.ingredients;
+    }
+
+    /* 좋아요 수, 평균 평점만 바꾼 새 객체 (나머지 필드, 재료 목록은 그대로 공유) */
+    public RecipeSummary withCounts(Integer likeCnt, Double reviewAverge) {
+        return new RecipeSummary(this, likeCnt, reviewAverge);
+    }
+
+    /* 재료(또는 재료 정보 원문)에 키워드 중 하나라도 들어 있는지 - 알러지 제외, 선호 재료 확인 */
+    public boolean containsAnyIngredient(Collection<String> keywords) {
+        for (String keyword : keywords) {
+            if (keyword == null || keyword.isBlank()) {
+                continue;
+            }
+            String trimmed = keyword.trim();
+            if (rcpPartsDtls != null && rcpPartsDtls.contains(trimmed)) {
+                return true;
+            }
+            for (String ingredient : ingredients) {
+                if (ingredient.contains(trimmed)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
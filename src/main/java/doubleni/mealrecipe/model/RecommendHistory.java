@@ -0,0 +1,59 @@
+package doubleni.mealrecipe.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import javax.persistence.*;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "recommend_history", indexes = @Index(name = "idx_recommend_history_user_shown", columnList = "user_id, shown_at, history_id"))
+@Entity
+public class RecommendHistory {
+    // 사용자에게 보여 준 추천 목록 기록 (추가만 함) - 추천 한 번에 한 행
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "history_id")
+    private Long historyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(length = 400)
+    private byte[] rcpIds; // 추천 순서대로 rcp_id 를 4 byte 정수로 이어 붙인 값
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private Timestamp shownAt;
+
+    public static byte[] pack(List<Long> rcpIds) {
+        ByteBuffer buffer = ByteBuffer.allocate(rcpIds.size() * Integer.BYTES);
+        for (Long rcpId : rcpIds) {
+            buffer.putInt(Math.toIntExact(rcpId));
+        }
+        return buffer.array();
+    }
+
+    public static List<Long> unpack(byte[] packed) {
+        List<Long> list = new ArrayList<>();
+        if (packed == null) {
+            return list;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(packed);
+        while (buffer.remaining() >= Integer.BYTES) {
+            list.add((long) buffer.getInt());
+        }
+        return list;
+    }
+
+    public List<Long> rcpIdList() {
+        return unpack(rcpIds);
+    }
+}
@@ -0,0 +1,45 @@
+package doubleni.mealrecipe.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "recommend_jobs")
+@Entity
+public class RecommendJob {
+    // 사용자별 추천 미리 계산 작업 (야간 배치 + 체크포인트)
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    public static final String CANCELLED = "CANCELLED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long jobId;
+
+    private String status; // RUNNING, COMPLETED, FAILED, CANCELLED
+    private long modelVersion; // 계산에 쓴 협업 필터링 모델 버전
+
+    private long usersTotal; // 평점 기록이 있는 전체 사용자 수
+    private long usersDone; // 계산을 마친 사용자 수
+    private long usersWritten; // 추천을 저장한 사용자 수 (리뷰가 바뀐 사용자는 저장 쿼리에서 건너뜀)
+    private long usersSkipped; // 추천할 레시피가 없어 빈 목록으로 덮어쓴 사용자 수
+    private double usersPerSec; // 처리량
+
+    private long checkpoint; // 저장까지 끝난 마지막 사용자 id - 재시작 시 다음 사용자부터 계산
+
+    private String message; // 실패 사유
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private Timestamp startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private Timestamp finishedAt;
+}
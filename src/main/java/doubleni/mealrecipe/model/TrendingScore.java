@@ -0,0 +1,24 @@
+package doubleni.mealrecipe.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "trending_scores")
+@Entity
+public class TrendingScore {
+    // 인기 급상승 점수 스냅샷 - 서버를 다시 시작해도 점수가 처음부터 시작하지 않도록 주기적으로 저장
+
+    @Id
+    private Long rcpId;
+
+    private double score; // snapshotAt 시점의 감쇠된 점수
+
+    private Timestamp snapshotAt;
+}
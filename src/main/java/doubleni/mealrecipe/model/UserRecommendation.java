@@ -0,0 +1,56 @@
+package doubleni.mealrecipe.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table(name = "user_recommendations")
+@Entity
+public class UserRecommendation {
+    // 사용자별로 미리 계산해 둔 협업 필터링 추천 (야간 배치) - 사용자 id 로 한 행만 읽음
+
+    @Id
+    private Long userId;
+
+    @Column(length = 1024)
+    private String rcpIds; // 추천 순서대로 rcp_id 를 쉼표로 이어 붙인 값 (빈 값이면 추천 없음, null 이면 리뷰를 바꿔 다시 계산해야 함)
+
+    private long modelVersion; // 계산에 쓴 모델 버전
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private Timestamp computedAt; // 계산에 쓴 모델이 평점을 읽기 시작한 시각
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private Timestamp invalidatedAt; // 마지막으로 리뷰를 바꾼 시각 - computedAt 이 이보다 이르면 덮어쓰지 않음
+
+    public static String join(List<Long> rcpIds) {
+        StringBuilder builder = new StringBuilder();
+        for (Long rcpId : rcpIds) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(rcpId);
+        }
+        return builder.toString();
+    }
+
+    public List<Long> rcpIdList() {
+        List<Long> list = new ArrayList<>();
+        if (rcpIds == null || rcpIds.isEmpty()) {
+            return list;
+        }
+        for (String rcpId : rcpIds.split(",")) {
+            list.add(Long.parseLong(rcpId));
+        }
+        return list;
+    }
+}
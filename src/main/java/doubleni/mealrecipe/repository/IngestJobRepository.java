@@ -0,0 +1,16 @@
+package doubleni.mealrecipe.repository;
+
+import doubleni.mealrecipe.model.IngestJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IngestJobRepository extends JpaRepository<IngestJob, Long> {
+
+    Optional<IngestJob> findByJobId(Long jobId);
+
+    // 같은 파일의 가장 최근 작업 (재시작 위치 확인용)
+    Optional<IngestJob> findFirstByFileNameOrderByJobIdDesc(String fileName);
+}
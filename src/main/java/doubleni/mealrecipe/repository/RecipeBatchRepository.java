@@ -0,0 +1,493 @@
+package doubleni.mealrecipe.repository;
+
+import doubleni.mealrecipe.model.Recipe;
+import doubleni.mealrecipe.model.RecipeIngredient;
+import doubleni.mealrecipe.model.RecipeStep;
+import doubleni.mealrecipe.model.RecommendHistory;
+import doubleni.mealrecipe.utils.IngredientParser;
+import doubleni.mealrecipe.utils.NutritionParser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * 레시피 대량 저장용 JDBC 저장소
+ * IDENTITY 전략에서는 Hibernate 가 insert 를 묶어 보내지 못하므로 ingest 는 JdbcTemplate batch 로 저장한다.
+ * 조리 순서(recipe_steps), 재료(recipe_ingredients)도 레시피와 같은 트랜잭션에서 함께 저장한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RecipeBatchRepository {
+
+    private static final List<String> COLUMNS = List.of(
+            "rcp_seq", "rcp_nm", "rcp_way2", "rcp_pat2", "info_wgt",
+            "info_eng", "info_car", "info_pro", "info_fat", "info_na",
+            "info_eng_num", "info_car_num", "info_pro_num", "info_fat_num", "info_na_num",
+            "hash_tag", "att_file_no_main", "att_file_no_mk", "rcp_parts_dtls",
+            "rcp_na_tip", "content_hash");
+
+    // 좋아요 수, 평점 집계는 insert 시에만 0 으로 초기화하고 update 에서는 건드리지 않음
+    private static final String INSERT_SQL = "insert into recipes (" + String.join(", ", COLUMNS)
+            + ", like_cnt, rating_sum, rating_count, review_averge) values ("
+            + String.join(", ", COLUMNS.stream().map(column -> "?").toList()) + ", 0, 0, 0, 0)";
+
+    private static final String UPDATE_SQL = "update recipes set "
+            + String.join(", ", COLUMNS.stream().map(column -> column + " = ?").toList()) + " where rcp_seq = ?";
+
+    private static final String INSERT_STEP_SQL = "insert into recipe_steps (rcp_id, step_no, description, image_url) values (?, ?, ?, ?)";
+
+    // update 대상은 rcp_id 를 모르므로 일련 번호로 찾아서 처리
+    private static final String DELETE_STEPS_BY_SEQ_SQL = "delete s from recipe_steps s join recipes r on r.rcp_id = s.rcp_id where r.rcp_seq = ?";
+
+    private static final String INSERT_STEP_BY_SEQ_SQL = "insert into recipe_steps (rcp_id, step_no, description, image_url)"
+            + " select rcp_id, ?, ?, ? from recipes where rcp_seq = ?";
+
+    private static final String INGREDIENT_COLUMNS = "position, name, base_name, quantity, unit, amount, section";
+
+    private static final String INSERT_INGREDIENT_SQL = "insert into recipe_ingredients (" + INGREDIENT_COLUMNS + ", rcp_id)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_INGREDIENTS_BY_SEQ_SQL = "delete i from recipe_ingredients i join recipes r on r.rcp_id = i.rcp_id where r.rcp_seq = ?";
+
+    private static final String INSERT_INGREDIENT_BY_SEQ_SQL = "insert into recipe_ingredients (" + INGREDIENT_COLUMNS + ", rcp_id)"
+            + " select ?, ?, ?, ?, ?, ?, ?, rcp_id from recipes where rcp_seq = ?";
+
+    // 문자열 영양 정보는 있는데 숫자 컬럼이 비어 있는 행 (숫자 컬럼 추가 전에 저장된 레시피)
+    private static final String UNPARSED_NUTRITION_SQL = "select rcp_id, info_eng, info_car, info_pro, info_fat, info_na from recipes"
+            + " where (info_eng_num is null and info_eng <> '') or (info_car_num is null and info_car <> '')"
+            + " or (info_pro_num is null and info_pro <> '') or (info_fat_num is null and info_fat <> '')"
+            + " or (info_na_num is null and info_na <> '')";
+
+    private static final String UPDATE_NUTRITION_SQL = "update recipes set info_eng_num = ?, info_car_num = ?,"
+            + " info_pro_num = ?, info_fat_num = ?, info_na_num = ? where rcp_id = ?";
+
+    // 사용자별 추천 미리 계산 결과 - 있으면 덮어씀
+    // 계산에 쓴 모델이 평점을 읽은 뒤 리뷰를 바꾼 사용자(invalidated_at >= computed_at)는 그대로 둠
+    // invalidated_at 은 바꾸지 않으므로 세 컬럼 모두 같은 조건으로 판단
+    private static final String UPSERT_USER_RECOMMENDATION_SQL = "insert into user_recommendations"
+            + " (user_id, rcp_ids, model_version, computed_at) values (?, ?, ?, ?)"
+            + " on duplicate key update"
+            + " rcp_ids = if(invalidated_at is null or invalidated_at < values(computed_at), values(rcp_ids), rcp_ids),"
+            + " model_version = if(invalidated_at is null or invalidated_at < values(computed_at), values(model_version), model_version),"
+            + " computed_at = if(invalidated_at is null or invalidated_at < values(computed_at), values(computed_at), computed_at)";
+
+    private static final String INVALIDATE_USER_RECOMMENDATION_SQL = "insert into user_recommendations"
+            + " (user_id, rcp_ids, model_version, computed_at, invalidated_at) values (?, null, 0, null, ?)"
+            + " on duplicate key update rcp_ids = null, invalidated_at = values(invalidated_at)";
+
+    private static final int MAX_HISTORY_SIZE = 100; // recommend_history.rcp_ids 길이 400 / 4 byte
+
+    private static final String INSERT_RECOMMEND_HISTORY_SQL = "insert into recommend_history (user_id, rcp_ids, shown_at) values (?, ?, ?)";
+
+    private static final String INSERT_TRENDING_SCORE_SQL = "insert into trending_scores (rcp_id, score, snapshot_at) values (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 재료 역색인 전체 순회 (rcp_id 순) - 메모리 색인 생성용, 결과를 목록으로 모으지 않고 한 행씩 넘김
+    public void forEachIngredient(BiConsumer<Long, String> consumer) {
+        jdbcTemplate.query("select rcp_id, base_name from recipe_ingredients where base_name is not null order by rcp_id",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), rs.getString(2)));
+    }
+
+    // rcpSeq -> content_hash 전체 조회 (delta ingest 시작 시 1번)
+    public Map<String, String> findContentHashes() {
+        Map<String, String> hashes = new HashMap<>();
+        jdbcTemplate.query("select rcp_seq, content_hash from recipes where rcp_seq is not null",
+                (RowCallbackHandler) rs -> hashes.put(rs.getString(1), rs.getString(2)));
+        return hashes;
+    }
+
+    // 레시피 목록을 batchSize 단위로 묶어 insert - 생성된 rcp_id 로 조리 순서, 재료도 함께 저장 (recipe.rcpId 도 채움)
+    public void insertAll(List<Recipe> recipes, int batchSize) {
+        for (int from = 0; from < recipes.size(); from += batchSize) {
+            List<Recipe> part = recipes.subList(from, Math.min(from + batchSize, recipes.size()));
+            long[] rcpIds = jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+                try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    for (Recipe recipe : part) {
+                        setValues(ps, values(recipe));
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+
+                    // batch 순서대로 생성된 키가 반환됨
+                    long[] keys = new long[part.size()];
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        for (int i = 0; i < keys.length && rs.next(); i++) {
+                            keys[i] = rs.getLong(1);
+                        }
+                    }
+                    return keys;
+                }
+            });
+
+            List<Object[]> steps = new ArrayList<>();
+            List<Object[]> ingredients = new ArrayList<>();
+            for (int i = 0; i < part.size(); i++) {
+                part.get(i).setRcpId(rcpIds[i]);
+                for (RecipeStep step : stepsOf(part.get(i))) {
+                    steps.add(new Object[]{rcpIds[i], step.getStepNo(), step.getDescription(), step.getImageUrl()});
+                }
+                for (RecipeIngredient ingredient : ingredientsOf(part.get(i))) {
+                    ingredients.add(ingredientValues(ingredient, rcpIds[i]));
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_STEP_SQL, steps);
+            jdbcTemplate.batchUpdate(INSERT_INGREDIENT_SQL, ingredients);
+        }
+    }
+
+    // rcpSeq 기준으로 내용 전체를 덮어씀 - 조리 순서, 재료는 지우고 다시 저장 (recipe.rcpId 도 채움)
+    public void updateAll(List<Recipe> recipes, int batchSize) {
+        if (recipes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, recipes, batchSize, (ps, recipe) -> {
+            Object[] values = values(recipe);
+            setValues(ps, values);
+            ps.setObject(values.length + 1, recipe.getRcpSeq());
+        });
+
+        jdbcTemplate.batchUpdate(DELETE_STEPS_BY_SEQ_SQL, recipes, batchSize,
+                (ps, recipe) -> ps.setString(1, recipe.getRcpSeq()));
+        jdbcTemplate.batchUpdate(DELETE_INGREDIENTS_BY_SEQ_SQL, recipes, batchSize,
+                (ps, recipe) -> ps.setString(1, recipe.getRcpSeq()));
+
+        List<Object[]> steps = new ArrayList<>();
+        List<Object[]> ingredients = new ArrayList<>();
+        for (Recipe recipe : recipes) {
+            for (RecipeStep step : stepsOf(recipe)) {
+                steps.add(new Object[]{step.getStepNo(), step.getDescription(), step.getImageUrl(), recipe.getRcpSeq()});
+            }
+            for (RecipeIngredient ingredient : ingredientsOf(recipe)) {
+                ingredients.add(ingredientValues(ingredient, recipe.getRcpSeq()));
+            }
+        }
+        batchUpdate(INSERT_STEP_BY_SEQ_SQL, steps, batchSize);
+        batchUpdate(INSERT_INGREDIENT_BY_SEQ_SQL, ingredients, batchSize);
+
+        for (int from = 0; from < recipes.size(); from += batchSize) {
+            assignRcpIds(recipes.subList(from, Math.min(from + batchSize, recipes.size())));
+        }
+    }
+
+    // 일련 번호로 rcp_id 채우기
+    private void assignRcpIds(List<Recipe> recipes) {
+        Map<String, Recipe> bySeq = new HashMap<>();
+        recipes.forEach(recipe -> bySeq.put(recipe.getRcpSeq(), recipe));
+        String placeholders = String.join(", ", Collections.nCopies(recipes.size(), "?"));
+        jdbcTemplate.query("select rcp_id, rcp_seq from recipes where rcp_seq in (" + placeholders + ")",
+                (RowCallbackHandler) rs -> {
+                    Recipe recipe = bySeq.get(rs.getString(2));
+                    if (recipe != null) {
+                        recipe.setRcpId(rs.getLong(1));
+                    }
+                }, bySeq.keySet().toArray());
+    }
+
+    // 전문 검색 색인 생성용 - 레시피 텍스트 필드 전체 순회
+    public void forEachRecipeText(RowCallbackHandler handler) {
+        jdbcTemplate.query("select rcp_id, rcp_nm, hash_tag, rcp_na_tip from recipes", handler);
+    }
+
+    // 전문 검색 색인 생성용 - 조리 순서 설명 전체 순회 (rcp_id, step_no 순)
+    public void forEachStepText(BiConsumer<Long, String> consumer) {
+        jdbcTemplate.query("select rcp_id, description from recipe_steps where description is not null order by rcp_id, step_no",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), rs.getString(2)));
+    }
+
+    // 레시피명 유사 검색 색인용 - rcp_id, rcp_nm 전체 순회 (rcp_id 순)
+    public void forEachRecipeName(BiConsumer<Long, String> consumer) {
+        jdbcTemplate.query("select rcp_id, rcp_nm from recipes where rcp_nm is not null order by rcp_id",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), rs.getString(2)));
+    }
+
+    // 카탈로그 생성용 - 재료 전체 순회 (rcp_id, name, amount, 레시피별 원문 순서)
+    public void forEachIngredientText(RowCallbackHandler handler) {
+        jdbcTemplate.query("select rcp_id, name, amount from recipe_ingredients order by rcp_id, position", handler);
+    }
+
+    // 영양 정보 컬럼 저장소용 - rcp_id, 숫자 영양 정보 5개 (rcp_id 순, 값이 없으면 null)
+    public void forEachNutrition(RowCallbackHandler handler) {
+        jdbcTemplate.query("select rcp_id, info_eng_num, info_car_num, info_pro_num, info_fat_num, info_na_num"
+                + " from recipes order by rcp_id", handler);
+    }
+
+    // 협업 필터링 모델용 - 리뷰 평점 전체 순회 (id = 사용자, 사용자 -> 레시피 순)
+    public void forEachReviewRating(RowCallbackHandler handler) {
+        jdbcTemplate.query("select id, rcp_id, review_rating from reviews"
+                + " where id is not null and rcp_id is not null and review_rating is not null order by id, rcp_id", handler);
+    }
+
+    // 한 사용자의 리뷰 평점 (rcp_id 순) - 리뷰를 바꾼 사용자의 협업 필터링 평점 행 갱신용
+    public void forEachReviewRating(Long userId, RowCallbackHandler handler) {
+        jdbcTemplate.query("select rcp_id, review_rating from reviews"
+                + " where id = ? and rcp_id is not null and review_rating is not null order by rcp_id", handler, userId);
+    }
+
+    // 추천 미리 계산 결과 저장 - 행마다 user_id, rcp_ids, model_version, computed_at
+    public void upsertUserRecommendations(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_USER_RECOMMENDATION_SQL, rows);
+        }
+    }
+
+    // 리뷰를 바꾼 사용자의 미리 계산한 추천 무효화 - 이 시각 이전 평점으로 계산한 결과는 이후 저장되지 않음
+    public void invalidateUserRecommendation(Long userId, Timestamp invalidatedAt) {
+        jdbcTemplate.update(INVALIDATE_USER_RECOMMENDATION_SQL, userId, invalidatedAt);
+    }
+
+    // 추천 기록 추가 - 행마다 user_id, rcp_ids(4 byte 정수 묶음), shown_at
+    public void insertRecommendHistory(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_RECOMMEND_HISTORY_SQL, rows);
+        }
+    }
+
+    // 인기 급상승 점수 스냅샷 전체 교체 - 행마다 rcp_id, score, snapshot_at
+    @Transactional
+    public void replaceTrendingScores(List<Object[]> rows) {
+        jdbcTemplate.update("delete from trending_scores");
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TRENDING_SCORE_SQL, rows);
+        }
+    }
+
+    // 자동 완성 색인용 - 레시피명과 인기 점수(좋아요 수, 평균 평점)
+    public void forEachRecipePopularity(RowCallbackHandler handler) {
+        jdbcTemplate.query("select rcp_id, rcp_nm, like_cnt, review_averge from recipes where rcp_nm is not null", handler);
+    }
+
+    // 자동 완성 색인용 - 재료명별 사용 레시피 수
+    public void forEachIngredientCount(BiConsumer<String, Integer> consumer) {
+        jdbcTemplate.query("select base_name, count(distinct rcp_id) from recipe_ingredients where base_name is not null group by base_name",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getString(1), rs.getInt(2)));
+    }
+
+    /**
+     * 재료 테이블 추가 전에 저장된 레시피의 재료 정보 원문을 파싱해서 recipe_ingredients 를 채운다.
+     *
+     * @return 재료를 채운 레시피 수
+     */
+    public int backfillIngredients(int batchSize) {
+        List<Object[]> ingredients = new ArrayList<>();
+        int[] recipes = {0};
+        jdbcTemplate.query("select r.rcp_id, r.rcp_parts_dtls from recipes r where r.rcp_parts_dtls <> ''"
+                + " and not exists (select 1 from recipe_ingredients i where i.rcp_id = r.rcp_id)", (RowCallbackHandler) rs -> {
+            List<RecipeIngredient> parsed = IngredientParser.parse(rs.getString(2));
+            for (RecipeIngredient ingredient : parsed) {
+                ingredients.add(ingredientValues(ingredient, rs.getLong(1)));
+            }
+            recipes[0] += parsed.isEmpty() ? 0 : 1;
+        });
+        batchUpdate(INSERT_INGREDIENT_SQL, ingredients, batchSize);
+        return recipes[0];
+    }
+
+    /**
+     * 조리 순서를 recipes 테이블 컬럼(manual01~20, manual_img01~20)에 저장하던 때의 데이터를 recipe_steps 로 옮긴다.
+     * 설명이나 이미지 중 하나라도 있는 순서를 옮기고, recipe_steps 에 들어간 순서(또는 둘 다 빈 값)의 컬럼만 비워서 다음 실행부터는 건너뛴다.
+     * 이전 컬럼이 있는지는 JDBC 메타데이터로 확인한다. (컬럼 자체는 ddl-auto 가 지우지 않으므로 필요하면 직접 삭제)
+     *
+     * @return 옮긴 조리 순서 수
+     */
+    public int migrateLegacySteps() {
+        Set<String> columns = columnNames("recipes");
+
+        int migrated = 0;
+        for (int no = 1; no <= RecipeStep.MAX_STEPS; no++) {
+            String manual = String.format("manual%02d", no);
+            String manualImg = String.format("manual_img%02d", no);
+            if (!columns.contains(manual) || !columns.contains(manualImg)) {
+                continue;
+            }
+            migrated += jdbcTemplate.update("insert into recipe_steps (rcp_id, step_no, description, image_url)"
+                    + " select r.rcp_id, " + no + ", nullif(r." + manual + ", ''), nullif(r." + manualImg + ", '') from recipes r"
+                    + " where (r." + manual + " <> '' or r." + manualImg + " <> '')"
+                    + " and not exists (select 1 from recipe_steps s where s.rcp_id = r.rcp_id and s.step_no = " + no + ")");
+            jdbcTemplate.update("update recipes set " + manual + " = null, " + manualImg + " = null"
+                    + " where (" + manual + " is not null or " + manualImg + " is not null)"
+                    + " and ((coalesce(" + manual + ", '') = '' and coalesce(" + manualImg + ", '') = '')"
+                    + " or exists (select 1 from recipe_steps s where s.rcp_id = recipes.rcp_id and s.step_no = " + no + "))");
+        }
+        return migrated;
+    }
+
+    /**
+     * 추천 기록을 record / record_number 테이블(레시피 일련 번호 목록)에 저장하던 때의 데이터를 recommend_history 로 옮긴다.
+     * 모든 사용자의 기록을 옮기되(일련 번호 -> rcp_id, 없어진 레시피는 제외), 그 사용자의 기존 추천 기록보다 이전 시각으로 넣어
+     * 최근 기록 순서를 바꾸지 않는다. 옮긴 record_id 의 행만 이전 테이블에서 지워서 다음 실행부터는 건너뛴다.
+     * 추가와 삭제는 한 트랜잭션 - 중간에 실패하면 아무것도 옮기지 않은 상태로 돌아가 다음 시작 때 다시 옮긴다.
+     *
+     * @return 옮긴 추천 기록 수
+     */
+    @Transactional
+    public int migrateLegacyRecords() {
+        if (columnNames("record").isEmpty() || columnNames("record_number").isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Long> users = new LinkedHashMap<>(); // record_id -> user_id (record_id 순)
+        Map<Long, List<Long>> rcpIds = new HashMap<>();
+        jdbcTemplate.query("select r.record_id, r.id, c.rcp_id from record r"
+                + " left join record_number n on n.record_id = r.record_id"
+                + " left join recipes c on c.rcp_seq = n.record_num"
+                + " where r.id is not null"
+                + " order by r.record_id", (RowCallbackHandler) rs -> {
+            long recordId = rs.getLong(1);
+            users.putIfAbsent(recordId, rs.getLong(2));
+            long rcpId = rs.getLong(3);
+            if (!rs.wasNull()) {
+                rcpIds.computeIfAbsent(recordId, key -> new ArrayList<>()).add(rcpId);
+            }
+        });
+        if (users.isEmpty()) {
+            return 0;
+        }
+
+        // 사용자별 기준 시각 - 가장 오래된 기존 추천 기록 (없으면 지금), 이전 기록은 그보다 1초씩 앞으로
+        Map<Long, Long> oldest = new HashMap<>();
+        jdbcTemplate.query("select h.user_id, min(h.shown_at) from recommend_history h"
+                + " join (select distinct id from record where id is not null) r on r.id = h.user_id"
+                + " group by h.user_id", (RowCallbackHandler) rs -> oldest.put(rs.getLong(1), rs.getTimestamp(2).getTime()));
+        Map<Long, Integer> remaining = new HashMap<>(); // 사용자별 아직 넣지 않은 기록 수
+        users.values().forEach(userId -> remaining.merge(userId, 1, Integer::sum));
+        long now = System.currentTimeMillis();
+
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> migrated = new ArrayList<>();
+        users.forEach((recordId, userId) -> {
+            // record_id 순서를 유지 - 사용자의 마지막 이전 기록이 기준 시각 1초 전
+            int before = remaining.merge(userId, -1, Integer::sum) + 1;
+            Timestamp shownAt = new Timestamp(oldest.getOrDefault(userId, now) - before * 1000L);
+            List<Long> list = rcpIds.getOrDefault(recordId, Collections.emptyList());
+            if (!list.isEmpty()) {
+                List<Long> limited = list.subList(0, Math.min(list.size(), MAX_HISTORY_SIZE));
+                rows.add(new Object[]{userId, RecommendHistory.pack(limited), shownAt});
+            }
+            migrated.add(new Object[]{recordId});
+        });
+        insertRecommendHistory(rows);
+
+        jdbcTemplate.batchUpdate("delete from record_number where record_id = ?", migrated);
+        jdbcTemplate.batchUpdate("delete from record where record_id = ?", migrated);
+        return rows.size();
+    }
+
+    // 테이블의 컬럼명 (소문자, 테이블이 없으면 빈 집합) - DB 종류와 무관하게 JDBC 메타데이터로 조회
+    private Set<String> columnNames(String table) {
+        Set<String> columns = jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            Set<String> names = new HashSet<>();
+            for (String name : List.of(table, table.toUpperCase(Locale.ROOT))) {
+                try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, name, null)) {
+                    while (rs.next()) {
+                        names.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            return names;
+        });
+        return columns == null ? Collections.emptySet() : columns;
+    }
+
+    // 숫자 영양 정보 컬럼 채우기 - 파싱할 수 없는 값(숫자가 아닌 문자열)은 null 로 남김
+    public int backfillNutrition(int batchSize) {
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query(UNPARSED_NUTRITION_SQL, (RowCallbackHandler) rs -> {
+            Object[] values = new Object[]{
+                    NutritionParser.parse(rs.getString(2)), NutritionParser.parse(rs.getString(3)),
+                    NutritionParser.parse(rs.getString(4)), NutritionParser.parse(rs.getString(5)),
+                    NutritionParser.parse(rs.getString(6)), rs.getLong(1)};
+            // 숫자가 하나라도 나온 행만 수정 (전부 파싱 불가면 다시 수정해도 같은 결과)
+            for (int i = 0; i < 5; i++) {
+                if (values[i] != null) {
+                    updates.add(values);
+                    break;
+                }
+            }
+        });
+        batchUpdate(UPDATE_NUTRITION_SQL, updates, batchSize);
+        return updates.size();
+    }
+
+    /**
+     * 평점 합계 / 개수 컬럼 추가 전의 레시피, 새로 저장된 레시피의 평점 집계를 reviews 에서 채운다.
+     *
+     * @return 채운 레시피 수
+     */
+    public int backfillRatings() {
+        return jdbcTemplate.update("update recipes r left join ("
+                + "select rcp_id, sum(review_rating) rating_sum, count(*) rating_count from reviews "
+                + "where review_rating is not null group by rcp_id) v on v.rcp_id = r.rcp_id "
+                + "set r.rating_sum = coalesce(v.rating_sum, 0), r.rating_count = coalesce(v.rating_count, 0), "
+                + "r.review_averge = coalesce(round(v.rating_sum / v.rating_count, 1), 0) "
+                + "where r.rating_count is null");
+    }
+
+    /**
+     * 좋아요 수 / 평균 평점이 null 인 레시피(집계 컬럼 추가 전에 저장된 레시피)를 0 (평균은 합계 / 개수)으로 채운다.
+     * 목록 keyset 조건(like_cnt < ?, review_averge < ?)은 null 행을 항상 거르므로, 채우지 않으면 좋아요 / 평점 순 목록에서 빠진다.
+     *
+     * @return 채운 레시피 수
+     */
+    public int backfillListColumns() {
+        return jdbcTemplate.update("update recipes set like_cnt = coalesce(like_cnt, 0), "
+                + "review_averge = coalesce(review_averge, round(rating_sum / nullif(rating_count, 0), 1), 0) "
+                + "where like_cnt is null or review_averge is null");
+    }
+
+    private static void setValues(PreparedStatement ps, Object[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            ps.setObject(i + 1, values[i]);
+        }
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows, int batchSize) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    private static List<RecipeStep> stepsOf(Recipe recipe) {
+        return recipe.getSteps() != null ? recipe.getSteps() : Collections.emptyList();
+    }
+
+    private static List<RecipeIngredient> ingredientsOf(Recipe recipe) {
+        return recipe.getIngredients() != null ? recipe.getIngredients() : Collections.emptyList();
+    }
+
+    // key 는 insert 시 rcp_id, update 시 rcp_seq (INGREDIENT_COLUMNS 순서 + 마지막에 key)
+    private static Object[] ingredientValues(RecipeIngredient i, Object key) {
+        return new Object[]{i.getPosition(), i.getName(), i.getBaseName(), i.getQuantity(), i.getUnit(),
+                i.getAmount(), i.getSection(), key};
+    }
+
+    // COLUMNS 순서와 동일하게 값 배열 생성
+    private static Object[] values(Recipe r) {
+        return new Object[]{
+                r.getRcpSeq(), r.getRcpNm(), r.getRcpWay2(), r.getRcpPat2(), r.getInfoWgt(),
+                r.getInfoEng(), r.getInfoCar(), r.getInfoPro(), r.getInfoFat(), r.getInfoNa(),
+                r.getInfoEngNum(), r.getInfoCarNum(), r.getInfoProNum(), r.getInfoFatNum(), r.getInfoNaNum(),
+                r.getHashTag(), r.getAttFileNoMain(), r.getAttFileNoMk(), r.getRcpPartsDtls(),
+                r.getRcpNaTip(), r.getContentHash()
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package doubleni.mealrecipe.repository;
+
+/**
+ * 레시피 목록 카드용 projection - recipes 의 필요한 컬럼만 조회
+ */
+public interface RecipeCardView {
+    Long getRcpId();
+
+    String getRcpNm(); // 레시피명
+
+    String getRcpPat2(); // 요리 종류
+
+    String getAttFileNoMain(); // 이미지 경로(소)
+
+    Double getInfoEngNum(); // 열량 (kcal)
+
+    Double getReviewAverge(); // 평균 평점
+
+    Integer getLikeCnt(); // 좋아요 수
+}
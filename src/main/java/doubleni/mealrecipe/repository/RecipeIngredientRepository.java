@@ -0,0 +1,21 @@
+package doubleni.mealrecipe.repository;
+
+import doubleni.mealrecipe.model.RecipeIngredient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredient, Long> {
+
+    // 레시피의 재료 (원문 순서대로)
+    List<RecipeIngredient> findByRecipe_RcpIdOrderByPositionAsc(Long rcpId);
+
+    // 재료명 -> 레시피 id (역색인 조회, recipes 테이블은 읽지 않음)
+    @Query("select distinct i.recipe.rcpId from RecipeIngredient i where i.baseName in :baseNames")
+    List<Long> findRcpIdsByBaseNameIn(@Param("baseNames") Collection<String> baseNames);
+}
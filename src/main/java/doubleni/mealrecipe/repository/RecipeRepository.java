@@ -2,34 +2,86 @@ package doubleni.mealrecipe.repository;
 
 import doubleni.mealrecipe.model.DTO.GetRecipeRes;
 import doubleni.mealrecipe.model.Recipe;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface RecipeRepository extends JpaRepository<Recipe, Long> {
+public interface RecipeRepository extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe> {
 
     // 레시피 이름으로 찾기
     Optional<Recipe> findByRcpNm(String rcpNm);
 
+    // 이미 저장된 레시피 이름 한번에 찾기 (ingest 청크 단위)
+    @Query("select r.rcpNm from Recipe r where r.rcpNm in :rcpNms")
+    List<String> findRcpNmsIn(@Param("rcpNms") Collection<String> rcpNms);
+
+    // 일련 번호 목록으로 찾기 (delta ingest 삭제 대상)
+    List<Recipe> findByRcpSeqIn(Collection<String> rcpSeqs);
+
     // 레시피 id 찾기
     Optional<Recipe> findByRcpId(Long rcpId);
 
 
     GetRecipeRes findRecipeByRcpId(Long rcpId);
 
-    // Order By
-    // findFirstByRcpNmOrderByInfoProDescInfoFatAsc(String rcpNm)
-    List<Recipe> findAllByOrderByInfoProDesc(); // 내림차순
-    List<Recipe> findAllByOrderByInfoFatAsc(); // 오름차순
+    // 레시피 목록 (keyset 페이지) - 마지막으로 받은 행의 (정렬 값, rcpId) 다음부터
+    // 같은 값끼리는 정렬 값과 같은 방향으로 rcpId 정렬 - (정렬 값, rcp_id) 인덱스를 한 방향으로 읽어 filesort 가 없음
+    // (내림차순 목록의 첫 페이지는 lastId = Long.MAX_VALUE)
+    String CARD_COLUMNS = "select r.rcpId as rcpId, r.rcpNm as rcpNm, r.rcpPat2 as rcpPat2, r.attFileNoMain as attFileNoMain, "
+            + "r.infoEngNum as infoEngNum, r.reviewAverge as reviewAverge, r.likeCnt as likeCnt from Recipe r ";
+
+    @Query(CARD_COLUMNS + "where r.rcpId > :lastId order by r.rcpId asc")
+    List<RecipeCardView> findCardsOrderById(@Param("lastId") long lastId, Pageable pageable);
+
+    @Query(CARD_COLUMNS + "where r.likeCnt < :lastValue or (r.likeCnt = :lastValue and r.rcpId < :lastId) "
+            + "order by r.likeCnt desc, r.rcpId desc")
+    List<RecipeCardView> findCardsOrderByLikes(@Param("lastValue") int lastValue, @Param("lastId") long lastId, Pageable pageable);
+
+    @Query(CARD_COLUMNS + "where r.reviewAverge < :lastValue or (r.reviewAverge = :lastValue and r.rcpId < :lastId) "
+            + "order by r.reviewAverge desc, r.rcpId desc")
+    List<RecipeCardView> findCardsOrderByRating(@Param("lastValue") double lastValue, @Param("lastId") long lastId, Pageable pageable);
+
+    // 열량 정보가 없는 레시피는 제외
+    @Query(CARD_COLUMNS + "where r.infoEngNum > :lastValue or (r.infoEngNum = :lastValue and r.rcpId > :lastId) "
+            + "order by r.infoEngNum asc, r.rcpId asc")
+    List<RecipeCardView> findCardsOrderByKcal(@Param("lastValue") double lastValue, @Param("lastId") long lastId, Pageable pageable);
+
+    /**
+     * 평점 합계 / 개수 / 평균을 한 문장으로 갱신 (동시에 리뷰가 달려도 누락 없음)
+     * 리뷰 작성 (+평점, +1), 수정 (새 평점 - 이전 평점, 0), 삭제 (-평점, -1)
+     * review_averge 를 먼저 계산해야 MySQL 에서도 갱신 전 값으로 계산된다. (MySQL 은 왼쪽부터 갱신된 값을 사용)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update recipes set "
+            + "review_averge = coalesce(round((coalesce(rating_sum, 0) + :sumDelta) / nullif(coalesce(rating_count, 0) + :countDelta, 0), 1), 0), "
+            + "rating_sum = coalesce(rating_sum, 0) + :sumDelta, "
+            + "rating_count = coalesce(rating_count, 0) + :countDelta "
+            + "where rcp_id = :rcpId", nativeQuery = true)
+    int applyRatingChange(@Param("rcpId") Long rcpId, @Param("sumDelta") double sumDelta, @Param("countDelta") int countDelta);
+
+    // 좋아요 수를 한 문장으로 증감 (동시에 좋아요 / 리뷰가 와도 누락 없음, 0 미만으로 내려가지 않음)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update recipes set like_cnt = greatest(coalesce(like_cnt, 0) + :delta, 0) where rcp_id = :rcpId", nativeQuery = true)
+    int applyLikeChange(@Param("rcpId") Long rcpId, @Param("delta") int delta);
+
+    // Order By - 숫자 컬럼 기준 (문자열 컬럼으로 정렬하면 "9" 가 "14" 보다 앞에 옴)
+    // 영양 정보 범위 검색은 RecipeSpecification.nutritionRange + findAll(spec, pageable)
+    Page<Recipe> findByInfoProNumIsNotNullOrderByInfoProNumDescRcpIdDesc(Pageable pageable); // 내림차순 (인덱스 역방향)
+    Page<Recipe> findByInfoFatNumIsNotNullOrderByInfoFatNumAscRcpIdAsc(Pageable pageable); // 오름차순
 
-    // 키워드로 레시피 찾기 - LIKE %:keyword%"
-    List<Recipe> findByRcpNmContaining(@Param("keyword") String keyword);
+    // 키워드로 레시피 찾기 - RecipeTextSearchService (전문 검색 색인) 사용
 //    List<Recipe> findRecipesWithPartOfkeyword(@Param("keyword") String keyword);
-    List<Recipe> findByRcpPartsDtlsContaining(@Param("keyword") String ingredient);
+    // 재료 검색은 RecipeIngredientRepository (재료 역색인) 사용
 
 }
 
@@ -0,0 +1,45 @@
+package doubleni.mealrecipe.repository;
+
+import doubleni.mealrecipe.model.DTO.NutritionRangeReq;
+import doubleni.mealrecipe.model.Recipe;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 레시피 동적 검색 조건
+ * 값이 있는 조건만 where 절에 넣어 숫자 영양 정보 인덱스(idx_recipes_info_*_num)를 그대로 탈 수 있게 한다.
+ */
+public class RecipeSpecification {
+
+    private RecipeSpecification() {
+    }
+
+    // 영양 정보 범위 + 정렬 컬럼 값 존재 (정렬 컬럼이 null 인 레시피는 제외)
+    public static Specification<Recipe> nutritionRange(NutritionRangeReq req, String sortAttribute) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            between(predicates, cb, root.get("infoEngNum"), req.getMinEng(), req.getMaxEng());
+            between(predicates, cb, root.get("infoCarNum"), req.getMinCar(), req.getMaxCar());
+            between(predicates, cb, root.get("infoProNum"), req.getMinPro(), req.getMaxPro());
+            between(predicates, cb, root.get("infoFatNum"), req.getMinFat(), req.getMaxFat());
+            between(predicates, cb, root.get("infoNaNum"), req.getMinNa(), req.getMaxNa());
+            predicates.add(cb.isNotNull(root.get(sortAttribute)));
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static void between(List<Predicate> predicates, CriteriaBuilder cb,
+                                Path<Double> path, Double min, Double max) {
+        if (min != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, min));
+        }
+        if (max != null) {
+            predicates.add(cb.lessThanOrEqualTo(path, max));
+        }
+    }
+}
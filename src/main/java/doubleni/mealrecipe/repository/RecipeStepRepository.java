@@ -0,0 +1,13 @@
+package doubleni.mealrecipe.repository;
+
+import doubleni.mealrecipe.model.RecipeStep;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RecipeStepRepository extends JpaRepository<RecipeStep, Long> {
+    // 레시피의 조리 순서 (순서대로)
+    List<RecipeStep> findByRecipe_RcpIdOrderByStepNoAsc(Long rcpId);
+}
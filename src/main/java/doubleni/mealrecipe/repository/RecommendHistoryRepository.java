@@ -0,0 +1,16 @@
+package doubleni.mealrecipe.repository;
+
+import doubleni.mealrecipe.model.RecommendHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RecommendHistoryRepository extends JpaRepository<RecommendHistory, Long> {
+
+    // 사용자의 최근 기록부터 - 보여 준 시각 순, 같으면 나중에 저장된 기록 (user_id, shown_at, history_id 인덱스)
+    // (이전 테이블에서 옮긴 기록은 나중에 저장돼도 기존 기록보다 이전 시각이므로 저장 순서가 아닌 시각으로 정렬)
+    List<RecommendHistory> findByUserIdOrderByShownAtDescHistoryIdDesc(Long userId, Pageable pageable);
+}
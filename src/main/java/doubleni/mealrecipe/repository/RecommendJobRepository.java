@@ -0,0 +1,14 @@
+package doubleni.mealrecipe.repository;
+
+import doubleni.mealrecipe.model.RecommendJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RecommendJobRepository extends JpaRepository<RecommendJob, Long> {
+
+    // 가장 최근 작업 (재시작 위치 확인, 현황 조회)
+    Optional<RecommendJob> findFirstByOrderByJobIdDesc();
+}
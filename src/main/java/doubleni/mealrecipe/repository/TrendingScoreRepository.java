@@ -0,0 +1,9 @@
+package doubleni.mealrecipe.repository;
+
+import doubleni.mealrecipe.model.TrendingScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrendingScoreRepository extends JpaRepository<TrendingScore, Long> {
+}
@@ -0,0 +1,286 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.config.exception.BaseException;
+import doubleni.mealrecipe.model.DTO.AutocompleteItemRes;
+import doubleni.mealrecipe.model.DTO.AutocompleteRes;
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+import static doubleni.mealrecipe.config.exception.BaseResponseStatus.*;
+
+/**
+ * 검색창 자동 완성 (메모리 trie)
+ * 레시피명과 재료명(base_name)을 공백을 뺀 형태로 trie 에 넣고, 단어 시작 위치마다 한 번씩 더 넣어
+ * "찌개" 로도 "김치 찌개" 를 찾을 수 있게 한다.
+ * 초성 입력("ㄱㅊㅉ")은 trie 를 내려가면서 초성이 같은 글자를 모두 따라가는 방식으로 처리한다. ("김ㅊ" 같은 혼합 입력 포함)
+ * 노드마다 인기순 상위 TOP_K 개를 미리 계산해 두므로 조회는 입력 길이만큼만 내려가면 된다.
+ * 인기 점수 - 레시피 : 좋아요 수 + 평균 평점, 재료 : 그 재료를 쓰는 레시피 수
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AutocompleteService {
+
+    public static final int TOP_K = 10;
+    private static final int MAX_QUERY_LENGTH = 30;
+
+    private static final char[] CHOSUNG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'};
+
+    private final RecipeBatchRepository recipeBatchRepository;
+
+    private volatile Snapshot recipes = Snapshot.EMPTY;
+    private volatile Snapshot ingredients = Snapshot.EMPTY;
+
+    @EventListener
+    public void onRecipeDataChanged(RecipeDataChangedEvent event) {
+        try {
+            rebuild();
+        } catch (RuntimeException exception) {
+            log.error("자동 완성 색인 생성 실패 ({}) - {}", event.getReason(), exception.getMessage());
+        }
+    }
+
+    // 좋아요, 평점이 바뀌므로 주기적으로 인기 순위 갱신
+    @Scheduled(fixedDelayString = "${recipe.autocomplete.refresh-ms:600000}", initialDelayString = "${recipe.autocomplete.refresh-ms:600000}")
+    public void refresh() {
+        onRecipeDataChanged(new RecipeDataChangedEvent("scheduled refresh"));
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+
+        Snapshot.Builder recipeBuilder = new Snapshot.Builder();
+        recipeBatchRepository.forEachRecipePopularity((RowCallbackHandler) rs -> {
+            int likeCnt = rs.getInt(3);
+            double reviewAverge = rs.getDouble(4);
+            recipeBuilder.add(rs.getLong(1), rs.getString(2), likeCnt + reviewAverge, likeCnt, reviewAverge);
+        });
+
+        Snapshot.Builder ingredientBuilder = new Snapshot.Builder();
+        recipeBatchRepository.forEachIngredientCount((baseName, count) ->
+                ingredientBuilder.add(null, baseName, count, count, 0));
+
+        this.recipes = recipeBuilder.build();
+        this.ingredients = ingredientBuilder.build();
+        log.info("자동 완성 색인 생성 - 레시피 {}, 재료 {} ({} ms)", recipes.size(), ingredients.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /* 자동 완성 - 레시피명, 재료명 각각 인기순 상위 size 개 */
+    public AutocompleteRes autocomplete(String query, int size) throws BaseException {
+        String key = query == null ? "" : compact(query);
+        if (key.isEmpty() || key.length() > MAX_QUERY_LENGTH || size < 1 || size > TOP_K) {
+            throw new BaseException(REQUEST_ERROR);
+        }
+
+        Snapshot recipeSnapshot = this.recipes;
+        Snapshot ingredientSnapshot = this.ingredients;
+
+        List<AutocompleteItemRes> recipeItems = new ArrayList<>();
+        for (int entry : recipeSnapshot.find(key, size)) {
+            recipeItems.add(AutocompleteItemRes.recipe(recipeSnapshot.ids[entry], recipeSnapshot.labels[entry],
+                    recipeSnapshot.counts[entry], recipeSnapshot.ratings[entry]));
+        }
+        List<AutocompleteItemRes> ingredientItems = new ArrayList<>();
+        for (int entry : ingredientSnapshot.find(key, size)) {
+            ingredientItems.add(AutocompleteItemRes.ingredient(ingredientSnapshot.labels[entry], ingredientSnapshot.counts[entry]));
+        }
+        return new AutocompleteRes(recipeItems, ingredientItems);
+    }
+
+    // 소문자, 공백 제거
+    private static String compact(String text) {
+        return text.toLowerCase().replaceAll("\\s+", "");
+    }
+
+    // 한글 음절 -> 초성, 그 외는 0
+    private static char chosungOf(char c) {
+        if (c >= '가' && c <= '힣') {
+            return CHOSUNG[(c - '가') / 588];
+        }
+        return 0;
+    }
+
+    private static boolean isChosung(char c) {
+        return c >= 'ㄱ' && c <= 'ㅎ';
+    }
+
+    /* 불변 trie + 항목 배열 */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Builder().build();
+
+        final Long[] ids;
+        final String[] labels;
+        final double[] scores;
+        final int[] counts; // 레시피 - 좋아요 수, 재료 - 레시피 수
+        final double[] ratings;
+        final Node root;
+
+        private Snapshot(Builder builder) {
+            int size = builder.labels.size();
+            this.ids = builder.ids.toArray(new Long[0]);
+            this.labels = builder.labels.toArray(new String[0]);
+            this.scores = new double[size];
+            this.counts = new int[size];
+            this.ratings = new double[size];
+            for (int i = 0; i < size; i++) {
+                scores[i] = builder.scores.get(i);
+                counts[i] = builder.counts.get(i);
+                ratings[i] = builder.ratings.get(i);
+            }
+
+            this.root = new Node();
+            for (int entry = 0; entry < size; entry++) {
+                String label = labels[entry];
+                // 전체 이름 + 단어 시작 위치마다 (공백 제거 후)
+                String whole = compact(label);
+                insert(whole, entry);
+                String[] words = label.trim().split("\\s+");
+                for (int w = 1; w < words.length; w++) {
+                    insert(compact(String.join("", Arrays.copyOfRange(words, w, words.length))), entry);
+                }
+            }
+        }
+
+        int size() {
+            return labels.length;
+        }
+
+        private void insert(String key, int entry) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.child(key.charAt(i), true);
+                node.offer(entry, scores);
+            }
+        }
+
+        // 입력 한 글자씩 내려가기 - 초성이면 초성이 같은 자식 모두, 아니면 같은 글자 자식
+        int[] find(String key, int size) {
+            List<Node> frontier = List.of(root);
+            for (int i = 0; i < key.length() && !frontier.isEmpty(); i++) {
+                char c = key.charAt(i);
+                List<Node> next = new ArrayList<>();
+                for (Node node : frontier) {
+                    if (isChosung(c)) {
+                        node.forEachChild((label, child) -> {
+                            if (label == c || chosungOf(label) == c) {
+                                next.add(child);
+                            }
+                        });
+                    } else {
+                        Node child = node.child(c, false);
+                        if (child != null) {
+                            next.add(child);
+                        }
+                    }
+                }
+                frontier = next;
+            }
+
+            // 도달한 노드들의 상위 목록을 합쳐 인기순 상위 size 개
+            LinkedHashSet<Integer> merged = new LinkedHashSet<>();
+            for (Node node : frontier) {
+                for (int j = 0; j < node.topSize; j++) {
+                    merged.add(node.top[j]);
+                }
+            }
+            return merged.stream()
+                    .sorted((a, b) -> scores[a] != scores[b] ? Double.compare(scores[b], scores[a]) : labels[a].compareTo(labels[b]))
+                    .limit(size)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        static final class Builder {
+            final List<Long> ids = new ArrayList<>();
+            final List<String> labels = new ArrayList<>();
+            final List<Double> scores = new ArrayList<>();
+            final List<Integer> counts = new ArrayList<>();
+            final List<Double> ratings = new ArrayList<>();
+
+            void add(Long id, String label, double score, int count, double rating) {
+                if (label == null || label.isBlank()) {
+                    return;
+                }
+                ids.add(id);
+                labels.add(label.trim());
+                scores.add(score);
+                counts.add(count);
+                ratings.add(rating);
+            }
+
+            Snapshot build() {
+                return new Snapshot(this);
+            }
+        }
+    }
+
+    /* trie 노드 - 자식은 글자 순 정렬 배열, 인기순 상위 TOP_K 항목 */
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        final int[] top = new int[TOP_K];
+        int topSize;
+
+        Node child(char c, boolean create) {
+            int index = Arrays.binarySearch(labels, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            if (!create) {
+                return null;
+            }
+            int insertAt = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = c;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        void forEachChild(ChildConsumer consumer) {
+            for (int i = 0; i < labels.length; i++) {
+                consumer.accept(labels[i], children[i]);
+            }
+        }
+
+        // 점수 내림차순 정렬 유지하며 상위 TOP_K 개만 보관 (같은 항목은 한 번만)
+        void offer(int entry, double[] scores) {
+            for (int i = 0; i < topSize; i++) {
+                if (top[i] == entry) {
+                    return;
+                }
+            }
+            int position = topSize;
+            while (position > 0 && scores[top[position - 1]] < scores[entry]) {
+                position--;
+            }
+            if (position >= TOP_K) {
+                return;
+            }
+            int last = Math.min(topSize, TOP_K - 1);
+            System.arraycopy(top, position, top, position + 1, last - position);
+            top[position] = entry;
+            topSize = Math.min(topSize + 1, TOP_K);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChildConsumer {
+        void accept(char label, Node child);
+    }
+}
@@ -0,0 +1,518 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.model.DTO.CfModelStatsRes;
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * 리뷰 평점 기반 협업 필터링 (item-item, 메모리 모델)
+ * reviews 를 사용자 x 레시피 희소 평점 행렬로 읽어 CSR(행 시작 위치 + 열 번호 + 값) 기본형 배열에 담고,
+ * 레시피 쌍의 코사인 유사도를 레시피마다 병렬로 계산해 레시피별 상위 NEIGHBORS 개 이웃만 남긴다.
+ * 추천 점수 = 사용자가 평가한 레시피들의 이웃 유사도 x 평점 합 / (유사도 합 + SHRINKAGE), 이미 평가한 레시피는 제외
+ * 유사도 합이 작은(근거가 적은) 레시피가 높은 평점 하나로 앞에 오지 않도록 분모에 SHRINKAGE 를 더한다.
+ * 모델은 서버 시작 / json 저장 완료 / 주기적으로(기본 10분) 새로 만들어 바꿔 끼운다.
+ * 레시피 이웃(유사도)은 다음 모델 생성 때까지 그대로지만, 리뷰를 바꾼 사용자의 평점 행은 커밋 직후 그 사용자 것만 다시 읽어
+ * 모델 대신 쓰므로 방금 평가한 레시피는 바로 추천에서 빠지고 새 평점이 점수에 반영된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CollaborativeFilteringService {
+
+    public static final int RECOMMEND_SIZE = 10;
+    private static final int NEIGHBORS = 50;
+    private static final float SHRINKAGE = 1f;
+
+    private final RecipeBatchRepository recipeBatchRepository;
+
+    private final AtomicLong versions = new AtomicLong();
+    private volatile Model model = Model.EMPTY;
+
+    // 모델 생성 이후 리뷰를 바꾼 사용자의 평점 행 - 다음 모델이 이 행보다 늦게 평점을 읽으면 정리
+    private final Map<Long, UserRatings> userRatings = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onRecipeDataChanged(RecipeDataChangedEvent event) {
+        try {
+            rebuild();
+        } catch (RuntimeException exception) {
+            log.error("협업 필터링 모델 생성 실패 ({}) - {}", event.getReason(), exception.getMessage());
+        }
+    }
+
+    /* 리뷰 작성 / 수정 / 삭제 커밋 후 - 그 사용자의 평점 행만 다시 읽음 */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeActivity(RecipeActivityEvent event) {
+        switch (event.getType()) {
+            case RecipeActivityEvent.REVIEW_POSTED, RecipeActivityEvent.REVIEW_UPDATED, RecipeActivityEvent.REVIEW_DELETED -> {
+                try {
+                    refreshUser(event.getUserId());
+                } catch (RuntimeException exception) {
+                    log.error("협업 필터링 사용자 평점 갱신 실패 (userId {})", event.getUserId(), exception);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    // 리뷰가 계속 쌓이므로 주기적으로 모델 갱신
+    @Scheduled(fixedDelayString = "${recipe.cf.refresh-ms:600000}", initialDelayString = "${recipe.cf.refresh-ms:600000}")
+    public void refresh() {
+        onRecipeDataChanged(new RecipeDataChangedEvent("scheduled refresh"));
+    }
+
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        long readAt = System.currentTimeMillis(); // 이 시각 이전에 커밋된 평점은 모델에 포함
+
+        // 사용자 순으로 읽어 사용자 행(CSR)을 바로 채움 - 레시피 번호는 다 읽은 뒤 rcp_id 순으로 매김
+        LongArray userIds = new LongArray();
+        IntArray rowStarts = new IntArray();
+        LongArray columnRcpIds = new LongArray();
+        FloatArray ratings = new FloatArray();
+        recipeBatchRepository.forEachReviewRating((RowCallbackHandler) rs -> {
+            long userId = rs.getLong(1);
+            long rcpId = rs.getLong(2);
+            float rating = rs.getFloat(3);
+            if (userIds.size == 0 || userIds.last() != userId) {
+                userIds.add(userId);
+                rowStarts.add(ratings.size);
+            } else if (columnRcpIds.last() == rcpId) {
+                ratings.values[ratings.size - 1] = rating; // 같은 레시피 리뷰가 여러 개면 마지막 평점
+                return;
+            }
+            columnRcpIds.add(rcpId);
+            ratings.add(rating);
+        });
+        rowStarts.add(ratings.size);
+
+        Model built = new Model(versions.incrementAndGet(), readAt, userIds.toArray(), rowStarts.toArray(),
+                columnRcpIds.toArray(), ratings.toArray());
+        built.buildMs = (System.nanoTime() - start) / 1_000_000;
+        this.model = built;
+        userRatings.values().removeIf(row -> row.loadedAt < readAt);
+        log.info("협업 필터링 모델 생성 - 사용자 {}, 레시피 {}, 평점 {}, 이웃 {} ({} ms)",
+                built.userIds.length, built.rcpIds.length, built.values.length, built.neighborIndexes.length, built.buildMs);
+    }
+
+    /* 사용자의 평점 행을 DB 에서 다시 읽어 모델 대신 사용 */
+    public void refreshUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long loadedAt = System.currentTimeMillis();
+        LongArray rcpIds = new LongArray();
+        FloatArray ratings = new FloatArray();
+        recipeBatchRepository.forEachReviewRating(userId, (RowCallbackHandler) rs -> {
+            long rcpId = rs.getLong(1);
+            float rating = rs.getFloat(2);
+            if (rcpIds.size > 0 && rcpIds.last() == rcpId) {
+                ratings.values[ratings.size - 1] = rating; // 같은 레시피 리뷰가 여러 개면 마지막 평점
+                return;
+            }
+            rcpIds.add(rcpId);
+            ratings.add(rating);
+        });
+        UserRatings row = new UserRatings(rcpIds.toArray(), ratings.toArray(), loadedAt);
+        // 동시에 읽은 경우 나중에 읽은 행, 이미 더 늦게 평점을 읽은 모델이 있으면 모델을 그대로 사용
+        userRatings.compute(userId, (key, old) -> loadedAt < model.builtAt || (old != null && old.loadedAt > loadedAt) ? old : row);
+    }
+
+    /* 사용자의 평점을 읽은 시각 - 다시 읽은 평점 행이 있으면 그 시각, 없으면 모델이 평점을 읽은 시각 (바로 계산한 추천의 저장 기준) */
+    public long ratingsReadAt(Long userId) {
+        UserRatings row = userId == null ? null : userRatings.get(userId);
+        return row != null ? row.loadedAt : model.builtAt;
+    }
+
+    /* 사용자가 평가한 레시피 id - 추천 결과 / 대체 목록에서 제외용 */
+    public Set<Long> ratedRcpIds(Long userId) {
+        Set<Long> rated = new HashSet<>();
+        UserRatings row = userId == null ? null : userRatings.get(userId);
+        if (row != null) {
+            for (long rcpId : row.rcpIds) {
+                rated.add(rcpId);
+            }
+            return rated;
+        }
+        Model current = this.model;
+        int user = userId == null ? -1 : Arrays.binarySearch(current.userIds, userId);
+        if (user >= 0) {
+            for (int k = current.rowStarts[user]; k < current.rowStarts[user + 1]; k++) {
+                rated.add(current.rcpIds[current.columns[k]]);
+            }
+        }
+        return rated;
+    }
+
+    public List<Long> recommend(Long userId, int size) {
+        return recommend(userId, size, Collections.emptySet());
+    }
+
+    /**
+     * 사용자 맞춤 추천 - 점수 내림차순, 같으면 rcp_id 오름차순
+     * 최근에 보여 준 레시피는 빼지 않고 보여 주지 않은 레시피 뒤로 보낸다.
+     *
+     * @param recentlyShown 최근에 보여 준 rcp_id
+     * @return 추천 레시피 id (평점 기록이 없거나 이웃이 없으면 빈 목록)
+     */
+    public List<Long> recommend(Long userId, int size, Set<Long> recentlyShown) {
+        Model current = this.model;
+        Ratings ratings = ratingsOf(current, userId);
+        if (ratings == null || size < 1) {
+            return new ArrayList<>();
+        }
+
+        int items = current.rcpIds.length;
+        float[] numerators = new float[items];
+        float[] denominators = new float[items];
+        boolean[] rated = new boolean[items];
+        for (int item : ratings.items) {
+            rated[item] = true;
+        }
+        for (int k = 0; k < ratings.items.length; k++) {
+            int item = ratings.items[k];
+            float rating = ratings.values[k];
+            for (int n = current.neighborStarts[item]; n < current.neighborStarts[item + 1]; n++) {
+                int neighbor = current.neighborIndexes[n];
+                float similarity = current.neighborSimilarities[n];
+                numerators[neighbor] += similarity * rating;
+                denominators[neighbor] += similarity;
+            }
+        }
+
+        boolean[] shown = new boolean[items];
+        for (Long rcpId : recentlyShown) {
+            int item = Arrays.binarySearch(current.rcpIds, rcpId);
+            if (item >= 0) {
+                shown[item] = true;
+            }
+        }
+
+        List<Integer> candidates = new ArrayList<>();
+        float[] scores = new float[items];
+        for (int item = 0; item < items; item++) {
+            if (!rated[item] && denominators[item] > 0) {
+                scores[item] = numerators[item] / (denominators[item] + SHRINKAGE);
+                candidates.add(item);
+            }
+        }
+        // 레시피 번호가 rcp_id 순이므로 번호 순이 곧 rcp_id 순
+        candidates.sort((a, b) -> shown[a] != shown[b] ? Boolean.compare(shown[a], shown[b])
+                : scores[a] != scores[b] ? Float.compare(scores[b], scores[a]) : Integer.compare(a, b));
+
+        List<Long> rcpIds = new ArrayList<>(Math.min(size, candidates.size()));
+        for (int item : candidates.subList(0, Math.min(size, candidates.size()))) {
+            rcpIds.add(current.rcpIds[item]);
+        }
+        return rcpIds;
+    }
+
+    // 사용자 평점 (모델의 레시피 번호) - 모델 생성 후 리뷰를 바꿨으면 다시 읽은 행, 모델에 없는 레시피는 점수 계산에서 제외
+    private Ratings ratingsOf(Model current, Long userId) {
+        UserRatings row = userId == null ? null : userRatings.get(userId);
+        if (row != null) {
+            IntArray items = new IntArray();
+            FloatArray values = new FloatArray();
+            for (int k = 0; k < row.rcpIds.length; k++) {
+                int item = Arrays.binarySearch(current.rcpIds, row.rcpIds[k]);
+                if (item >= 0) {
+                    items.add(item);
+                    values.add(row.values[k]);
+                }
+            }
+            return new Ratings(items.toArray(), values.toArray());
+        }
+        int user = userId == null ? -1 : Arrays.binarySearch(current.userIds, userId);
+        if (user < 0) {
+            return null;
+        }
+        int from = current.rowStarts[user];
+        int to = current.rowStarts[user + 1];
+        return new Ratings(Arrays.copyOfRange(current.columns, from, to), Arrays.copyOfRange(current.values, from, to));
+    }
+
+    // 평점 기록이 있는 사용자 id (오름차순) - 추천 미리 계산용
+    public long[] userIds() {
+        return model.userIds.clone();
+    }
+
+    // 서버 시작 후 모델을 한 번이라도 만들었는지 (생성에 실패하면 이전 모델을 그대로 씀)
+    public boolean isReady() {
+        return model.version > 0;
+    }
+
+    public long version() {
+        return model.version;
+    }
+
+    /* 모델 크기 / 생성 시간 */
+    public CfModelStatsRes stats() {
+        Model current = this.model;
+        return new CfModelStatsRes(current.version, current.userIds.length, current.rcpIds.length, current.values.length,
+                current.neighborIndexes.length, current.bytes(), current.buildMs, current.builtAt);
+    }
+
+    /* 불변 모델 - 사용자 행(CSR), 레시피 열(CSC), 레시피별 이웃(CSR) */
+    private static final class Model {
+        static final Model EMPTY = new Model(0, 0, new long[0], new int[]{0}, new long[0], new float[0]);
+
+        final long version;
+        final long builtAt; // 평점을 읽기 시작한 시각 - 이후에 바뀐 평점은 반영되지 않음
+        long buildMs; // 생성 직후 한 번만 기록
+
+        final long[] userIds; // 사용자 번호 -> 사용자 id (오름차순, 이분 탐색)
+        final long[] rcpIds; // 레시피 번호 -> rcp_id (오름차순)
+
+        // 사용자 u 의 평점 - columns / values 의 [rowStarts[u], rowStarts[u + 1])
+        final int[] rowStarts;
+        final int[] columns;
+        final float[] values;
+
+        // 레시피 i 를 평가한 사용자 - users / itemValues 의 [itemStarts[i], itemStarts[i + 1])
+        final int[] itemStarts;
+        final int[] users;
+        final float[] itemValues;
+
+        // 레시피 i 의 이웃 (유사도 내림차순) - [neighborStarts[i], neighborStarts[i + 1])
+        final int[] neighborStarts;
+        final int[] neighborIndexes;
+        final float[] neighborSimilarities;
+
+        Model(long version, long builtAt, long[] userIds, int[] rowStarts, long[] columnRcpIds, float[] values) {
+            this.version = version;
+            this.builtAt = builtAt;
+            this.userIds = userIds;
+            this.rowStarts = rowStarts;
+            this.values = values;
+            this.rcpIds = Arrays.stream(columnRcpIds).sorted().distinct().toArray();
+
+            int nnz = values.length;
+            int items = rcpIds.length;
+            this.columns = new int[nnz];
+            for (int k = 0; k < nnz; k++) {
+                columns[k] = Arrays.binarySearch(rcpIds, columnRcpIds[k]);
+            }
+
+            // 전치 (사용자 행 -> 레시피 열) - 사용자 순으로 채우므로 열 안에서도 사용자 순
+            this.itemStarts = new int[items + 1];
+            for (int column : columns) {
+                itemStarts[column + 1]++;
+            }
+            for (int i = 0; i < items; i++) {
+                itemStarts[i + 1] += itemStarts[i];
+            }
+            this.users = new int[nnz];
+            this.itemValues = new float[nnz];
+            int[] cursor = Arrays.copyOf(itemStarts, items);
+            for (int user = 0; user < userIds.length; user++) {
+                for (int k = rowStarts[user]; k < rowStarts[user + 1]; k++) {
+                    int position = cursor[columns[k]]++;
+                    users[position] = user;
+                    itemValues[position] = values[k];
+                }
+            }
+
+            float[] norms = new float[items];
+            for (int i = 0; i < items; i++) {
+                double sum = 0;
+                for (int k = itemStarts[i]; k < itemStarts[i + 1]; k++) {
+                    sum += (double) itemValues[k] * itemValues[k];
+                }
+                norms[i] = (float) Math.sqrt(sum);
+            }
+
+            // 레시피마다 병렬로 이웃 계산 (스레드별 누적 배열 재사용)
+            int[][] neighborLists = new int[items][];
+            float[][] similarityLists = new float[items][];
+            ThreadLocal<Scratch> scratches = ThreadLocal.withInitial(() -> new Scratch(items));
+            IntStream.range(0, items).parallel().forEach(item -> {
+                Neighbors neighbors = neighborsOf(item, scratches.get(), norms);
+                neighborLists[item] = neighbors.indexes;
+                similarityLists[item] = neighbors.similarities;
+            });
+
+            this.neighborStarts = new int[items + 1];
+            for (int i = 0; i < items; i++) {
+                neighborStarts[i + 1] = neighborStarts[i] + neighborLists[i].length;
+            }
+            this.neighborIndexes = new int[neighborStarts[items]];
+            this.neighborSimilarities = new float[neighborStarts[items]];
+            for (int i = 0; i < items; i++) {
+                System.arraycopy(neighborLists[i], 0, neighborIndexes, neighborStarts[i], neighborLists[i].length);
+                System.arraycopy(similarityLists[i], 0, neighborSimilarities, neighborStarts[i], similarityLists[i].length);
+            }
+        }
+
+        // 레시피 item 과 같은 사용자가 평가한 레시피들의 코사인 유사도 -> 상위 NEIGHBORS 개
+        private Neighbors neighborsOf(int item, Scratch scratch, float[] norms) {
+            float[] dot = scratch.dot;
+            int[] seen = scratch.seen;
+            IntArray touched = new IntArray();
+            for (int k = itemStarts[item]; k < itemStarts[item + 1]; k++) {
+                int user = users[k];
+                float rating = itemValues[k];
+                for (int j = rowStarts[user]; j < rowStarts[user + 1]; j++) {
+                    int other = columns[j];
+                    if (other == item) {
+                        continue;
+                    }
+                    if (seen[other] != item + 1) {
+                        seen[other] = item + 1;
+                        dot[other] = 0;
+                        touched.add(other);
+                    }
+                    dot[other] += rating * values[j];
+                }
+            }
+
+            // 유사도 내림차순, 같으면 레시피 번호 순 (평점이 모두 0 이라 norm 이 0 이면 제외)
+            float[] similarities = new float[touched.size];
+            List<Integer> order = new ArrayList<>(touched.size);
+            for (int t = 0; t < touched.size; t++) {
+                int other = touched.values[t];
+                float norm = norms[item] * norms[other];
+                if (norm > 0 && dot[other] > 0) {
+                    similarities[t] = dot[other] / norm;
+                    order.add(t);
+                }
+            }
+            order.sort((a, b) -> similarities[a] != similarities[b]
+                    ? Float.compare(similarities[b], similarities[a])
+                    : Integer.compare(touched.values[a], touched.values[b]));
+
+            int count = Math.min(NEIGHBORS, order.size());
+            int[] top = new int[count];
+            float[] topSimilarities = new float[count];
+            for (int n = 0; n < count; n++) {
+                top[n] = touched.values[order.get(n)];
+                topSimilarities[n] = similarities[order.get(n)];
+            }
+            return new Neighbors(top, topSimilarities);
+        }
+
+        // 배열 크기 합 (근사값)
+        long bytes() {
+            return (long) (userIds.length + rcpIds.length) * Long.BYTES
+                    + (long) (rowStarts.length + columns.length + itemStarts.length + users.length
+                    + neighborStarts.length + neighborIndexes.length) * Integer.BYTES
+                    + (long) (values.length + itemValues.length + neighborSimilarities.length) * Float.BYTES;
+        }
+    }
+
+    /* DB 에서 다시 읽은 사용자 평점 (rcp_id 오름차순) */
+    private static final class UserRatings {
+        final long[] rcpIds;
+        final float[] values;
+        final long loadedAt; // 읽기 시작한 시각
+
+        UserRatings(long[] rcpIds, float[] values, long loadedAt) {
+            this.rcpIds = rcpIds;
+            this.values = values;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /* 추천 계산용 사용자 평점 - 모델의 레시피 번호 */
+    private static final class Ratings {
+        final int[] items;
+        final float[] values;
+
+        Ratings(int[] items, float[] values) {
+            this.items = items;
+            this.values = values;
+        }
+    }
+
+    /* 스레드별 유사도 누적 배열 - seen[j] == item + 1 이면 이번 레시피에서 dot[j] 사용 중 */
+    private static final class Scratch {
+        final float[] dot;
+        final int[] seen;
+
+        Scratch(int items) {
+            this.dot = new float[items];
+            this.seen = new int[items];
+        }
+    }
+
+    private static final class Neighbors {
+        final int[] indexes;
+        final float[] similarities;
+
+        Neighbors(int[] indexes, float[] similarities) {
+            this.indexes = indexes;
+            this.similarities = similarities;
+        }
+    }
+
+    /* 모델 생성용 기본형 목록 (박싱 없이) */
+    private static final class IntArray {
+        int[] values = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class LongArray {
+        long[] values = new long[16];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long last() {
+            return values[size - 1];
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class FloatArray {
+        float[] values = new float[16];
+        int size;
+
+        void add(float value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        float[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
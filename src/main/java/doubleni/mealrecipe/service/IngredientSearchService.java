@@ -0,0 +1,382 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.config.exception.BaseException;
+import doubleni.mealrecipe.model.DTO.IngredientMatchRes;
+import doubleni.mealrecipe.model.DTO.IngredientSearchRes;
+import doubleni.mealrecipe.model.RecipeSummary;
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import doubleni.mealrecipe.utils.IngredientParser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+import static doubleni.mealrecipe.config.exception.BaseResponseStatus.*;
+
+/**
+ * 재료 조합 검색 (메모리 색인)
+ * 재료명(base_name)마다 그 재료가 들어간 레시피 집합을 비트맵으로 들고 있다가
+ * "새우 AND 두부 NOT 우유" 같은 조건을 비트 연산으로 계산하고, 일치한 재료 수로 상위 k 개를 고른다.
+ * 레시피 id 는 0 부터 시작하는 번호로 바꿔서 쓰고, 레시피가 적은 재료는 정렬된 int 배열,
+ * 많은 재료는 BitSet 으로 저장해 메모리를 줄인다.
+ * 색인은 불변 객체로 만들어 한 번에 바꿔 끼우므로 조회 중에 잠금이 없다.
+ * 선호 / 알러지 재료 추천(recommend)도 같은 색인을 쓴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IngredientSearchService {
+
+    public static final int MAX_SIZE = 100;
+    public static final int MAX_TERMS = 10;
+    public static final int RECOMMEND_SIZE = 10;
+
+    private final RecipeBatchRepository recipeBatchRepository;
+    private final RecipeCatalog recipeCatalog;
+
+    private volatile Index index = Index.EMPTY;
+
+    // int[]{doc, matchCount} - 일치 수 많은 순, 같으면 doc(= 레시피 id) 작은 순
+    private static final Comparator<int[]> RANK = Comparator.<int[]>comparingInt(entry -> -entry[1])
+            .thenComparingInt(entry -> entry[0]);
+
+    /* 레시피 데이터가 바뀌면 색인을 새로 만들어 교체 */
+    @EventListener
+    public void onRecipeDataChanged(RecipeDataChangedEvent event) {
+        try {
+            rebuild();
+        } catch (RuntimeException exception) {
+            log.error("재료 색인 생성 실패 ({}) - {}", event.getReason(), exception.getMessage());
+        }
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+
+        // rcp_id 순으로 읽으므로 같은 레시피의 재료는 연속해서 들어옴
+        List<Long> rcpIds = new ArrayList<>();
+        IntList lengths = new IntList(); // 레시피별 서로 다른 재료 수
+        Map<String, IntList> docs = new HashMap<>();
+        recipeBatchRepository.forEachIngredient((rcpId, baseName) -> {
+            if (rcpIds.isEmpty() || rcpIds.get(rcpIds.size() - 1).longValue() != rcpId) {
+                rcpIds.add(rcpId);
+                lengths.add(0);
+            }
+            int doc = rcpIds.size() - 1;
+            if (docs.computeIfAbsent(baseName, key -> new IntList()).addUnique(doc)) {
+                lengths.increment(doc);
+            }
+        });
+
+        int universe = rcpIds.size();
+        Map<String, Posting> postings = new HashMap<>(docs.size() * 2);
+        docs.forEach((baseName, list) -> postings.put(baseName, Posting.of(list.toArray(), universe)));
+
+        this.index = new Index(rcpIds.stream().mapToLong(Long::longValue).toArray(), lengths.toArray(), postings);
+        log.info("재료 색인 생성 - 레시피 {}, 재료 {} ({} ms)", universe, postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 재료 조합 검색
+     *
+     * @param all  모두 들어가야 하는 재료 (AND)
+     * @param any  하나 이상 들어가야 하는 재료 (OR) - all 이 있으면 순위 계산에만 사용
+     * @param none 들어가면 안 되는 재료 (NOT)
+     * @param size 상위 몇 개
+     */
+    public IngredientSearchRes search(List<String> all, List<String> any, List<String> none, int size) throws BaseException {
+        List<String> allTerms = normalize(all);
+        List<String> anyTerms = normalize(any).stream().filter(term -> !allTerms.contains(term)).toList();
+        List<String> noneTerms = normalize(none);
+        if ((allTerms.isEmpty() && anyTerms.isEmpty()) || size < 1 || size > MAX_SIZE
+                || allTerms.size() + anyTerms.size() + noneTerms.size() > MAX_TERMS) {
+            throw new BaseException(REQUEST_ERROR);
+        }
+
+        long start = System.nanoTime();
+        Index current = this.index;
+
+        // 검색어별 레시피 집합 - "새우" 는 새우, 칵테일새우, 새우젓 ... 을 합친 집합
+        List<String> positiveTerms = new ArrayList<>(allTerms);
+        positiveTerms.addAll(anyTerms);
+        List<BitSet> positive = positiveTerms.stream().map(current::resolve).toList();
+
+        BitSet candidates;
+        if (!allTerms.isEmpty()) {
+            candidates = (BitSet) positive.get(0).clone();
+            for (int i = 1; i < allTerms.size(); i++) {
+                candidates.and(positive.get(i));
+            }
+        } else {
+            candidates = new BitSet(current.size());
+            positive.forEach(candidates::or);
+        }
+        for (String term : noneTerms) {
+            candidates.andNot(current.resolve(term));
+        }
+
+        // 일치한 재료 수 내림차순, 같으면 레시피 id 오름차순으로 상위 size 개
+        PriorityQueue<int[]> top = new PriorityQueue<>(size + 1, RANK.reversed());
+        for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+            int matchCount = 0;
+            for (BitSet bits : positive) {
+                if (bits.get(doc)) {
+                    matchCount++;
+                }
+            }
+            top.offer(new int[]{doc, matchCount});
+            if (top.size() > size) {
+                top.poll();
+            }
+        }
+        List<int[]> ranked = new ArrayList<>(top);
+        ranked.sort(RANK);
+
+        List<IngredientMatchRes> results = toResults(ranked, current, positiveTerms, positive);
+        long tookMs = (System.nanoTime() - start) / 1_000_000;
+        return new IngredientSearchRes(candidates.cardinality(), tookMs, results);
+    }
+
+    /* 재료명이 포함된 레시피 id (rcpId 오름차순) - "마늘" 은 마늘, 다진마늘, 마늘종 ... */
+    public List<Long> findRcpIds(String keyword) {
+        Index current = this.index;
+        BitSet bits = current.resolve(IngredientParser.baseName(keyword));
+        List<Long> rcpIds = new ArrayList<>(bits.cardinality());
+        for (int doc = bits.nextSetBit(0); doc >= 0; doc = bits.nextSetBit(doc + 1)) {
+            rcpIds.add(current.rcpIds[doc]);
+        }
+        return rcpIds;
+    }
+
+    /**
+     * 선호 / 알러지 재료 기반 추천 - 추천 api(FlaskDTO)와 같은 입력
+     * 점수 = 일치한 선호 재료의 idf 합 / sqrt(레시피 재료 수) - 흔하지 않은 선호 재료, 재료가 적은(선호 재료 비중이 큰) 레시피가 앞
+     * 알러지 재료가 하나라도 들어간 레시피는 알러지 재료 집합을 합친 비트맵으로 한 번에 제외하고,
+     * 결과는 재료 정보 원문으로 한 번 더 확인한다.
+     *
+     * @return 점수 내림차순(같으면 레시피 id 오름차순) 레시피 최대 size 개
+     */
+    public List<RecipeSummary> recommend(List<String> likes, List<String> allergies, int size) {
+        List<String> likeTerms = normalize(likes);
+        List<String> allergyTerms = normalize(allergies);
+        if (likeTerms.isEmpty() || size < 1) {
+            return Collections.emptyList();
+        }
+
+        Index current = this.index;
+        BitSet excluded = new BitSet(current.size());
+        for (String term : allergyTerms) {
+            excluded.or(current.resolve(term));
+        }
+
+        float[] scores = new float[current.size()];
+        for (String term : likeTerms) {
+            BitSet bits = current.resolve(term);
+            int df = bits.cardinality();
+            if (df == 0) {
+                continue;
+            }
+            float idf = (float) Math.log(1 + (double) current.size() / df);
+            bits.andNot(excluded);
+            for (int doc = bits.nextSetBit(0); doc >= 0; doc = bits.nextSetBit(doc + 1)) {
+                scores[doc] += idf;
+            }
+        }
+
+        // 원문 확인에서 빠질 수 있으므로 여유 있게 뽑아 둠
+        int limit = size * 2;
+        Comparator<Integer> rank = Comparator.<Integer>comparingDouble(doc -> -scores[doc] / Math.sqrt(Math.max(1, current.lengths[doc])))
+                .thenComparingInt(doc -> doc);
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, rank.reversed());
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] > 0) {
+                top.offer(doc);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        List<Integer> ranked = new ArrayList<>(top);
+        ranked.sort(rank);
+
+        RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+        List<RecipeSummary> recipes = new ArrayList<>(size);
+        for (int doc : ranked) {
+            RecipeSummary recipe = catalog.get(current.rcpIds[doc]);
+            if (recipe == null || (allergies != null && recipe.containsAnyIngredient(allergies))) {
+                continue;
+            }
+            recipes.add(recipe);
+            if (recipes.size() == size) {
+                break;
+            }
+        }
+        return recipes;
+    }
+
+    private List<IngredientMatchRes> toResults(List<int[]> ranked, Index current, List<String> terms, List<BitSet> positive) {
+        if (ranked.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // 결과 레시피 정보는 카탈로그 스냅샷에서 (DB 조회 없음)
+        RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+        List<IngredientMatchRes> results = new ArrayList<>(ranked.size());
+        for (int[] entry : ranked) {
+            RecipeSummary recipe = catalog.get(current.rcpIds[entry[0]]);
+            if (recipe == null) {
+                continue; // 색인 생성 이후 삭제된 레시피
+            }
+            List<String> matched = new ArrayList<>();
+            for (int i = 0; i < terms.size(); i++) {
+                if (positive.get(i).get(entry[0])) {
+                    matched.add(terms.get(i));
+                }
+            }
+            results.add(new IngredientMatchRes(recipe, entry[1], matched));
+        }
+        return results;
+    }
+
+    // 검색어 정규화 ("다진 마늘" -> "마늘"), 빈 값과 중복 제거
+    private static List<String> normalize(List<String> terms) {
+        if (terms == null) {
+            return Collections.emptyList();
+        }
+        return terms.stream()
+                .filter(term -> term != null && !term.isBlank())
+                .map(IngredientParser::baseName)
+                .distinct()
+                .toList();
+    }
+
+    /* 불변 색인 - dense 번호 -> rcp_id, 재료명 -> 레시피 집합, 글자 조각 -> 재료명 */
+    private static final class Index {
+        static final Index EMPTY = new Index(new long[0], new int[0], Collections.emptyMap());
+
+        final long[] rcpIds;
+        final int[] lengths; // 레시피별 서로 다른 재료 수
+        final Map<String, Posting> postings;
+        final String[] vocabulary; // 재료명 번호 -> 재료명 (가나다순)
+        final Posting[] vocabularyPostings; // 재료명 번호 -> 레시피 집합
+        final Map<String, int[]> grams; // 한 글자 / 두 글자 조각 -> 그 조각이 들어간 재료명 번호 (오름차순)
+
+        Index(long[] rcpIds, int[] lengths, Map<String, Posting> postings) {
+            this.rcpIds = rcpIds;
+            this.lengths = lengths;
+            this.postings = postings;
+            this.vocabulary = postings.keySet().stream().sorted().toArray(String[]::new);
+            this.vocabularyPostings = new Posting[vocabulary.length];
+
+            // 재료명 번호 순으로 넣으므로 목록은 오름차순, 같은 재료명의 중복 조각은 한 번만
+            Map<String, IntList> lists = new HashMap<>();
+            for (int word = 0; word < vocabulary.length; word++) {
+                String baseName = vocabulary[word];
+                vocabularyPostings[word] = postings.get(baseName);
+                for (int i = 0; i < baseName.length(); i++) {
+                    lists.computeIfAbsent(baseName.substring(i, i + 1), key -> new IntList()).addUnique(word);
+                    if (i + 1 < baseName.length()) {
+                        lists.computeIfAbsent(baseName.substring(i, i + 2), key -> new IntList()).addUnique(word);
+                    }
+                }
+            }
+            Map<String, int[]> built = new HashMap<>(lists.size() * 2);
+            lists.forEach((gram, list) -> built.put(gram, list.toArray()));
+            this.grams = built;
+        }
+
+        int size() {
+            return rcpIds.length;
+        }
+
+        // 검색어가 포함된 모든 재료명의 레시피 집합을 합침
+        // 검색어의 두 글자 조각 중 재료명이 가장 적은 조각의 후보만 확인 (한 글자면 후보가 곧 결과)
+        BitSet resolve(String term) {
+            BitSet bits = new BitSet(rcpIds.length);
+            if (term.isEmpty()) {
+                postings.values().forEach(posting -> posting.orInto(bits));
+                return bits;
+            }
+            int[] candidates = grams.get(term.substring(0, Math.min(2, term.length())));
+            for (int i = 1; candidates != null && i + 1 < term.length(); i++) {
+                int[] other = grams.get(term.substring(i, i + 2));
+                if (other == null || other.length < candidates.length) {
+                    candidates = other;
+                }
+            }
+            if (candidates == null) {
+                return bits; // 어느 재료명에도 없는 조각
+            }
+            for (int word : candidates) {
+                if (term.length() <= 2 || vocabulary[word].contains(term)) {
+                    vocabularyPostings[word].orInto(bits);
+                }
+            }
+            return bits;
+        }
+    }
+
+    /* 재료 하나의 레시피 집합 - 레시피가 적으면 정렬된 배열, 많으면 BitSet */
+    private static final class Posting {
+        private final int[] docs;
+        private final BitSet bits;
+
+        private Posting(int[] docs, BitSet bits) {
+            this.docs = docs;
+            this.bits = bits;
+        }
+
+        // 배열(4 byte * 개수)이 BitSet(전체 / 8 byte)보다 커지면 BitSet 사용
+        static Posting of(int[] docs, int universe) {
+            if ((long) docs.length * 32 <= universe) {
+                return new Posting(docs, null);
+            }
+            BitSet bits = new BitSet(universe);
+            for (int doc : docs) {
+                bits.set(doc);
+            }
+            return new Posting(null, bits);
+        }
+
+        void orInto(BitSet target) {
+            if (bits != null) {
+                target.or(bits);
+            } else {
+                for (int doc : docs) {
+                    target.set(doc);
+                }
+            }
+        }
+    }
+
+    /* 색인 생성용 int 목록 (박싱 없이) */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        // 같은 레시피에 같은 재료가 여러 번 나오는 경우(고명 등) 한 번만 추가 - 추가했으면 true
+        boolean addUnique(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return false;
+            }
+            add(value);
+            return true;
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void increment(int index) {
+            values[index]++;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import doubleni.mealrecipe.model.DTO.BoardLikeRes;
 import doubleni.mealrecipe.model.DTO.RecipeLikeRes;
 import doubleni.mealrecipe.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +26,7 @@ public class LikeService {
     private final RecipeLikeRepository recipeLikeRepository;
     private final BoardRepository boardRepository;
     private final BoardLikeRepository boardLikeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<BoardLikeRes> getAllBoardLike() throws BaseException {
         try {
@@ -226,12 +228,13 @@ public class LikeService {
 
                 RecipeLike checkRecipeLike = recipeLikeRepository.findRecipeLikeByUserAndRecipe_RcpId(user, rcpId);
                 if (checkRecipeLike == null) {
-                    recipe.likeChange(recipe.getLikeCnt() + 1);
+                    recipeRepository.applyLikeChange(rcpId, 1);
                     RecipeLike recipeLike = recipeLikeRepository.save(RecipeLike.builder()
                             .user(user)
                             .recipe(recipe)
                             .checkLike(1L)
                             .build());
+                    eventPublisher.publishEvent(new RecipeActivityEvent(rcpId, idx, RecipeActivityEvent.LIKED));
 
                     return new RecipeLikeRes(recipeLike);
                 } else {
@@ -269,8 +272,9 @@ public class LikeService {
                 Recipe recipe = optRecipe.get();
                 RecipeLike checkRecipeLike = recipeLikeRepository.findRecipeLikeByUserAndRecipe_RcpId(user, rcpId);
                 if (checkRecipeLike != null) {
-                    recipe.likeChange(recipe.getLikeCnt() - 1);
+                    recipeRepository.applyLikeChange(rcpId, -1);
                     recipeLikeRepository.deleteByUserIdAndRecipe_RcpId(idx, rcpId);
+                    eventPublisher.publishEvent(new RecipeActivityEvent(rcpId, idx, RecipeActivityEvent.UNLIKED));
                 } else {
                     throw new BaseException(LIKE_NOT_EXISTS);
                 }
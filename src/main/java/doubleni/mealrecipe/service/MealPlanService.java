@@ -0,0 +1,344 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.config.exception.BaseException;
+import doubleni.mealrecipe.model.DTO.GetRecipeOrderRes;
+import doubleni.mealrecipe.model.DTO.MealPlanItemRes;
+import doubleni.mealrecipe.model.DTO.MealPlanReq;
+import doubleni.mealrecipe.model.DTO.MealPlanRes;
+import doubleni.mealrecipe.model.RecipeSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+import static doubleni.mealrecipe.config.exception.BaseResponseStatus.*;
+
+/**
+ * 하루 식단 추천 (분기 한정 탐색)
+ * 아침, 점심, 저녁마다 주식(밥, 일품) 1개 + 곁들임(국&찌개, 반찬) 1개를 카탈로그 스냅샷에서 골라
+ * 하루 합계 영양 정보 조건을 만족하면서 점수 합이 가장 큰 조합을 찾는다.
+ * 레시피 점수 = 평균 평점 + log(1 + 좋아요 수) + 선호 재료가 들어 있으면 LIKE_BONUS, 알러지 재료가 들어간 레시피는 후보에서 뺀다.
+ *
+ * 주식 3개, 곁들임 3개는 각각 점수 내림차순 후보에서 번호가 커지는 순서로만 고른다. (같은 조합을 순서만 바꿔 다시 보지 않음)
+ * 남은 칸에서 얻을 수 있는 최대 점수와 영양소별 최소/최대 합으로 가지를 잘라내고,
+ * 첫 번째 주식 후보 구간을 fork/join 으로 나눠 여러 코어에서 동시에 탐색한다.
+ * 제한 시간이 지나면 그때까지 찾은 가장 좋은 식단을 반환한다. (optimal = false)
+ */
+@Slf4j
+@Service
+public class MealPlanService {
+
+    private static final String[] MEALS = {"아침", "점심", "저녁"};
+    private static final String MAIN = "주식";
+    private static final String SIDE = "곁들임";
+    private static final Set<String> MAIN_CATEGORIES = Set.of("밥", "일품");
+    private static final Set<String> SIDE_CATEGORIES = Set.of("국&찌개", "반찬");
+
+    private static final int PER_POOL = MEALS.length; // 주식, 곁들임 각각 고를 개수
+    private static final int SLOTS = PER_POOL * 2; // 주식 3칸 다음 곁들임 3칸
+    private static final int FIELDS = 5; // 열량, 탄수화물, 단백질, 지방, 나트륨
+
+    private static final double LIKE_BONUS = 1.0;
+    private static final int CHECK_INTERVAL = 1024; // 노드 몇 개마다 제한 시간 확인
+    private static final int SPLIT_THRESHOLD = 4; // 첫 칸 후보 구간이 이보다 길면 둘로 나눠 fork
+    private static final double EPSILON = 1e-9;
+
+    private final RecipeCatalog recipeCatalog;
+    private final long timeBudgetNanos;
+    private final ForkJoinPool forkJoinPool;
+
+    public MealPlanService(RecipeCatalog recipeCatalog,
+                           @Value("${recipe.meal-plan.time-budget-ms:500}") long timeBudgetMs) {
+        this.recipeCatalog = recipeCatalog;
+        this.timeBudgetNanos = timeBudgetMs * 1_000_000;
+        this.forkJoinPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        forkJoinPool.shutdownNow();
+    }
+
+    /* 하루 식단 - 조건을 만족하는 식단이 없으면 MEAL_PLAN_NOT_FOUND */
+    public MealPlanRes plan(MealPlanReq req) throws BaseException {
+        if (!req.isValidRange()) {
+            throw new BaseException(REQUEST_ERROR);
+        }
+        RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+        if (!catalog.isLoaded()) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+        long start = System.nanoTime();
+
+        List<String> likes = req.getUser_likes() == null ? List.of() : req.getUser_likes();
+        List<String> allergies = req.getUser_allergies() == null ? List.of() : req.getUser_allergies();
+
+        // 후보 - 영양 정보 5개가 모두 있고 알러지 재료가 없는 레시피
+        List<RecipeSummary> mains = new ArrayList<>();
+        List<RecipeSummary> sides = new ArrayList<>();
+        for (RecipeSummary recipe : catalog.getRecipes()) {
+            if (nutritionOf(recipe) == null || recipe.containsAnyIngredient(allergies)) {
+                continue;
+            }
+            if (MAIN_CATEGORIES.contains(recipe.getRcpPat2())) {
+                mains.add(recipe);
+            } else if (SIDE_CATEGORIES.contains(recipe.getRcpPat2())) {
+                sides.add(recipe);
+            }
+        }
+        if (mains.size() < PER_POOL || sides.size() < PER_POOL) {
+            throw new BaseException(MEAL_PLAN_NOT_FOUND);
+        }
+
+        double[] lo = {bound(req.getMinEng(), 0), bound(req.getMinCar(), 0), bound(req.getMinPro(), 0),
+                bound(req.getMinFat(), 0), bound(req.getMinNa(), 0)};
+        double[] hi = {bound(req.getMaxEng(), Double.POSITIVE_INFINITY), bound(req.getMaxCar(), Double.POSITIVE_INFINITY),
+                bound(req.getMaxPro(), Double.POSITIVE_INFINITY), bound(req.getMaxFat(), Double.POSITIVE_INFINITY),
+                bound(req.getMaxNa(), Double.POSITIVE_INFINITY)};
+
+        Search search = new Search(new Pool(mains, likes), new Pool(sides, likes), lo, hi, start + timeBudgetNanos);
+        forkJoinPool.invoke(search.new Branch(0, search.mains.size()));
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long explored = search.explored.sum();
+        int[] picks = search.bestPicks();
+        if (picks == null) {
+            log.info("식단 추천 실패 - 주식 후보 {}, 곁들임 후보 {}, 탐색 {} ({} ms, 제한 시간 초과 {})",
+                    mains.size(), sides.size(), explored, elapsedMs, search.timedOut);
+            throw new BaseException(MEAL_PLAN_NOT_FOUND);
+        }
+        return toResponse(search, picks, explored, elapsedMs);
+    }
+
+    // 끼니 배정 - 조합이 정해지면 열량이 낮은 주식, 곁들임부터 아침에
+    private MealPlanRes toResponse(Search search, int[] picks, long explored, long elapsedMs) {
+        Comparator<RecipeSummary> byEng = Comparator.comparingDouble(RecipeSummary::getInfoEngNum);
+        List<RecipeSummary> mains = new ArrayList<>();
+        List<RecipeSummary> sides = new ArrayList<>();
+        for (int slot = 0; slot < SLOTS; slot++) {
+            (slot < PER_POOL ? mains : sides).add(search.poolAt(slot).recipes[picks[slot]]);
+        }
+        mains.sort(byEng);
+        sides.sort(byEng);
+
+        List<MealPlanItemRes> items = new ArrayList<>();
+        double[] totals = new double[FIELDS];
+        for (int meal = 0; meal < PER_POOL; meal++) {
+            items.add(new MealPlanItemRes(MEALS[meal], MAIN, new GetRecipeOrderRes(mains.get(meal))));
+            items.add(new MealPlanItemRes(MEALS[meal], SIDE, new GetRecipeOrderRes(sides.get(meal))));
+            double[] main = nutritionOf(mains.get(meal));
+            double[] side = nutritionOf(sides.get(meal));
+            for (int f = 0; f < FIELDS; f++) {
+                totals[f] += main[f] + side[f];
+            }
+        }
+        return new MealPlanRes(items, round(totals[0]), round(totals[1]), round(totals[2]), round(totals[3]), round(totals[4]),
+                Math.round(search.bestScore * 1000) / 1000.0, !search.timedOut, explored, elapsedMs);
+    }
+
+    // 열량, 탄수화물, 단백질, 지방, 나트륨 - 하나라도 없으면 null
+    private static double[] nutritionOf(RecipeSummary recipe) {
+        Double[] values = {recipe.getInfoEngNum(), recipe.getInfoCarNum(), recipe.getInfoProNum(),
+                recipe.getInfoFatNum(), recipe.getInfoNaNum()};
+        double[] nutrition = new double[FIELDS];
+        for (int f = 0; f < FIELDS; f++) {
+            if (values[f] == null) {
+                return null;
+            }
+            nutrition[f] = values[f];
+        }
+        return nutrition;
+    }
+
+    private static double bound(Double value, double fallback) {
+        return value == null ? fallback : value;
+    }
+
+    private static Double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    /* 한 종류(주식 / 곁들임) 후보 - 점수 내림차순, 같으면 rcp_id 순 */
+    private static final class Pool {
+        final RecipeSummary[] recipes;
+        final double[] scores;
+        final double[] prefix; // prefix[i] = scores[0] + ... + scores[i - 1]
+        final double[][] nutrition; // [영양소][후보]
+        final double[][] minSums; // [영양소][k] = 가장 작은 k 개 값의 합 (k <= PER_POOL)
+        final double[][] maxSums; // [영양소][k] = 가장 큰 k 개 값의 합
+
+        Pool(List<RecipeSummary> candidates, List<String> likes) {
+            Map<RecipeSummary, Double> scoreOf = new HashMap<>();
+            for (RecipeSummary recipe : candidates) {
+                double score = recipe.getReviewAverge() + Math.log1p(recipe.getLikeCnt());
+                if (recipe.containsAnyIngredient(likes)) {
+                    score += LIKE_BONUS;
+                }
+                scoreOf.put(recipe, score);
+            }
+            this.recipes = candidates.stream()
+                    .sorted(Comparator.comparingDouble((RecipeSummary recipe) -> -scoreOf.get(recipe))
+                            .thenComparing(RecipeSummary::getRcpId))
+                    .toArray(RecipeSummary[]::new);
+
+            int size = recipes.length;
+            this.scores = new double[size];
+            this.prefix = new double[size + 1];
+            this.nutrition = new double[FIELDS][size];
+            for (int i = 0; i < size; i++) {
+                scores[i] = scoreOf.get(recipes[i]);
+                prefix[i + 1] = prefix[i] + scores[i];
+                double[] values = nutritionOf(recipes[i]);
+                for (int f = 0; f < FIELDS; f++) {
+                    nutrition[f][i] = values[f];
+                }
+            }
+
+            this.minSums = new double[FIELDS][PER_POOL + 1];
+            this.maxSums = new double[FIELDS][PER_POOL + 1];
+            for (int f = 0; f < FIELDS; f++) {
+                double[] sorted = nutrition[f].clone();
+                Arrays.sort(sorted);
+                for (int k = 1; k <= PER_POOL; k++) {
+                    minSums[f][k] = minSums[f][k - 1] + sorted[k - 1];
+                    maxSums[f][k] = maxSums[f][k - 1] + sorted[size - k];
+                }
+            }
+        }
+
+        int size() {
+            return recipes.length;
+        }
+    }
+
+    /* 탐색 한 번의 공유 상태 - 지금까지의 최선(incumbent), 제한 시간 */
+    private static final class Search {
+        final Pool mains;
+        final Pool sides;
+        final double[] lo;
+        final double[] hi;
+        final long deadline;
+        final LongAdder explored = new LongAdder();
+
+        volatile double bestScore = Double.NEGATIVE_INFINITY;
+        volatile boolean timedOut;
+        private int[] bestPicks; // this 로 보호
+
+        Search(Pool mains, Pool sides, double[] lo, double[] hi, long deadline) {
+            this.mains = mains;
+            this.sides = sides;
+            this.lo = lo;
+            this.hi = hi;
+            this.deadline = deadline;
+        }
+
+        Pool poolAt(int slot) {
+            return slot < PER_POOL ? mains : sides;
+        }
+
+        synchronized int[] bestPicks() {
+            return bestPicks;
+        }
+
+        synchronized void offer(double score, int[] picks) {
+            if (score > bestScore + EPSILON) {
+                bestScore = score;
+                bestPicks = picks.clone();
+            }
+        }
+
+        /**
+         * slot 칸에 from 번째부터 to 번째 전 후보까지 차례로 넣어 보고 다음 칸으로 내려감
+         * 후보는 점수 내림차순이므로 점수 상한이 최선 이하가 되면 그 뒤 후보는 보지 않는다.
+         */
+        void descend(int slot, int from, int to, Frame frame) {
+            Pool pool = poolAt(slot);
+            int remaining = (slot < PER_POOL ? PER_POOL : SLOTS) - slot; // 이 칸 포함 같은 종류에서 더 골라야 할 수
+            int last = Math.min(to, pool.size() - remaining + 1);
+            double base = frame.scores[slot];
+            double nextPoolBest = slot < PER_POOL ? sides.prefix[PER_POOL] : 0;
+
+            for (int i = from; i < last; i++) {
+                if (timedOut) {
+                    return;
+                }
+                if (++frame.nodes % CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                    timedOut = true;
+                    return;
+                }
+                double upper = base + pool.prefix[i + remaining] - pool.prefix[i] + nextPoolBest;
+                if (upper <= bestScore + EPSILON) {
+                    break;
+                }
+                if (!feasible(slot, pool, i, remaining - 1, frame)) {
+                    continue;
+                }
+                frame.picks[slot] = i;
+                double score = base + pool.scores[i];
+                if (slot + 1 == SLOTS) {
+                    offer(score, frame.picks);
+                    continue;
+                }
+                frame.scores[slot + 1] = score;
+                descend(slot + 1, slot + 1 == PER_POOL ? 0 : i + 1, Integer.MAX_VALUE, frame);
+            }
+        }
+
+        // 후보 i 를 넣은 합계에 남은 칸의 최소 / 최대 합을 더해도 조건 범위에 들어올 수 있는지
+        private boolean feasible(int slot, Pool pool, int i, int restInPool, Frame frame) {
+            double[] current = frame.sums[slot];
+            double[] next = frame.sums[slot + 1];
+            int restInSides = slot < PER_POOL ? PER_POOL : 0;
+            boolean feasible = true;
+            for (int f = 0; f < FIELDS; f++) {
+                double total = current[f] + pool.nutrition[f][i];
+                next[f] = total;
+                double lower = total + pool.minSums[f][restInPool] + sides.minSums[f][restInSides];
+                double upper = total + pool.maxSums[f][restInPool] + sides.maxSums[f][restInSides];
+                if (lower > hi[f] + EPSILON || upper < lo[f] - EPSILON) {
+                    feasible = false;
+                }
+            }
+            return feasible;
+        }
+
+        /* 첫 번째 주식 후보 구간 [from, to) 탐색 - 길면 반으로 나눠 fork */
+        final class Branch extends RecursiveAction {
+            private final int from;
+            private final int to;
+
+            Branch(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (timedOut || from >= to) {
+                    return;
+                }
+                if (to - from > SPLIT_THRESHOLD) {
+                    int mid = (from + to) >>> 1;
+                    invokeAll(new Branch(from, mid), new Branch(mid, to));
+                    return;
+                }
+                Frame frame = new Frame();
+                descend(0, from, to, frame);
+                explored.add(frame.nodes);
+            }
+        }
+    }
+
+    /* 작업(스레드)별 탐색 상태 - 칸마다 고른 후보, 누적 점수, 누적 영양소 */
+    private static final class Frame {
+        final int[] picks = new int[SLOTS];
+        final double[] scores = new double[SLOTS + 1];
+        final double[][] sums = new double[SLOTS + 1][FIELDS];
+        long nodes;
+    }
+}
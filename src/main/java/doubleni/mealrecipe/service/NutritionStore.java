@@ -0,0 +1,382 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 영양 정보 컬럼 저장소 (메모리, struct-of-arrays)
+ * 레시피 순번(rcp_id 순)마다 열량, 탄수화물, 단백질, 지방, 나트륨을 영양소별 float 배열에 나란히 담는다.
+ * 범위 검색과 목표 영양소 근접 검색은 배열을 앞에서부터 한 번씩 훑는 단순 반복문이라 JIT 가 SIMD 명령으로 바꿀 수 있다.
+ * 범위 검색은 정렬 영양소 조건을 정렬 순서의 이진 탐색으로 처리하고, 다른 영양소 조건의 통과 여부만
+ * 레시피 64 개를 long 하나에 담은 비트로 모아 (100만 개 = 125KB) 캐시 안에서 세고 찾는다.
+ * 값이 없는 칸은 NaN - 어떤 비교도 참이 아니므로 조건이 걸린 영양소 값이 없는 레시피는 따로 검사하지 않아도 빠진다.
+ * 영양 정보는 json 저장 때만 바뀌므로 서버 시작 / 저장 완료 시 전체를 다시 만들어 바꿔 끼운다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NutritionStore {
+
+    // 영양소 순서 - 배열 인덱스, 요청 파라미터 이름
+    public static final List<String> FIELDS = List.of("eng", "car", "pro", "fat", "na");
+
+    // 범위 검색 통과 여부 비트 - 요청마다 새로 만들지 않고 스레드별로 재사용
+    private static final ThreadLocal<long[]> MASKS = ThreadLocal.withInitial(() -> new long[0]);
+
+    private final RecipeBatchRepository recipeBatchRepository;
+
+    private volatile Columns columns = Columns.EMPTY;
+
+    @EventListener
+    public void onRecipeDataChanged(RecipeDataChangedEvent event) {
+        try {
+            rebuild();
+        } catch (RuntimeException exception) {
+            log.error("영양 정보 저장소 생성 실패 ({}) - {}", event.getReason(), exception.getMessage());
+        }
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+
+        Columns.Builder builder = new Columns.Builder();
+        recipeBatchRepository.forEachNutrition((RowCallbackHandler) rs -> {
+            float[] row = new float[FIELDS.size()];
+            for (int f = 0; f < row.length; f++) {
+                double value = rs.getDouble(f + 2);
+                row[f] = rs.wasNull() ? Float.NaN : (float) value;
+            }
+            builder.add(rs.getLong(1), row);
+        });
+
+        Columns built = builder.build();
+        this.columns = built;
+        log.info("영양 정보 저장소 생성 - 레시피 {} ({} ms)", built.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // DB 없이 (rcp_id, 영양소 값) 행으로 생성 - 벤치마크(src/jmh) / 테스트용, rcpIds 는 오름차순
+    void load(long[] rcpIds, float[][] rows) {
+        Columns.Builder builder = new Columns.Builder();
+        for (int i = 0; i < rcpIds.length; i++) {
+            builder.add(rcpIds[i], rows[i]);
+        }
+        this.columns = builder.build();
+    }
+
+    // 서버 시작 후 아직 한 번도 만들지 않았으면 false
+    public boolean isLoaded() {
+        return columns.loaded;
+    }
+
+    /**
+     * 범위 검색 - 정렬 영양소 값 순(같으면 rcp_id 순)으로 offset 번째부터 limit 개
+     * 정렬 영양소 값이 없는 레시피는 제외한다.
+     *
+     * @param min 영양소별 하한 (NaN 이면 조건 없음)
+     * @param max 영양소별 상한 (NaN 이면 조건 없음)
+     */
+    public RangeResult range(float[] min, float[] max, int sortField, boolean descending, int offset, int limit) {
+        Columns current = this.columns;
+        int n = current.size();
+        int[] order = current.orders[sortField];
+        float[] sortColumn = current.values[sortField];
+
+        // 정렬 영양소 조건은 미리 정렬해 둔 순서에서 이진 탐색으로 구간 [from, to) 만 찾음
+        float sortLow = Float.isNaN(min[sortField]) ? Float.NEGATIVE_INFINITY : min[sortField];
+        float sortHigh = Float.isNaN(max[sortField]) ? Float.POSITIVE_INFINITY : max[sortField];
+        int from = lowerBound(order, sortColumn, sortLow, false);
+        int to = Math.max(from, lowerBound(order, sortColumn, sortHigh, true));
+
+        // 다른 영양소 조건이 있으면 조건마다 한 번씩 전체를 훑어 통과 여부를 비트로 누적
+        // 이때는 전체 개수를 세기 위해 정렬 영양소 구간도 (값이 없는 레시피 제외 포함) 같이 훑음
+        long[] mask = null;
+        int total = to - from;
+        for (int f = 0; f < FIELDS.size(); f++) {
+            if (f == sortField || (Float.isNaN(min[f]) && Float.isNaN(max[f]))) {
+                continue;
+            }
+            float low = Float.isNaN(min[f]) ? Float.NEGATIVE_INFINITY : min[f];
+            float high = Float.isNaN(max[f]) ? Float.POSITIVE_INFINITY : max[f];
+            if (mask == null) {
+                mask = mask((n + 63) >>> 6);
+                narrow(mask, sortColumn, n, sortLow, sortHigh, true);
+            }
+            narrow(mask, current.values[f], n, low, high, false);
+        }
+        if (mask != null) {
+            // 전체 개수는 마스크를 앞에서부터 세기만 함
+            total = 0;
+            for (int w = 0; w < (n + 63) >>> 6; w++) {
+                total += Long.bitCount(mask[w]);
+            }
+        }
+
+        long[] rcpIds = new long[Math.max(0, Math.min(limit, total - offset))];
+        if (mask == null && !descending) {
+            // 정렬 영양소 조건뿐이면 구간 안에서 바로 offset 번째부터
+            for (int i = 0; i < rcpIds.length; i++) {
+                rcpIds[i] = current.rcpIds[order[from + offset + i]];
+            }
+            return new RangeResult(rcpIds, total);
+        }
+
+        // 구간 안의 순서를 따라가며 페이지만큼 꺼냄 (페이지가 차면 멈춤)
+        int skipped = 0;
+        int taken = 0;
+        int position = descending ? to - 1 : from;
+        while (taken < rcpIds.length) {
+            // 내림차순은 같은 값 구간을 찾아 그 안에서는 앞(rcp_id 가 작은 쪽)부터
+            int first = position;
+            int last = position;
+            if (descending) {
+                float value = sortColumn[order[position]];
+                while (first > from && sortColumn[order[first - 1]] == value) {
+                    first--;
+                }
+                position = first - 1;
+            } else {
+                position++;
+            }
+            for (int p = first; p <= last && taken < rcpIds.length; p++) {
+                int ordinal = order[p];
+                if (mask != null && (mask[ordinal >>> 6] & (1L << ordinal)) == 0) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    rcpIds[taken++] = current.rcpIds[ordinal];
+                }
+            }
+        }
+        return new RangeResult(rcpIds, total);
+    }
+
+    // 정렬 순서에서 값이 bound 이상(inclusive 면 초과)인 첫 위치
+    private static int lowerBound(int[] order, float[] column, float bound, boolean inclusive) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            float value = column[order[middle]];
+            if (value < bound || (inclusive && value == bound)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // 요청 스레드마다 하나씩 두고 재사용하는 통과 여부 비트 (순번 i -> mask[i / 64] 의 i % 64 번째 비트)
+    private static long[] mask(int words) {
+        long[] mask = MASKS.get();
+        if (mask.length < words) {
+            mask = new long[words];
+            MASKS.set(mask);
+        }
+        return mask;
+    }
+
+    // low <= 값 <= high 인 순번의 비트만 남김 (NaN 은 어떤 비교도 참이 아니므로 빠짐)
+    private static void narrow(long[] mask, float[] column, int n, float low, float high, boolean first) {
+        int w = 0;
+        int base = 0;
+        // 64 개씩 뒤에서부터 한 비트씩 밀어 넣음 - 반복 횟수가 고정이라 JIT 가 분기 없이 펼침
+        for (; base + 64 <= n; base += 64, w++) {
+            long bits = 0;
+            for (int j = 63; j >= 0; j--) {
+                float value = column[base + j];
+                bits = (bits << 1) | (value >= low & value <= high ? 1L : 0L);
+            }
+            mask[w] = first ? bits : mask[w] & bits;
+        }
+        if (base < n) {
+            long bits = 0;
+            for (int j = n - base - 1; j >= 0; j--) {
+                float value = column[base + j];
+                bits = (bits << 1) | (value >= low & value <= high ? 1L : 0L);
+            }
+            mask[w] = first ? bits : mask[w] & bits;
+        }
+    }
+
+    /**
+     * 목표 영양소 근접 검색 - 표준편차로 나눈 거리(유클리드)가 가까운 순으로 k 개, 같으면 rcp_id 순
+     * 단위가 다른 영양소(kcal, g, mg)를 같은 비중으로 비교하기 위해 영양소별 표준편차로 나눈다.
+     * 목표를 준 영양소 값이 하나라도 없는 레시피는 제외한다.
+     *
+     * @param target 영양소별 목표 값 (NaN 이면 거리 계산에서 제외)
+     */
+    public List<Match> nearest(float[] target, int k) {
+        Columns current = this.columns;
+        int n = current.size();
+
+        float[] distances = new float[n];
+        for (int f = 0; f < FIELDS.size(); f++) {
+            if (Float.isNaN(target[f])) {
+                continue;
+            }
+            float goal = target[f];
+            float inverse = 1f / current.scales[f];
+            float[] column = current.values[f];
+            for (int i = 0; i < n; i++) {
+                float diff = (column[i] - goal) * inverse;
+                distances[i] += diff * diff;
+            }
+        }
+
+        // 상위 k 개만 거리 오름차순으로 유지 (순번 순으로 보므로 거리가 같으면 먼저 본 레시피가 앞)
+        int[] best = new int[k];
+        float[] bestDistances = new float[k];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            float distance = distances[i];
+            if (Float.isNaN(distance) || (count == k && distance >= bestDistances[k - 1])) {
+                continue;
+            }
+            int position = Math.min(count, k - 1);
+            while (position > 0 && bestDistances[position - 1] > distance) {
+                best[position] = best[position - 1];
+                bestDistances[position] = bestDistances[position - 1];
+                position--;
+            }
+            best[position] = i;
+            bestDistances[position] = distance;
+            count = Math.min(count + 1, k);
+        }
+
+        List<Match> matches = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+            matches.add(new Match(current.rcpIds[best[j]], Math.sqrt(bestDistances[j])));
+        }
+        return matches;
+    }
+
+    /* 범위 검색 결과 - 페이지의 rcp_id, 조건을 만족하는 전체 레시피 수 */
+    @Getter
+    @AllArgsConstructor
+    public static final class RangeResult {
+        private final long[] rcpIds;
+        private final int total;
+    }
+
+    /* 근접 검색 결과 */
+    @Getter
+    @AllArgsConstructor
+    public static final class Match {
+        private final long rcpId;
+        private final double distance;
+    }
+
+    /* 불변 컬럼 묶음 - 순번 i 의 레시피는 rcpIds[i], 영양소 f 값은 values[f][i] */
+    private static final class Columns {
+        static final Columns EMPTY = new Builder().build(false);
+
+        final long[] rcpIds;
+        final float[][] values;
+        final int[][] orders; // 영양소별 (값, 순번) 오름차순 순번 - 값이 없는 순번 제외
+        final float[] scales; // 영양소별 표준편차 (근접 검색 정규화, 값이 부족하면 1)
+        final boolean loaded;
+
+        private Columns(long[] rcpIds, float[][] values, boolean loaded) {
+            this.rcpIds = rcpIds;
+            this.values = values;
+            this.loaded = loaded;
+            this.orders = new int[values.length][];
+            this.scales = new float[values.length];
+            for (int f = 0; f < values.length; f++) {
+                orders[f] = sortedOrdinals(values[f]);
+                scales[f] = deviation(values[f]);
+            }
+        }
+
+        int size() {
+            return rcpIds.length;
+        }
+
+        // (정렬 가능한 float 비트, 순번) 을 long 하나로 묶어 기본형 정렬
+        private static int[] sortedOrdinals(float[] column) {
+            long[] keys = new long[column.length];
+            int size = 0;
+            for (int i = 0; i < column.length; i++) {
+                float value = column[i];
+                if (Float.isNaN(value)) {
+                    continue;
+                }
+                int bits = Float.floatToIntBits(value == 0f ? 0f : value);
+                bits ^= (bits >> 31) & 0x7fffffff;
+                keys[size++] = ((long) bits << 32) | i;
+            }
+            keys = Arrays.copyOf(keys, size);
+            Arrays.sort(keys);
+            int[] ordinals = new int[size];
+            for (int i = 0; i < size; i++) {
+                ordinals[i] = (int) keys[i];
+            }
+            return ordinals;
+        }
+
+        private static float deviation(float[] column) {
+            double sum = 0;
+            double squareSum = 0;
+            int count = 0;
+            for (float value : column) {
+                if (!Float.isNaN(value)) {
+                    sum += value;
+                    squareSum += (double) value * value;
+                    count++;
+                }
+            }
+            if (count < 2) {
+                return 1f;
+            }
+            double mean = sum / count;
+            double deviation = Math.sqrt(Math.max(0, squareSum / count - mean * mean));
+            return deviation > 0 ? (float) deviation : 1f;
+        }
+
+        static final class Builder {
+            long[] rcpIds = new long[64];
+            float[][] values = new float[FIELDS.size()][64];
+            int size;
+
+            void add(long rcpId, float[] row) {
+                if (size == rcpIds.length) {
+                    int capacity = size * 2;
+                    rcpIds = Arrays.copyOf(rcpIds, capacity);
+                    for (int f = 0; f < values.length; f++) {
+                        values[f] = Arrays.copyOf(values[f], capacity);
+                    }
+                }
+                rcpIds[size] = rcpId;
+                for (int f = 0; f < values.length; f++) {
+                    values[f][size] = row[f];
+                }
+                size++;
+            }
+
+            Columns build() {
+                return build(true);
+            }
+
+            private Columns build(boolean loaded) {
+                float[][] trimmed = new float[values.length][];
+                for (int f = 0; f < values.length; f++) {
+                    trimmed[f] = Arrays.copyOf(values[f], size);
+                }
+                return new Columns(Arrays.copyOf(rcpIds, size), trimmed, loaded);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package doubleni.mealrecipe.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 사용자가 레시피에 리뷰 / 좋아요를 남기거나 바꿨음을 알리는 이벤트 (트랜잭션 안에서 발행)
+ * 받는 쪽은 @TransactionalEventListener 로 커밋 후에만 처리해서 롤백된 변경에 반응하지 않게 한다.
+ */
+@Getter
+@AllArgsConstructor
+public class RecipeActivityEvent {
+    public static final String REVIEW_POSTED = "review-posted";
+    public static final String REVIEW_UPDATED = "review-updated";
+    public static final String REVIEW_DELETED = "review-deleted";
+    public static final String LIKED = "liked";
+    public static final String UNLIKED = "unliked";
+
+    private final Long rcpId;
+    private final Long userId;
+    private final String type;
+}
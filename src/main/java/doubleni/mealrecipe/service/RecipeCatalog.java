@@ -0,0 +1,502 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.model.Recipe;
+import doubleni.mealrecipe.model.RecipeIngredient;
+import doubleni.mealrecipe.model.RecipeSummary;
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import doubleni.mealrecipe.repository.RecipeRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 레시피 카탈로그 (메모리)
+ * 서버 시작 / json 저장 완료 시 전체를 읽어 새 카탈로그를 만들고 한 번에 바꿔 끼운다.
+ * 목록, 검색 결과, 추천 결과 연결, 재료 조회는 DB 를 거치지 않고 카탈로그에서 바로 읽는다.
+ * 좋아요 / 리뷰 커밋, json 저장 청크 커밋도 바뀐 레시피만 반영한 새 카탈로그를 만들어 한 번에 바꿔 끼운다.
+ * (조회 맵과 정렬 순서는 경로 복사 트리 - 바뀐 레시피의 경로만 새로 만들고 나머지는 이전 카탈로그와 공유, O(log N))
+ * 바뀔 때마다 version 이 올라가므로 클라이언트는 version 만 비교해서 다시 받을지 정할 수 있다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecipeCatalog {
+
+    // 내림차순 목록 - 같은 값끼리도 rcpId 내림차순 (DB 목록 쿼리와 같은 순서)
+    public static final Set<String> DESCENDING_SORTS = Set.of("likes", "rating");
+
+    private static final int STRIPES = 64;
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeBatchRepository recipeBatchRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final AtomicLong versions = new AtomicLong();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // 전체 생성(reload)은 단독으로, 레시피 단위 갱신끼리는 같은 레시피만 순서대로 (rcpId 별 잠금)
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object[] stripes = newStripes();
+    // 현재 카탈로그에서 새 카탈로그를 만들어 바꿔 끼우는 구간 (트리 경로 복사만 하므로 짧음)
+    private final Object publish = new Object();
+
+    @EventListener
+    public void onRecipeDataChanged(RecipeDataChangedEvent event) {
+        try {
+            reload();
+        } catch (RuntimeException exception) {
+            log.error("레시피 카탈로그 생성 실패 ({}) - {}", event.getReason(), exception.getMessage());
+        }
+    }
+
+    /* 좋아요 / 리뷰 커밋 후 - 좋아요 수, 평균 평점이 바뀐 레시피만 교체 */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeActivity(RecipeActivityEvent event) {
+        try {
+            refresh(event.getRcpId());
+        } catch (RuntimeException exception) {
+            log.error("레시피 카탈로그 갱신 실패 (rcpId {}) - {}", event.getRcpId(), exception.getMessage());
+        }
+    }
+
+    /* json 저장 청크 커밋 - 추가 / 수정된 레시피 교체, 삭제된 레시피 제거 (좋아요 수, 평점은 카탈로그 값 유지) */
+    @EventListener
+    public void onRecipeChunkSaved(RecipeChunkSavedEvent event) {
+        lock.readLock().lock();
+        try {
+            synchronized (publish) {
+                Snapshot current = this.snapshot;
+                if (!current.isLoaded()) {
+                    return;
+                }
+                List<RecipeSummary> updated = new ArrayList<>(event.getSaved().size());
+                for (Recipe recipe : event.getSaved()) {
+                    if (recipe.getRcpId() == null) {
+                        continue;
+                    }
+                    List<String> ingredients = recipe.getIngredients() == null ? Collections.emptyList()
+                            : recipe.getIngredients().stream().map(RecipeIngredient::toText).toList();
+                    RecipeSummary previous = current.get(recipe.getRcpId());
+                    RecipeSummary summary = new RecipeSummary(recipe, ingredients);
+                    updated.add(previous == null ? summary : summary.withCounts(previous.getLikeCnt(), previous.getReviewAverge()));
+                }
+                // 청크 하나의 삭제 / 교체를 모두 반영한 뒤 한 번에 교체 - 읽는 쪽은 청크 전 / 후 중 하나만 봄
+                this.snapshot = current.apply(versions.incrementAndGet(), event.getDeletedRcpIds(), updated);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+
+            Map<Long, List<String>> ingredients = new HashMap<>();
+            recipeBatchRepository.forEachIngredientText((RowCallbackHandler) rs -> {
+                String name = rs.getString(2);
+                String amount = rs.getString(3);
+                ingredients.computeIfAbsent(rs.getLong(1), key -> new ArrayList<>())
+                        .add(amount == null ? name : name + " " + amount);
+            });
+
+            List<RecipeSummary> recipes = new ArrayList<>();
+            for (Recipe recipe : recipeRepository.findAll(Sort.by(Sort.Direction.ASC, "rcpId"))) {
+                recipes.add(new RecipeSummary(recipe, ingredients.getOrDefault(recipe.getRcpId(), Collections.emptyList())));
+            }
+
+            Snapshot built = new Snapshot(versions.incrementAndGet(), System.currentTimeMillis(), recipes);
+            this.snapshot = built;
+            log.info("레시피 카탈로그 생성 - version {}, 레시피 {} ({} ms)", built.getVersion(), built.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 레시피 하나의 좋아요 수, 평균 평점만 다시 읽어 교체 - 같은 레시피의 갱신끼리만 순서대로 처리
+    public void refresh(Long rcpId) {
+        if (rcpId == null) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            Snapshot loaded = this.snapshot;
+            if (!loaded.isLoaded() || loaded.get(rcpId) == null) {
+                return;
+            }
+            synchronized (stripe(rcpId)) {
+                // 커밋 직후에는 원래 트랜잭션의 영속성 컨텍스트가 아직 남아 있어 (SQL 로 바꾼 평점이 반영 안 된) 이전 엔티티가 나올 수 있음
+                // -> 새 트랜잭션에서 다시 읽음
+                TransactionTemplate fresh = new TransactionTemplate(transactionManager);
+                fresh.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                fresh.setReadOnly(true);
+                Recipe recipe = fresh.execute(status -> recipeRepository.findById(rcpId).orElse(null));
+                if (recipe == null) {
+                    return;
+                }
+
+                synchronized (publish) {
+                    // DB 를 읽는 동안 다른 레시피 갱신이 먼저 반영됐을 수 있으므로 최신 카탈로그에서 다시 꺼냄
+                    Snapshot current = this.snapshot;
+                    RecipeSummary previous = current.get(rcpId);
+                    if (previous == null) {
+                        return;
+                    }
+                    this.snapshot = current.apply(versions.incrementAndGet(), Collections.emptyList(),
+                            List.of(previous.withCounts(recipe.getLikeCnt(), recipe.getAverageRating())));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Object stripe(long rcpId) {
+        return stripes[(int) Math.floorMod(rcpId, (long) STRIPES)];
+    }
+
+    private static Object[] newStripes() {
+        Object[] stripes = new Object[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        return stripes;
+    }
+
+    /**
+     * 카탈로그 - rcpId 로 바로 찾기 + 정렬 기준별 (정렬 키, 순서 id) 순서
+     * 한 번 만든 카탈로그는 바뀌지 않는다. 갱신은 apply 로 바뀐 레시피만 반영한 새 카탈로그를 만든다. (읽는 쪽은 잠금 없음)
+     * 같은 카탈로그를 읽는 동안에는 목록, 크기, version 이 항상 같은 상태를 가리킨다.
+     */
+    public static final class Snapshot {
+        // 목록 정렬 기준 -> (정렬 키, 순서 id) 오름차순의 정렬 키 - 내림차순 목록은 값과 rcpId 모두 부호를 뒤집음
+        private static final Map<String, ToDoubleFunction<RecipeSummary>> SORT_KEYS = Map.of(
+                "id", recipe -> 0,
+                "likes", recipe -> -recipe.getLikeCnt(),
+                "rating", recipe -> -recipe.getReviewAverge(),
+                "kcal", RecipeSummary::getInfoEngNum);
+
+        private static final Comparator<Entry> ENTRY_ORDER =
+                Comparator.comparingDouble(Entry::key).thenComparingLong(Entry::tie);
+
+        // 정렬 기준 / 비교 순서를 쓰므로 그 뒤에 생성
+        static final Snapshot EMPTY = new Snapshot(0, 0, Collections.emptyList());
+
+        private final long version;
+        @Getter
+        private final long builtAt;
+        // 아래 트리는 생성자 / apply 안에서만 바꾸고, 바꿔 끼운(volatile 쓰기) 뒤에는 바꾸지 않음
+        private Tree<Long, RecipeSummary> byId;
+        private Tree<String, RecipeSummary> bySeq;
+        private final Map<String, Tree<Entry, RecipeSummary>> orders; // 정렬 기준별 순서
+
+        private Snapshot(long version, long builtAt, List<RecipeSummary> recipes) {
+            this.version = version;
+            this.builtAt = builtAt;
+            this.byId = Tree.empty(Comparator.naturalOrder());
+            this.bySeq = Tree.empty(Comparator.naturalOrder());
+            this.orders = new HashMap<>();
+            for (String sort : SORT_KEYS.keySet()) {
+                orders.put(sort, Tree.empty(ENTRY_ORDER));
+            }
+            recipes.forEach(this::put);
+        }
+
+        // 이전 카탈로그의 트리를 그대로 이어 받음 (트리는 바뀌지 않으므로 복사 없이 공유)
+        private Snapshot(long version, Snapshot base) {
+            this.version = version;
+            this.builtAt = base.builtAt;
+            this.byId = base.byId;
+            this.bySeq = base.bySeq;
+            this.orders = new HashMap<>(base.orders);
+        }
+
+        // 서버 시작 후 아직 한 번도 만들지 않았으면 false
+        public boolean isLoaded() {
+            return builtAt > 0;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public int size() {
+            return byId.size();
+        }
+
+        public RecipeSummary get(Long rcpId) {
+            return rcpId == null ? null : byId.get(rcpId);
+        }
+
+        public RecipeSummary getBySeq(String rcpSeq) {
+            return rcpSeq == null ? null : bySeq.get(rcpSeq);
+        }
+
+        // rcpId 순 전체 레시피 (복사하지 않는 읽기 전용 보기)
+        public Collection<RecipeSummary> getRecipes() {
+            Tree<Entry, RecipeSummary> order = orders.get("id");
+            return new AbstractCollection<>() {
+                @Override
+                public Iterator<RecipeSummary> iterator() {
+                    return order.values(null);
+                }
+
+                @Override
+                public int size() {
+                    return order.size();
+                }
+            };
+        }
+
+        /**
+         * 목록 한 페이지 - (정렬 키, rcpId) 가 cursor 보다 뒤인 레시피부터 limit 개
+         *
+         * @param lastKey 마지막으로 받은 레시피의 정렬 키 (첫 페이지는 null)
+         */
+        public List<RecipeSummary> page(String sort, Double lastKey, long lastId, int limit) {
+            Iterator<RecipeSummary> from = orders.get(sort)
+                    .values(lastKey == null ? null : new Entry(normalize(lastKey), tieKey(sort, lastId), null));
+
+            List<RecipeSummary> page = new ArrayList<>(limit);
+            while (page.size() < limit && from.hasNext()) {
+                page.add(from.next());
+            }
+            return page;
+        }
+
+        // 삭제 / 교체를 모두 반영한 새 카탈로그 (이 카탈로그는 그대로)
+        Snapshot apply(long version, Collection<Long> removed, Collection<RecipeSummary> updated) {
+            Snapshot next = new Snapshot(version, this);
+            removed.forEach(next::remove);
+            updated.forEach(next::put);
+            return next;
+        }
+
+        // 이전 객체를 새 객체로 교체
+        private void put(RecipeSummary recipe) {
+            RecipeSummary previous = byId.get(recipe.getRcpId());
+            if (previous != null) {
+                unindex(previous);
+            }
+            byId = byId.put(recipe.getRcpId(), recipe);
+            if (recipe.getRcpSeq() != null) {
+                RecipeSummary old = bySeq.get(recipe.getRcpSeq());
+                // 같은 일련 번호가 여럿이면 rcpId 가 작은 레시피
+                if (old == null || old.getRcpId().equals(recipe.getRcpId()) || recipe.getRcpId() < old.getRcpId()) {
+                    bySeq = bySeq.put(recipe.getRcpSeq(), recipe);
+                }
+            }
+            orders.replaceAll((sort, order) -> indexed(sort, recipe) ? order.put(entry(sort, recipe), recipe) : order);
+        }
+
+        private void remove(Long rcpId) {
+            RecipeSummary previous = byId.get(rcpId);
+            if (previous != null) {
+                byId = byId.remove(rcpId);
+                unindex(previous);
+            }
+        }
+
+        // 이전 객체를 정렬 순서와 일련 번호 조회에서 뺌 (일련 번호가 바뀐 경우도 이전 번호를 지움)
+        private void unindex(RecipeSummary recipe) {
+            orders.replaceAll((sort, order) -> indexed(sort, recipe) ? order.remove(entry(sort, recipe)) : order);
+            if (recipe.getRcpSeq() != null) {
+                RecipeSummary bound = bySeq.get(recipe.getRcpSeq());
+                if (bound != null && bound.getRcpId().equals(recipe.getRcpId())) {
+                    bySeq = bySeq.remove(recipe.getRcpSeq());
+                }
+            }
+        }
+
+        // 열량 정렬은 열량 정보가 있는 레시피만
+        private static boolean indexed(String sort, RecipeSummary recipe) {
+            return !"kcal".equals(sort) || recipe.getInfoEngNum() != null;
+        }
+
+        private static Entry entry(String sort, RecipeSummary recipe) {
+            return new Entry(normalize(SORT_KEYS.get(sort).applyAsDouble(recipe)), tieKey(sort, recipe.getRcpId()), recipe);
+        }
+
+        // -0.0 -> 0.0 (부호를 뒤집은 0 이 0 보다 앞에 정렬되지 않게)
+        private static double normalize(double key) {
+            return key == 0 ? 0.0 : key;
+        }
+
+        private static long tieKey(String sort, long rcpId) {
+            return DESCENDING_SORTS.contains(sort) ? -rcpId : rcpId;
+        }
+
+        // 정렬 순서의 한 칸 - (정렬 키, 순서 id) 로만 비교
+        private record Entry(double key, long tie, RecipeSummary recipe) {
+        }
+    }
+
+    /**
+     * 바뀌지 않는 정렬 트리 (treap) - put / remove 는 루트부터 바뀐 칸까지의 경로만 새로 만든 트리를 돌려준다.
+     * 나머지 칸은 이전 트리와 공유하므로 이전 트리를 읽는 쪽에는 영향이 없다.
+     */
+    static final class Tree<K, V> {
+        private final Comparator<? super K> comparator;
+        private final Node<K, V> root;
+
+        private Tree(Comparator<? super K> comparator, Node<K, V> root) {
+            this.comparator = comparator;
+            this.root = root;
+        }
+
+        static <K, V> Tree<K, V> empty(Comparator<? super K> comparator) {
+            return new Tree<>(comparator, null);
+        }
+
+        int size() {
+            return Node.size(root);
+        }
+
+        V get(K key) {
+            Node<K, V> node = root;
+            while (node != null) {
+                int compared = comparator.compare(key, node.key);
+                if (compared == 0) {
+                    return node.value;
+                }
+                node = compared < 0 ? node.left : node.right;
+            }
+            return null;
+        }
+
+        Tree<K, V> put(K key, V value) {
+            Node<K, V>[] split = split(remove(root, key), key);
+            Node<K, V> added = new Node<>(key, value, ThreadLocalRandom.current().nextInt(), null, null);
+            return new Tree<>(comparator, merge(merge(split[0], added), split[1]));
+        }
+
+        Tree<K, V> remove(K key) {
+            Node<K, V> removed = remove(root, key);
+            return removed == root ? this : new Tree<>(comparator, removed);
+        }
+
+        // from 보다 뒤 (from 제외) 의 값을 순서대로 - from 이 null 이면 처음부터
+        Iterator<V> values(K from) {
+            Deque<Node<K, V>> path = new ArrayDeque<>();
+            Node<K, V> node = root;
+            while (node != null) {
+                if (from == null || comparator.compare(node.key, from) > 0) {
+                    path.push(node);
+                    node = node.left;
+                } else {
+                    node = node.right;
+                }
+            }
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return !path.isEmpty();
+                }
+
+                @Override
+                public V next() {
+                    if (path.isEmpty()) {
+                        throw new NoSuchElementException();
+                    }
+                    Node<K, V> next = path.pop();
+                    for (Node<K, V> child = next.right; child != null; child = child.left) {
+                        path.push(child);
+                    }
+                    return next.value;
+                }
+            };
+        }
+
+        private Node<K, V> remove(Node<K, V> node, K key) {
+            if (node == null) {
+                return null;
+            }
+            int compared = comparator.compare(key, node.key);
+            if (compared == 0) {
+                return merge(node.left, node.right);
+            }
+            if (compared < 0) {
+                Node<K, V> left = remove(node.left, key);
+                return left == node.left ? node : node.with(left, node.right);
+            }
+            Node<K, V> right = remove(node.right, key);
+            return right == node.right ? node : node.with(node.left, right);
+        }
+
+        // key 보다 앞 / 뒤 두 트리로 나눔 (key 는 트리에 없음)
+        @SuppressWarnings("unchecked")
+        private Node<K, V>[] split(Node<K, V> node, K key) {
+            if (node == null) {
+                return new Node[]{null, null};
+            }
+            if (comparator.compare(key, node.key) > 0) {
+                Node<K, V>[] split = split(node.right, key);
+                return new Node[]{node.with(node.left, split[0]), split[1]};
+            }
+            Node<K, V>[] split = split(node.left, key);
+            return new Node[]{split[0], node.with(split[1], node.right)};
+        }
+
+        // left 의 모든 키 < right 의 모든 키
+        private static <K, V> Node<K, V> merge(Node<K, V> left, Node<K, V> right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            if (left.priority > right.priority) {
+                return left.with(left.left, merge(left.right, right));
+            }
+            return right.with(merge(left, right.left), right.right);
+        }
+
+        private static final class Node<K, V> {
+            private final K key;
+            private final V value;
+            private final int priority;
+            private final int size;
+            private final Node<K, V> left;
+            private final Node<K, V> right;
+
+            private Node(K key, V value, int priority, Node<K, V> left, Node<K, V> right) {
+                this.key = key;
+                this.value = value;
+                this.priority = priority;
+                this.left = left;
+                this.right = right;
+                this.size = 1 + size(left) + size(right);
+            }
+
+            private Node<K, V> with(Node<K, V> left, Node<K, V> right) {
+                return new Node<>(key, value, priority, left, right);
+            }
+
+            private static int size(Node<?, ?> node) {
+                return node == null ? 0 : node.size;
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.model.Recipe;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * json 저장 중 청크 하나가 커밋되었음을 알리는 이벤트 (커밋 후 발행)
+ * 메모리 색인은 이 이벤트로 바뀐 레시피만 바로 반영하고, 작업이 끝나면 RecipeDataChangedEvent 로 전체를 다시 만든다.
+ */
+@Getter
+@AllArgsConstructor
+public class RecipeChunkSavedEvent {
+    private final List<Recipe> saved; // 추가/수정된 레시피 (rcpId, 조리 순서 포함)
+    private final List<Long> deletedRcpIds; // 삭제된 레시피 id
+}
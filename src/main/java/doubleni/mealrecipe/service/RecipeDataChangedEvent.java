@@ -0,0 +1,15 @@
+package doubleni.mealrecipe.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 레시피 데이터(레시피, 재료, 조리 순서)가 대량으로 바뀌었음을 알리는 이벤트
+ * json 저장 작업이 끝났을 때, 서버 시작 시 데이터 이전이 끝났을 때 발행하며
+ * 메모리 색인들은 이 이벤트를 받아 다시 만든다.
+ */
+@Getter
+@AllArgsConstructor
+public class RecipeDataChangedEvent {
+    private final String reason; // 발행 사유 (로그용)
+}
@@ -0,0 +1,120 @@
+package doubleni.mealrecipe.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import doubleni.mealrecipe.model.DTO.CacheStatsRes;
+import doubleni.mealrecipe.model.DTO.GetRecipeRes;
+import doubleni.mealrecipe.model.DTO.RecipeStepRes;
+import doubleni.mealrecipe.model.Recipe;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 레시피 상세 조회 결과(GetRecipeRes) 캐시 - rcpId 기준, 전체 크기(byte 근사값) 제한
+ * 레시피 내용은 json 재저장 때만 바뀌고, 평점 / 좋아요는 리뷰, 좋아요 커밋 직후 해당 레시피만 지운다.
+ */
+@Slf4j
+@Component
+public class RecipeDetailCache {
+
+    // 문자열 외 필드, 객체 헤더 등 대략적인 고정 크기
+    private static final int BASE_WEIGHT = 256;
+
+    private final Cache<Long, GetRecipeRes> cache;
+    private final long maxWeight;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong epoch = new AtomicLong(); // 무효화할 때마다 증가
+
+    public RecipeDetailCache(@Value("${recipe.cache.detail-max-bytes:33554432}") long maxWeight) {
+        this.maxWeight = maxWeight;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long rcpId, GetRecipeRes res) -> weigh(res))
+                .recordStats()
+                .build();
+    }
+
+    public GetRecipeRes getIfPresent(Long rcpId) {
+        return cache.getIfPresent(rcpId);
+    }
+
+    // DB 조회 직전에 받아 두고 put 에 넘김
+    public long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * 조회하는 동안 무효화가 없었을 때만 저장
+     * 조회 도중 다른 요청의 리뷰가 커밋되면, 이전 값을 읽었을 수 있으므로 캐시에 넣지 않는다.
+     */
+    public void put(Long rcpId, GetRecipeRes res, long loadedAt) {
+        if (epoch.get() == loadedAt) {
+            cache.put(rcpId, res);
+        }
+    }
+
+    public void invalidate(Long rcpId) {
+        epoch.incrementAndGet();
+        if (rcpId != null && cache.asMap().remove(rcpId) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /* 리뷰 / 좋아요 커밋 후 - 평균 평점, 좋아요 수가 바뀐 레시피만 제거 */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeActivity(RecipeActivityEvent event) {
+        invalidate(event.getRcpId());
+    }
+
+    /* json 저장 청크 커밋 - 바뀐 레시피, 삭제된 레시피 제거 */
+    @EventListener
+    public void onRecipeChunkSaved(RecipeChunkSavedEvent event) {
+        event.getSaved().stream().map(Recipe::getRcpId).forEach(this::invalidate);
+        event.getDeletedRcpIds().forEach(this::invalidate);
+    }
+
+    /* json 저장 완료 / 서버 시작 - 전체 제거 */
+    @EventListener
+    public void onRecipeDataChanged(RecipeDataChangedEvent event) {
+        long size = cache.estimatedSize();
+        epoch.incrementAndGet();
+        cache.invalidateAll();
+        invalidations.addAndGet(size);
+    }
+
+    public CacheStatsRes stats() {
+        long weight = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return new CacheStatsRes(cache.stats(), cache.estimatedSize(), weight, maxWeight, invalidations.get());
+    }
+
+    // 문자열 길이 * 2 (UTF-16) 로 추정
+    private static int weigh(GetRecipeRes res) {
+        long weight = BASE_WEIGHT + chars(res.getRcpSeq(), res.getRcpNm(), res.getRcpWay2(), res.getRcpPat2(), res.getInfoWgt(),
+                res.getInfoEng(), res.getInfoCar(), res.getInfoPro(), res.getInfoFat(), res.getInfoNa(), res.getHashTag(),
+                res.getAttFileNoMain(), res.getAttFileNoMk(), res.getRcpPartsDtls(), res.getRcpNaTip()) * 2L;
+        if (res.getSteps() != null) {
+            for (RecipeStepRes step : res.getSteps()) {
+                weight += 64 + chars(step.getDescription(), step.getImageUrl()) * 2L;
+            }
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static int chars(String... values) {
+        int length = 0;
+        for (String value : values) {
+            if (value != null) {
+                length += value.length();
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,126 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.config.exception.BaseException;
+import doubleni.mealrecipe.model.DTO.IngestRes;
+import doubleni.mealrecipe.model.IngestJob;
+import doubleni.mealrecipe.repository.IngestJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static doubleni.mealrecipe.config.exception.BaseResponseStatus.*;
+
+/**
+ * 레시피 json 저장 작업 관리
+ * 요청 스레드에서는 작업만 등록하고 id 를 바로 반환하며, 저장은 전용 스레드 하나에서 진행한다.
+ * 완료되지 않은 이전 작업(실패/취소/서버 종료)이 있으면 그 체크포인트부터 이어서 진행한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecipeIngestJobService {
+
+    private final RecipeIngestService recipeIngestService;
+    private final IngestJobRepository ingestJobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 한 번에 하나의 저장 작업만 실행
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "recipe-ingest");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 실행 중인 작업의 취소 플래그
+    private final Map<Long, AtomicBoolean> running = new ConcurrentHashMap<>();
+
+    /* 저장 작업 시작 (이미 실행 중이면 그 작업 반환) */
+    public synchronized IngestRes start(Path path, String mode) throws BaseException {
+        try {
+            String fileName = path.getFileName().toString();
+            IngestJob previous = ingestJobRepository.findFirstByFileNameOrderByJobIdDesc(fileName).orElse(null);
+
+            if (previous != null && running.containsKey(previous.getJobId())) {
+                return new IngestRes(previous);
+            }
+
+            IngestJob job = new IngestJob();
+            job.setFileName(fileName);
+            job.setStatus(IngestJob.RUNNING);
+            job.setMode(mode);
+            job.setStartedAt(new Timestamp(System.currentTimeMillis()));
+
+            // 같은 모드로 완료되지 않은 이전 작업은 체크포인트부터 이어서 진행
+            if (previous != null && !IngestJob.COMPLETED.equals(previous.getStatus()) && mode.equals(previous.getMode())) {
+                job.setCheckpoint(previous.getCheckpoint());
+                job.setRowsRead(previous.getRowsRead());
+                job.setRowsWritten(previous.getRowsWritten());
+                job.setRowsUpdated(previous.getRowsUpdated());
+                job.setRowsSkipped(previous.getRowsSkipped());
+                job.setRowsFailed(previous.getRowsFailed());
+                log.info("recipe ingest 재시작 - 이전 job {} 의 {}번째 행부터", previous.getJobId(), previous.getCheckpoint());
+            }
+            ingestJobRepository.save(job);
+
+            AtomicBoolean cancelled = new AtomicBoolean(false);
+            running.put(job.getJobId(), cancelled);
+            executor.submit(() -> run(path, job, cancelled));
+
+            return new IngestRes(job);
+        } catch (Exception exception) {
+            throw new BaseException(JSON_ERROR);
+        }
+    }
+
+    /* 작업 상태 조회 */
+    public IngestRes getJob(Long jobId) throws BaseException {
+        IngestJob job = ingestJobRepository.findByJobId(jobId)
+                .orElseThrow(() -> new BaseException(INGEST_JOB_NOT_EXISTS));
+        return new IngestRes(job);
+    }
+
+    /* 작업 취소 - 현재 청크까지 커밋하고 멈춤 */
+    public IngestRes cancel(Long jobId) throws BaseException {
+        AtomicBoolean cancelled = running.get(jobId);
+        if (cancelled != null) {
+            cancelled.set(true);
+        }
+        return getJob(jobId);
+    }
+
+    private void run(Path path, IngestJob job, AtomicBoolean cancelled) {
+        try {
+            boolean completed = recipeIngestService.ingest(path, job, cancelled::get);
+            job.setStatus(completed ? IngestJob.COMPLETED : IngestJob.CANCELLED);
+        } catch (BaseException exception) {
+            job.setStatus(IngestJob.FAILED);
+            job.setMessage(exception.getStatus().getMessage());
+        } catch (RuntimeException exception) {
+            job.setStatus(IngestJob.FAILED);
+            job.setMessage(exception.getMessage());
+        } finally {
+            job.setFinishedAt(new Timestamp(System.currentTimeMillis()));
+            ingestJobRepository.save(job);
+            running.remove(job.getJobId());
+            // 실패/취소여도 커밋된 청크가 있으므로 메모리 색인 갱신
+            eventPublisher.publishEvent(new RecipeDataChangedEvent("ingest job " + job.getJobId()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 실행 중인 작업은 현재 청크까지만 커밋하고 종료 - 다음 시작 시 체크포인트부터 이어서 진행
+        running.values().forEach(cancelled -> cancelled.set(true));
+        executor.shutdown();
+    }
+}
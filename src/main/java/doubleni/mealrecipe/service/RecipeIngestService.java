@@ -0,0 +1,385 @@
+package doubleni.mealrecipe.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import doubleni.mealrecipe.config.exception.BaseException;
+import doubleni.mealrecipe.model.IngestJob;
+import doubleni.mealrecipe.model.Recipe;
+import doubleni.mealrecipe.model.RecipeStep;
+import doubleni.mealrecipe.repository.IngestJobRepository;
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import doubleni.mealrecipe.repository.RecipeRepository;
+import doubleni.mealrecipe.utils.IngredientParser;
+import doubleni.mealrecipe.utils.NutritionParser;
+import doubleni.mealrecipe.utils.SHA256;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+import static doubleni.mealrecipe.config.exception.BaseResponseStatus.JSON_ERROR;
+
+/**
+ * 식약처 레시피 json 스트리밍 저장
+ * 문서 전체를 메모리에 올리지 않고 "row" 배열을 한 행씩 읽어 청크 단위로 저장한다.
+ * INSERT : 레시피명 기준, 청크마다 기존 레시피 조회 1번(IN) 후 새 레시피만 JDBC batch insert
+ * DELTA : 일련 번호(rcpSeq) + 내용 해시 기준, 변경 없는 행은 건너뛰고 변경/추가/삭제만 반영
+ * 실행/상태 관리는 RecipeIngestJobService 에서 담당한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecipeIngestService {
+
+    private static final TypeReference<LinkedHashMap<String, String>> ROW_TYPE = new TypeReference<>() {};
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeBatchRepository recipeBatchRepository;
+    private final IngestJobRepository ingestJobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${recipe.ingest.chunk-size:500}")
+    private int chunkSize;
+
+    // DELTA 에서 저장된 레시피 중 이 비율보다 많이 빠져 있으면 잘린 파일로 보고 삭제하지 않음
+    @Value("${recipe.ingest.max-delete-ratio:0.1}")
+    private double maxDeleteRatio;
+
+    // 이전 구조로 저장된 데이터 이전 (서버 시작 시 1번, 이전할 데이터가 없으면 바로 종료)
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyData() {
+        try {
+            // 조리 순서를 recipes 컬럼에 저장하던 때의 데이터 -> recipe_steps
+            Integer steps = transactionTemplate.execute(status -> recipeBatchRepository.migrateLegacySteps());
+            if (steps != null && steps > 0) {
+                log.info("recipe_steps 이전 완료 - {}건", steps);
+            }
+            // 추천 기록을 record / record_number 에 저장하던 때의 데이터 -> recommend_history
+            Integer records = transactionTemplate.execute(status -> recipeBatchRepository.migrateLegacyRecords());
+            if (records != null && records > 0) {
+                log.info("recommend_history 이전 완료 - {}건", records);
+            }
+            // 재료 정보 원문만 있는 레시피 -> recipe_ingredients
+            Integer ingredients = transactionTemplate.execute(status -> recipeBatchRepository.backfillIngredients(chunkSize));
+            if (ingredients != null && ingredients > 0) {
+                log.info("recipe_ingredients 채움 - 레시피 {}건", ingredients);
+            }
+            // 평점 집계 컬럼이 비어 있는 레시피 -> reviews 에서 합계 / 개수 계산
+            Integer ratings = transactionTemplate.execute(status -> recipeBatchRepository.backfillRatings());
+            if (ratings != null && ratings > 0) {
+                log.info("평점 집계 채움 - 레시피 {}건", ratings);
+            }
+            // 좋아요 수 / 평균 평점이 null 인 레시피 -> 0 (목록 정렬 조건에서 빠지지 않게)
+            Integer listColumns = transactionTemplate.execute(status -> recipeBatchRepository.backfillListColumns());
+            if (listColumns != null && listColumns > 0) {
+                log.info("좋아요 수 / 평균 평점 채움 - 레시피 {}건", listColumns);
+            }
+        } catch (RuntimeException exception) {
+            log.error("레시피 데이터 이전 실패 - {}", exception.getMessage());
+        } finally {
+            // 메모리 색인 최초 생성
+            eventPublisher.publishEvent(new RecipeDataChangedEvent("startup"));
+        }
+    }
+
+    /**
+     * job.checkpoint 이후의 행부터 읽어 저장한다.
+     * 청크 저장과 작업 진행 상황(체크포인트)은 같은 트랜잭션으로 커밋되므로
+     * 중간에 죽거나 취소되어도 다음 실행이 정확히 이어서 진행할 수 있다.
+     *
+     * @return 끝까지 읽었으면 true, 취소되었으면 false
+     */
+    public boolean ingest(Path path, IngestJob job, BooleanSupplier cancelled) throws BaseException {
+        long start = System.nanoTime();
+        long resumedAt = job.getCheckpoint();
+        boolean delta = IngestJob.MODE_DELTA.equals(job.getMode());
+
+        // DELTA : 저장된 rcpSeq -> 해시를 한 번만 읽어두고 변경 없는 행은 DB 를 거치지 않음
+        Map<String, String> knownHashes = delta ? recipeBatchRepository.findContentHashes() : Collections.emptyMap();
+        Set<String> seen = new HashSet<>();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(path.toFile())) {
+            if (!moveToRows(parser)) {
+                throw new BaseException(JSON_ERROR);
+            }
+
+            // 이전 실행에서 커밋된 행은 저장 없이 건너뜀 (DELTA 는 삭제 판단을 위해 일련 번호만 기록)
+            long position = 0;
+            while (position < resumedAt && parser.nextToken() == JsonToken.START_OBJECT) {
+                if (delta) {
+                    String rcpSeq = objectMapper.readValue(parser, ROW_TYPE).get("RCP_SEQ");
+                    if (rcpSeq != null) {
+                        seen.add(rcpSeq);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+                position++;
+            }
+
+            List<Map<String, String>> chunk = new ArrayList<>(chunkSize);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                chunk.add(objectMapper.readValue(parser, ROW_TYPE));
+
+                if (chunk.size() >= chunkSize) {
+                    commit(job, chunk, delta, knownHashes, seen, start, resumedAt);
+                    chunk.clear();
+                    if (cancelled.getAsBoolean()) {
+                        return false;
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commit(job, chunk, delta, knownHashes, seen, start, resumedAt);
+            }
+
+            // 데이터셋에서 빠진 레시피 삭제 (너무 많이 빠졌으면 삭제하지 않고 job 메시지로 남김)
+            if (delta) {
+                Set<String> removed = new HashSet<>(knownHashes.keySet());
+                removed.removeAll(seen);
+                if (removed.size() > knownHashes.size() * maxDeleteRatio) {
+                    job.setMessage(String.format("저장된 레시피 %d개 중 %d개가 파일에 없어 삭제하지 않음 (max-delete-ratio %.2f)",
+                            knownHashes.size(), removed.size(), maxDeleteRatio));
+                    log.warn("recipe ingest - job {}, {}", job.getJobId(), job.getMessage());
+                } else {
+                    deleteRemoved(removed, job);
+                }
+            }
+
+            // 숫자 영양 정보 컬럼 추가 전에 저장된 레시피 채우기 (내용 해시가 같아 DELTA 에서도 건너뛰는 행)
+            Integer backfilled = transactionTemplate.execute(status -> recipeBatchRepository.backfillNutrition(chunkSize));
+            if (backfilled != null && backfilled > 0) {
+                log.info("recipe ingest - 숫자 영양 정보 채움 {}건", backfilled);
+            }
+        } catch (IOException | RuntimeException exception) {
+            log.error("recipe ingest 실패 - job {}, {}", job.getJobId(), exception.getMessage());
+            throw new BaseException(JSON_ERROR);
+        }
+
+        log.info("recipe ingest 완료 - job {} ({}), read {}, inserted {}, updated {}, deleted {}, skipped {}, failed {} ({} rows/sec)",
+                job.getJobId(), job.getMode(), job.getRowsRead(), job.getRowsWritten(), job.getRowsUpdated(),
+                job.getRowsDeleted(), job.getRowsSkipped(), job.getRowsFailed(), job.getRowsPerSec());
+        return true;
+    }
+
+    // 최상위 객체의 "row" 배열 시작 위치로 이동
+    private boolean moveToRows(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("row".equals(field) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    // 청크를 insert / update 대상으로 분류
+    private ChunkWrite classify(List<Map<String, String>> rows, IngestJob job, boolean delta,
+                                Map<String, String> knownHashes, Set<String> seen) {
+        List<Recipe> inserts = new ArrayList<>();
+        List<Recipe> updates = new ArrayList<>();
+
+        if (delta) {
+            // 일련 번호 기준 - 해시가 같으면 건너뜀, 다르면 수정, 없으면 추가
+            for (Map<String, String> row : rows) {
+                String rcpSeq = row.get("RCP_SEQ");
+                if (rcpSeq == null || rcpSeq.isBlank() || !seen.add(rcpSeq)) {
+                    job.setRowsFailed(job.getRowsFailed() + 1);
+                    continue;
+                }
+                Recipe recipe = toRecipe(row);
+                String knownHash = knownHashes.get(rcpSeq);
+                if (knownHash == null && !knownHashes.containsKey(rcpSeq)) {
+                    inserts.add(recipe);
+                } else if (!recipe.getContentHash().equals(knownHash)) {
+                    updates.add(recipe);
+                } else {
+                    job.setRowsSkipped(job.getRowsSkipped() + 1);
+                }
+            }
+        } else {
+            // 레시피명 기준 - 이미 들어가 있는 레시피는 제외
+            Map<String, Recipe> candidates = new LinkedHashMap<>();
+            for (Map<String, String> row : rows) {
+                String rcpNm = row.get("RCP_NM");
+                if (rcpNm == null || rcpNm.isBlank()) {
+                    job.setRowsFailed(job.getRowsFailed() + 1);
+                    continue;
+                }
+                if (candidates.putIfAbsent(rcpNm, toRecipe(row)) != null) {
+                    job.setRowsSkipped(job.getRowsSkipped() + 1);
+                }
+            }
+
+            Set<String> existing = candidates.isEmpty()
+                    ? Collections.emptySet()
+                    : new HashSet<>(recipeRepository.findRcpNmsIn(candidates.keySet()));
+            for (Map.Entry<String, Recipe> entry : candidates.entrySet()) {
+                if (existing.contains(entry.getKey())) {
+                    job.setRowsSkipped(job.getRowsSkipped() + 1);
+                } else {
+                    inserts.add(entry.getValue());
+                }
+            }
+        }
+
+        return new ChunkWrite(inserts, updates);
+    }
+
+    // 청크 저장과 체크포인트를 한 트랜잭션으로 커밋
+    // 롤백되면 job 의 집계 / 체크포인트도 청크 이전 값으로 되돌려, 실패 후 저장되는 job 이 이 청크를 건너뛰지 않게 한다
+    private void commit(IngestJob job, List<Map<String, String>> rows, boolean delta,
+                        Map<String, String> knownHashes, Set<String> seen, long start, long resumedAt) {
+        Progress before = Progress.of(job);
+        ChunkWrite write;
+        try {
+            write = classify(rows, job, delta, knownHashes, seen);
+            job.setRowsRead(job.getRowsRead() + rows.size());
+            job.setRowsWritten(job.getRowsWritten() + write.inserts().size());
+            job.setRowsUpdated(job.getRowsUpdated() + write.updates().size());
+            job.setCheckpoint(job.getCheckpoint() + rows.size());
+
+            long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            job.setRowsPerSec(Math.round((job.getCheckpoint() - resumedAt) * 1000.0 / elapsedMs * 10) / 10.0);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                recipeBatchRepository.insertAll(write.inserts(), chunkSize);
+                recipeBatchRepository.updateAll(write.updates(), chunkSize);
+                ingestJobRepository.save(job);
+            });
+        } catch (RuntimeException exception) {
+            before.restore(job);
+            throw exception;
+        }
+
+        List<Recipe> saved = new ArrayList<>(write.inserts());
+        saved.addAll(write.updates());
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(new RecipeChunkSavedEvent(saved, Collections.emptyList()));
+        }
+    }
+
+    // 데이터셋에서 빠진 레시피 삭제 (리뷰, 좋아요는 Recipe 의 cascade 설정을 따름)
+    private void deleteRemoved(Set<String> removed, IngestJob job) {
+        List<String> rcpSeqs = new ArrayList<>(removed);
+        for (int from = 0; from < rcpSeqs.size(); from += chunkSize) {
+            List<String> part = rcpSeqs.subList(from, Math.min(from + chunkSize, rcpSeqs.size()));
+            Progress before = Progress.of(job);
+            List<Long> deletedRcpIds;
+            try {
+                deletedRcpIds = transactionTemplate.execute(status -> {
+                    List<Recipe> recipes = recipeRepository.findByRcpSeqIn(part);
+                    recipeRepository.deleteAll(recipes);
+                    job.setRowsDeleted(job.getRowsDeleted() + recipes.size());
+                    ingestJobRepository.save(job);
+                    return recipes.stream().map(Recipe::getRcpId).toList();
+                });
+            } catch (RuntimeException exception) {
+                before.restore(job);
+                throw exception;
+            }
+            eventPublisher.publishEvent(new RecipeChunkSavedEvent(Collections.emptyList(), deletedRcpIds));
+        }
+        if (!removed.isEmpty()) {
+            log.info("recipe ingest - 데이터셋에서 빠진 레시피 삭제 {}건", removed.size());
+        }
+    }
+
+    private record ChunkWrite(List<Recipe> inserts, List<Recipe> updates) {
+    }
+
+    // 청크 커밋 전 job 의 집계 / 체크포인트 (롤백 시 되돌리기용)
+    private record Progress(long rowsRead, long rowsWritten, long rowsUpdated, long rowsDeleted,
+                            long rowsSkipped, long rowsFailed, double rowsPerSec, long checkpoint) {
+
+        static Progress of(IngestJob job) {
+            return new Progress(job.getRowsRead(), job.getRowsWritten(), job.getRowsUpdated(), job.getRowsDeleted(),
+                    job.getRowsSkipped(), job.getRowsFailed(), job.getRowsPerSec(), job.getCheckpoint());
+        }
+
+        void restore(IngestJob job) {
+            job.setRowsRead(rowsRead);
+            job.setRowsWritten(rowsWritten);
+            job.setRowsUpdated(rowsUpdated);
+            job.setRowsDeleted(rowsDeleted);
+            job.setRowsSkipped(rowsSkipped);
+            job.setRowsFailed(rowsFailed);
+            job.setRowsPerSec(rowsPerSec);
+            job.setCheckpoint(checkpoint);
+        }
+    }
+
+    // json 한 행 -> Recipe
+    private Recipe toRecipe(Map<String, String> row) {
+        return Recipe.builder()
+                .contentHash(contentHash(row)) // 원본 행 해시
+                .rcpNm(row.get("RCP_NM")) // 레시피 제목
+                .rcpSeq(row.get("RCP_SEQ")) // 일련 번호
+                .rcpWay2(row.get("RCP_WAY2")) // 조리 방법
+                .rcpPat2(row.get("RCP_PAT2")) // 요리 종류
+                .infoWgt(row.get("INFO_WGT")) // 중량(1인분)
+                .infoEng(row.get("INFO_ENG")) // 열량
+                .infoCar(row.get("INFO_CAR")) // 탄수화물
+                .infoPro(row.get("INFO_PRO")) // 단백질
+                .infoFat(row.get("INFO_FAT")) // 지방
+                .infoNa(row.get("INFO_NA")) // 나트륨
+                // 범위 검색/정렬용 숫자 영양 정보
+                .infoEngNum(NutritionParser.parse(row.get("INFO_ENG")))
+                .infoCarNum(NutritionParser.parse(row.get("INFO_CAR")))
+                .infoProNum(NutritionParser.parse(row.get("INFO_PRO")))
+                .infoFatNum(NutritionParser.parse(row.get("INFO_FAT")))
+                .infoNaNum(NutritionParser.parse(row.get("INFO_NA")))
+                .hashTag(row.get("HASH_TAG")) // 해시태그
+                .attFileNoMain(row.get("ATT_FILE_NO_MAIN")) // 이미지 경로(소)
+                .attFileNoMk(row.get("ATT_FILE_NO_MK")) // 이미지 경로(대)
+                .rcpPartsDtls(row.get("RCP_PARTS_DTLS")) // 재료 정보
+                .ingredients(IngredientParser.parse(row.get("RCP_PARTS_DTLS"))) // 재료 (파싱)
+                .steps(toSteps(row)) // 조리 순서
+                .rcpNaTip(row.get("RCP_NA_TIP")) // 저감 조리법
+                .build();
+    }
+
+    // MANUAL01~20, MANUAL_IMG01~20 -> 조리 순서 (설명, 이미지 둘 다 비어 있는 순서는 제외)
+    private List<RecipeStep> toSteps(Map<String, String> row) {
+        List<RecipeStep> steps = new ArrayList<>();
+        for (int no = 1; no <= RecipeStep.MAX_STEPS; no++) {
+            String description = row.get(String.format("MANUAL%02d", no));
+            String imageUrl = row.get(String.format("MANUAL_IMG%02d", no));
+            boolean hasDescription = description != null && !description.isBlank();
+            boolean hasImage = imageUrl != null && !imageUrl.isBlank();
+            if (hasDescription || hasImage) {
+                steps.add(RecipeStep.builder()
+                        .stepNo(no)
+                        .description(hasDescription ? description : null)
+                        .imageUrl(hasImage ? imageUrl : null)
+                        .build());
+            }
+        }
+        return steps;
+    }
+
+    // 키 순서와 무관한 원본 행 해시
+    private String contentHash(Map<String, String> row) {
+        StringBuilder sb = new StringBuilder();
+        new TreeMap<>(row).forEach((key, value) -> sb.append(key).append('=').append(value).append('\u0001'));
+        return SHA256.encrypt(sb.toString());
+    }
+}
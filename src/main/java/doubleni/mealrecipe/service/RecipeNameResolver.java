@@ -0,0 +1,180 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 레시피명 유사 검색 (메모리 trigram 색인)
+ * 띄어쓰기, 오타 등으로 레시피명이 정확히 일치하지 않아도 trigram 유사도가 가장 높은 레시피를 찾는다.
+ * 레시피명은 소문자, 공백 제거 후 앞에 공백 2칸, 뒤에 1칸을 붙여 3글자씩 자른다. ("부추콩가루찜" -> "  부", " 부추", "부추콩", ...)
+ * 유사도 = 공통 trigram 수 / 두 이름의 trigram 합집합 크기, SIMILARITY_THRESHOLD 미만이면 찾지 못한 것으로 본다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecipeNameResolver {
+
+    public static final double SIMILARITY_THRESHOLD = 0.4;
+
+    private final RecipeBatchRepository recipeBatchRepository;
+
+    private volatile Index index = Index.EMPTY;
+
+    @EventListener
+    public void onRecipeDataChanged(RecipeDataChangedEvent event) {
+        try {
+            rebuild();
+        } catch (RuntimeException exception) {
+            log.error("레시피명 색인 생성 실패 ({}) - {}", event.getReason(), exception.getMessage());
+        }
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+
+        List<Long> rcpIds = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        recipeBatchRepository.forEachRecipeName((rcpId, rcpNm) -> {
+            rcpIds.add(rcpId);
+            names.add(rcpNm);
+        });
+
+        Index built = new Index(rcpIds.stream().mapToLong(Long::longValue).toArray(), names.toArray(new String[0]));
+        this.index = built;
+        log.info("레시피명 색인 생성 - 레시피 {}, trigram {} ({} ms)", built.size(), built.postings.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /* 가장 비슷한 레시피 id (유사도가 기준 미만이면 empty) */
+    public Optional<Long> resolve(String rcpNm) {
+        return Optional.ofNullable(resolveAll(Collections.singletonList(rcpNm)).get(rcpNm));
+    }
+
+    /**
+     * 여러 레시피명을 한 번에 찾기
+     *
+     * @return 입력 순서를 유지한 레시피명 -> 레시피 id (찾지 못한 이름은 포함하지 않음)
+     */
+    public Map<String, Long> resolveAll(Collection<String> rcpNms) {
+        Index current = this.index;
+        Map<String, Long> resolved = new LinkedHashMap<>();
+        int[] shared = new int[current.size()];
+        for (String rcpNm : rcpNms) {
+            if (rcpNm == null || rcpNm.isBlank() || resolved.containsKey(rcpNm)) {
+                continue;
+            }
+            int doc = current.best(rcpNm, shared);
+            if (doc >= 0) {
+                resolved.put(rcpNm, current.rcpIds[doc]);
+            }
+        }
+        return resolved;
+    }
+
+    // 소문자, 공백 제거
+    private static String compact(String text) {
+        return text.toLowerCase().replaceAll("\\s+", "");
+    }
+
+    // 앞뒤 공백을 붙인 3글자 단위 (중복 제거)
+    private static Set<String> trigrams(String compacted) {
+        String padded = "  " + compacted + " ";
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /* 불변 색인 - dense 번호 -> rcp_id, trigram -> 레시피 번호 목록 */
+    private static final class Index {
+        static final Index EMPTY = new Index(new long[0], new String[0]);
+
+        final long[] rcpIds;
+        final int[] gramCounts; // 레시피명별 trigram 수
+        final Map<String, Integer> exact = new HashMap<>(); // compact 이름 -> 번호 (같은 이름이면 먼저 읽은 레시피)
+        final Map<String, int[]> postings;
+
+        Index(long[] rcpIds, String[] names) {
+            this.rcpIds = rcpIds;
+            this.gramCounts = new int[names.length];
+
+            Map<String, List<Integer>> docs = new HashMap<>();
+            for (int doc = 0; doc < names.length; doc++) {
+                if (names[doc] == null) {
+                    continue;
+                }
+                String compacted = compact(names[doc]);
+                exact.putIfAbsent(compacted, doc);
+                Set<String> grams = trigrams(compacted);
+                gramCounts[doc] = grams.size();
+                for (String gram : grams) {
+                    docs.computeIfAbsent(gram, key -> new ArrayList<>()).add(doc);
+                }
+            }
+            this.postings = new HashMap<>(docs.size() * 2);
+            docs.forEach((gram, list) -> postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+        }
+
+        int size() {
+            return rcpIds.length;
+        }
+
+        /**
+         * 유사도가 가장 높은 레시피 번호, 기준 미만이면 -1
+         * 같으면 trigram 수 차이가 작은(길이가 비슷한) 레시피, 그다음 rcp_id 가 작은 레시피
+         *
+         * @param shared 레시피별 공통 trigram 수를 셀 배열 (호출 사이에 재사용, 0 으로 되돌려 놓음)
+         */
+        int best(String rcpNm, int[] shared) {
+            String compacted = compact(rcpNm);
+            if (compacted.isEmpty()) {
+                return -1;
+            }
+            Integer exactDoc = exact.get(compacted);
+            if (exactDoc != null) {
+                return exactDoc;
+            }
+
+            Set<String> grams = trigrams(compacted);
+            List<Integer> touched = new ArrayList<>();
+            for (String gram : grams) {
+                int[] list = postings.get(gram);
+                if (list == null) {
+                    continue;
+                }
+                for (int doc : list) {
+                    if (shared[doc]++ == 0) {
+                        touched.add(doc);
+                    }
+                }
+            }
+
+            int bestDoc = -1;
+            double bestSimilarity = SIMILARITY_THRESHOLD;
+            for (int doc : touched) {
+                double similarity = (double) shared[doc] / (grams.size() + gramCounts[doc] - shared[doc]);
+                shared[doc] = 0;
+                if (similarity < bestSimilarity) {
+                    continue;
+                }
+                if (bestDoc < 0 || similarity > bestSimilarity || isCloser(doc, bestDoc, grams.size())) {
+                    bestDoc = doc;
+                    bestSimilarity = similarity;
+                }
+            }
+            return bestDoc;
+        }
+
+        private boolean isCloser(int doc, int other, int queryGrams) {
+            int diff = Math.abs(gramCounts[doc] - queryGrams);
+            int otherDiff = Math.abs(gramCounts[other] - queryGrams);
+            return diff != otherDiff ? diff < otherDiff : rcpIds[doc] < rcpIds[other];
+        }
+    }
+}
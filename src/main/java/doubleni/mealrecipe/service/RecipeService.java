@@ -1,339 +1,197 @@
 package doubleni.mealrecipe.service;
 
 import doubleni.mealrecipe.config.exception.BaseException;
+import doubleni.mealrecipe.model.DTO.CacheStatsRes;
+import doubleni.mealrecipe.model.DTO.CatalogVersionRes;
+import doubleni.mealrecipe.model.DTO.CfModelStatsRes;
+import doubleni.mealrecipe.model.DTO.CursorPageRes;
+import doubleni.mealrecipe.model.DTO.FlaskDTO;
+import doubleni.mealrecipe.model.DTO.GetRecipeOrderRes;
 import doubleni.mealrecipe.model.DTO.GetRecipeRes;
 import doubleni.mealrecipe.model.DTO.GetRecord;
+import doubleni.mealrecipe.model.DTO.IngestRes;
+import doubleni.mealrecipe.model.DTO.NutritionMatchRes;
+import doubleni.mealrecipe.model.DTO.NutritionRangeReq;
+import doubleni.mealrecipe.model.DTO.NutritionTargetReq;
+import doubleni.mealrecipe.model.DTO.PageRes;
+import doubleni.mealrecipe.model.DTO.RecipeBatchRes;
+import doubleni.mealrecipe.model.DTO.RecipeCardRes;
+import doubleni.mealrecipe.model.DTO.RecipeStepRes;
+import doubleni.mealrecipe.model.DTO.TrendingRecipeRes;
 import doubleni.mealrecipe.model.Recipe;
-import doubleni.mealrecipe.model.Record;
+import doubleni.mealrecipe.model.RecipeSummary;
+import doubleni.mealrecipe.model.RecommendHistory;
 import doubleni.mealrecipe.model.User;
+import doubleni.mealrecipe.repository.RecipeCardView;
 import doubleni.mealrecipe.repository.RecipeRepository;
+import doubleni.mealrecipe.repository.RecipeSpecification;
+import doubleni.mealrecipe.repository.RecipeStepRepository;
 import doubleni.mealrecipe.repository.RecommendRepository;
-import doubleni.mealrecipe.repository.RecordRepository;
 import doubleni.mealrecipe.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
-import net.minidev.json.parser.JSONParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.FileReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import static doubleni.mealrecipe.config.exception.BaseResponseStatus.*;
 
+@Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class RecipeService {
 
     private final RecipeRepository recipeRepository;
+    private final RecipeStepRepository recipeStepRepository;
     private final RecommendRepository recommendRepository;
-    private final RecordRepository recordRepository;
     private final UserRepository userRepository;
+    private final RecipeIngestJobService recipeIngestJobService;
+    private final RecipeNameResolver recipeNameResolver;
+    private final RecipeDetailCache recipeDetailCache;
+    private final RecipeCatalog recipeCatalog;
+    private final IngredientSearchService ingredientSearchService;
+    private final NutritionStore nutritionStore;
+    private final CollaborativeFilteringService collaborativeFilteringService;
+    private final RecommendPrecomputeService recommendPrecomputeService;
+    private final RecordService recordService;
+    private final TrendingService trendingService;
+
+    /* json 파일 읽기 - 백그라운드 작업으로 등록하고 작업 정보를 바로 반환 */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public IngestRes read(String mode) throws BaseException{
+        //json 파일 이름
+        String fileName = "recipe.json";
+
+        Path projectPath = Paths.get(System.getProperty("user.dir"), "src", "main", "resources", "json", fileName);
+        return recipeIngestJobService.start(projectPath, mode);
+    }
 
-    /* json 파일 읽기 */
-    public void read() throws BaseException{
-        JSONParser parser = new JSONParser();
+    /* 레시피 목록 정렬 기준 - id : 등록순, likes : 좋아요 많은 순, rating : 평점 높은 순, kcal : 열량 낮은 순 */
+    public static final List<String> CARD_SORTS = List.of("id", "likes", "rating", "kcal");
+
+    /**
+     * 레시피 목록 (keyset 페이지) - offset 없이 마지막으로 받은 행 다음부터 size 개
+     *
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CursorPageRes<RecipeCardRes> getRecipeCards(String sort, String cursor, int size) throws BaseException {
+        if (!CARD_SORTS.contains(sort) || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BaseException(REQUEST_ERROR);
+        }
+        String[] last = decodeCursor(sort, cursor);
+        // 한 개 더 읽어서 다음 페이지가 있는지 확인
+        Pageable limit = PageRequest.of(0, size + 1);
 
-        try{
-            //json 파일 이름
-            String fileName = "recipe.json";
-
-            String projectPath = System.getProperty("user.dir") + "\\src\\main\\resources\\json\\"+fileName;
-            JSONObject jsonObject = (JSONObject) parser.parse(new FileReader(projectPath));
-
-            JSONArray recipeList = (JSONArray)jsonObject.get("row");
-            System.out.println("recipeList.size() : " + recipeList.size());
-            for (int i=0; i<recipeList.size(); i++){
-                //recipe 객체 생성
-                Recipe recipe = new Recipe();
-                JSONObject result = (JSONObject) recipeList.get(i);
-
-                Optional<Recipe> skipRecipe = recipeRepository.findByRcpNm((String) result.get("RCP_NM") );
-
-                //이미 들어가 있는 데이터는 제외
-                if(skipRecipe.isEmpty()){
-
-                    //레시피 제목
-                    String rcp_nm = (String) result.get("RCP_NM");
-                    recipe.setRcpNm(rcp_nm);
-
-                    // 일련 번호
-                    String rcp_seq=(String) result.get("RCP_SEQ");
-                    recipe.setRcpSeq(rcp_seq);
-
-                    // 조리 방법
-                    String rcp_way2=(String) result.get("RCP_WAY2");
-                    recipe.setRcpWay2(rcp_way2);
-
-                    // 요리 종류
-                    String rcp_pat2=(String) result.get("RCP_PAT2");
-                    recipe.setRcpPat2(rcp_pat2);
-
-                    // 중량(1인분)
-                    String info_wgt=(String) result.get("INFO_WGT");
-                    recipe.setInfoWgt(info_wgt);
-
-                    // 열량
-                    String info_eng=(String) result.get("INFO_ENG");
-                    recipe.setInfoEng(info_eng);
-
-                    // 탄수화물
-                    String info_car=(String) result.get("INFO_CAR");
-                    recipe.setInfoCar(info_car);
-
-                    // 단백질
-                    String info_pro=(String) result.get("INFO_PRO");
-                    recipe.setInfoPro(info_pro);
-
-                    // 지방
-                    String info_fat=(String) result.get("INFO_FAT");
-                    recipe.setInfoFat(info_fat);
-
-                    // 나트륨
-                    String info_na=(String) result.get("INFO_NA");
-                    recipe.setInfoNa(info_na);
-
-                    // 해시태그
-                    String hash_tag=(String) result.get("HASH_TAG");
-                    recipe.setHashTag(hash_tag);
-
-                    // 이미지 경로(소)
-                    String att_file_no_main=(String) result.get("ATT_FILE_NO_MAIN");
-                    recipe.setAttFileNoMain(att_file_no_main);
-
-                    // 이미지 경로(대)
-                    String att_file_no_mk=(String) result.get("ATT_FILE_NO_MK");
-                    recipe.setAttFileNoMk(att_file_no_mk);
-
-                    // 재료 정보
-//                    List<String> rcp_parts_dtls = (List<String>) result.get("RCP_PARTS_DTLS");
-                    String rcpPartsDtls = (String) result.get("RCP_PARTS_DTLS");
-                    recipe.setRcpPartsDtls(rcpPartsDtls);
-
-                    // 레시피 설명, 레시피 이미지
-                    String manual01=(String) result.get("MANUAL01");
-                    recipe.setManual01(manual01);
-                    String manual_img01=(String) result.get("MANUAL_IMG01");
-                    recipe.setManualImg01(manual_img01);
-
-                    String manual02=(String) result.get("MANUAL02");
-                    recipe.setManual02(manual02);
-                    String manual_img02=(String) result.get("MANUAL_IMG02");
-                    recipe.setManualImg02(manual_img02);
-
-                    String manual03=(String) result.get("MANUAL03");
-                    recipe.setManual03(manual03);
-                    String manual_img03=(String) result.get("MANUAL_IMG03");
-                    recipe.setManualImg03(manual_img03);
-
-                    String manual04=(String) result.get("MANUAL04");
-                    recipe.setManual04(manual04);
-                    String manual_img04=(String) result.get("MANUAL_IMG04");
-                    recipe.setManualImg04(manual_img04);
-
-                    String manual05=(String) result.get("MANUAL05");
-                    recipe.setManual05(manual05);
-                    String manual_img05=(String) result.get("MANUAL_IMG05");
-                    recipe.setManualImg05(manual_img05);
-
-                    String manual06=(String) result.get("MANUAL06");
-                    recipe.setManual06(manual06);
-                    String manual_img06=(String) result.get("MANUAL_IMG06");
-                    recipe.setManualImg06(manual_img06);
-
-                    String manual07=(String) result.get("MANUAL07");
-                    recipe.setManual07(manual07);
-                    String manual_img07=(String) result.get("MANUAL_IMG07");
-                    recipe.setManualImg07(manual_img07);
-
-                    String manual08=(String) result.get("MANUAL08");
-                    recipe.setManual08(manual08);
-                    String manual_img08=(String) result.get("MANUAL_IMG08");
-                    recipe.setManualImg08(manual_img08);
-
-                    String manual09=(String) result.get("MANUAL09");
-                    recipe.setManual09(manual09);
-                    String manual_img09=(String) result.get("MANUAL_IMG09");
-                    recipe.setManualImg09(manual_img09);
-
-                    String manual10=(String) result.get("MANUAL10");
-                    recipe.setManual10(manual10);
-                    String manual_img10=(String) result.get("MANUAL_IMG10");
-                    recipe.setManualImg10(manual_img10);
-
-                    String manual11=(String) result.get("MANUAL11");
-                    recipe.setManual11(manual11);
-                    String manual_img11=(String) result.get("MANUAL_IMG11");
-                    recipe.setManualImg11(manual_img11);
-
-                    String manual12=(String) result.get("MANUAL12");
-                    recipe.setManual12(manual12);
-                    String manual_img12=(String) result.get("MANUAL_IMG12");
-                    recipe.setManualImg12(manual_img12);
-
-                    String manual13=(String) result.get("MANUAL13");
-                    recipe.setManual13(manual13);
-                    String manual_img13=(String) result.get("MANUAL_IMG13");
-                    recipe.setManualImg13(manual_img13);
-
-                    String manual14=(String) result.get("MANUAL14");
-                    recipe.setManual14(manual14);
-                    String manual_img14=(String) result.get("MANUAL_IMG14");
-                    recipe.setManualImg14(manual_img14);
-
-                    String manual15=(String) result.get("MANUAL15");
-                    recipe.setManual15(manual15);
-                    String manual_img15=(String) result.get("MANUAL_IMG15");
-                    recipe.setManualImg15(manual_img15);
-
-                    String manual16=(String) result.get("MANUAL16");
-                    recipe.setManual16(manual16);
-                    String manual_img16=(String) result.get("MANUAL_IMG16");
-                    recipe.setManualImg16(manual_img16);
-
-                    String manual17=(String) result.get("MANUAL17");
-                    recipe.setManual17(manual17);
-                    String manual_img17=(String) result.get("MANUAL_IMG17");
-                    recipe.setManualImg17(manual_img17);
-
-                    String manual18=(String) result.get("MANUAL18");
-                    recipe.setManual18(manual18);
-                    String manual_img18=(String) result.get("MANUAL_IMG18");
-                    recipe.setManualImg18(manual_img18);
-
-                    String manual19=(String) result.get("MANUAL19");
-                    recipe.setManual19(manual19);
-                    String manual_img19=(String) result.get("MANUAL_IMG19");
-                    recipe.setManualImg19(manual_img19);
-
-                    String manual20=(String) result.get("MANUAL20");
-                    recipe.setManual20(manual20);
-                    String manual_img20=(String) result.get("MANUAL_IMG20");
-                    recipe.setManualImg20(manual_img20);
-
-                    // 저감 조리법
-                    String rcp_na_tip=(String) result.get("RCP_NA_TIP");
-                    recipe.setRcpNaTip(rcp_na_tip);
-
-                    recipeRepository.save(recipe);
-                }
+        List<RecipeCardView> rows;
+        try {
+            // 첫 페이지 - 오름차순은 가장 작은 id 앞, 내림차순(좋아요, 평점)은 가장 큰 id 앞부터
+            long lastId = last != null ? Long.parseLong(last[1])
+                    : RecipeCatalog.DESCENDING_SORTS.contains(sort) ? Long.MAX_VALUE : 0L;
+            RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+            if (catalog.isLoaded()) {
+                // 카탈로그 스냅샷에서 바로 (cursor 의 정렬 값 -> 스냅샷 정렬 키)
+                Double lastKey = last == null ? null : switch (sort) {
+                    case "likes", "rating" -> -Double.parseDouble(last[0]);
+                    case "kcal" -> Double.parseDouble(last[0]);
+                    default -> 0.0;
+                };
+                rows = new ArrayList<>(catalog.page(sort, lastKey, lastId, size + 1));
+            } else {
+                // 서버 시작 직후 카탈로그 생성 전에는 DB 에서
+                rows = switch (sort) {
+                    case "likes" -> recipeRepository.findCardsOrderByLikes(
+                            last == null ? Integer.MAX_VALUE : Integer.parseInt(last[0]), lastId, limit);
+                    case "rating" -> recipeRepository.findCardsOrderByRating(
+                            last == null ? Double.MAX_VALUE : Double.parseDouble(last[0]), lastId, limit);
+                    case "kcal" -> recipeRepository.findCardsOrderByKcal(
+                            last == null ? -Double.MAX_VALUE : Double.parseDouble(last[0]), lastId, limit);
+                    default -> recipeRepository.findCardsOrderById(lastId, limit);
+                };
             }
+        } catch (NumberFormatException exception) {
+            throw new BaseException(REQUEST_ERROR);
+        } catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
 
-        } catch (Exception exception){
-            throw new BaseException(JSON_ERROR);
+        boolean hasNext = rows.size() > size;
+        List<RecipeCardView> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            RecipeCardView lastRow = page.get(page.size() - 1);
+            Object value = switch (sort) {
+                case "likes" -> lastRow.getLikeCnt();
+                case "rating" -> lastRow.getReviewAverge();
+                case "kcal" -> lastRow.getInfoEngNum();
+                default -> "";
+            };
+            nextCursor = encodeCursor(sort, value, lastRow.getRcpId());
         }
+        return new CursorPageRes<>(page.stream().map(RecipeCardRes::new).toList(), size, nextCursor, hasNext);
+    }
 
+    // cursor = base64url("정렬 기준|마지막 정렬 값|마지막 rcpId")
+    private static String encodeCursor(String sort, Object value, Long rcpId) {
+        String raw = sort + "|" + value + "|" + rcpId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
     }
 
-    /* 전체 레시피 조회 */
-    public List<GetRecipeRes> getAllRecipes() throws BaseException {
+    // {마지막 정렬 값, 마지막 rcpId}, cursor 가 없으면 null - 다른 정렬 기준의 cursor 는 잘못된 요청
+    private static String[] decodeCursor(String sort, String cursor) throws BaseException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
         try {
-            List<Recipe> recipes = recipeRepository.findAll();
-            List<GetRecipeRes> getRecipeRes = recipes.stream()
-                    .map(GetRecipeRes::new)
-                    .toList();
-
-            if (getRecipeRes.isEmpty()) {
-                throw new BaseException(RECIPE_NOT_EXISTS);
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(sort)) {
+                throw new BaseException(REQUEST_ERROR);
             }
-            return getRecipeRes;
-
-        } catch (Exception exception) {
-            throw new BaseException(DATABASE_ERROR);
+            return new String[]{parts[1], parts[2]};
+        } catch (IllegalArgumentException exception) {
+            throw new BaseException(REQUEST_ERROR);
         }
-//        List<Recipe> recipes = recipeRepository.findAll();
-//        List<GetRecipeRes> getRecipeRes = recipes.stream()
-//                .map(GetRecipeRes::new)
-//                .collect(Collectors.toList());
-//
-//        if (getRecipeRes.isEmpty()) {
-//            throw new BaseException(DATABASE_ERROR);
-//        }
-//        return getRecipeRes;
     }
 
-    /* 레시피 id로 레시피 조회 */
+    /**
+     * 레시피 id로 레시피 조회 - 평균 평점은 리뷰 작성/수정/삭제 시 갱신된 값을 그대로 사용 (조회 중 저장 없음)
+     * 캐시에 있으면 DB 연결 없이 바로 반환 (SUPPORTS - 트랜잭션을 시작하지 않고 첫 조회 때 연결)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public GetRecipeRes getRecipeById(Long rcpId) throws BaseException {
+        GetRecipeRes cached = recipeDetailCache.getIfPresent(rcpId);
+        if (cached != null) {
+            return cached;
+        }
         try{
+            long loadedAt = recipeDetailCache.epoch();
             Optional<Recipe> recipeOptional = recipeRepository.findByRcpId(rcpId);
             if (recipeOptional.isPresent()){
                 Recipe recipe = recipeOptional.get();
 
-                GetRecipeRes getRecipeIdRes = new GetRecipeRes();
-                getRecipeIdRes.setRcpId(recipe.getRcpId());
-                getRecipeIdRes.setRcpSeq(recipe.getRcpSeq());
-                getRecipeIdRes.setRcpNm(recipe.getRcpNm());
-                getRecipeIdRes.setRcpWay2(recipe.getRcpWay2());
-                getRecipeIdRes.setRcpPat2(recipe.getRcpPat2());
-                getRecipeIdRes.setInfoWgt(recipe.getInfoWgt());
-                getRecipeIdRes.setInfoEng(recipe.getInfoEng());
-                getRecipeIdRes.setInfoCar(recipe.getInfoCar());
-                getRecipeIdRes.setInfoPro(recipe.getInfoPro());
-                getRecipeIdRes.setInfoFat(recipe.getInfoFat());
-                getRecipeIdRes.setInfoNa(recipe.getInfoNa());
-                getRecipeIdRes.setHashTag(recipe.getHashTag());
-                getRecipeIdRes.setAttFileNoMain(recipe.getAttFileNoMain());
-                getRecipeIdRes.setAttFileNoMk(recipe.getAttFileNoMk());
-
-                /* 재료 */
-//                getRecipeIdRes.setRcpPartsDtls(new ArrayList<>(recipe.getRcpPartsDtls()));
-                getRecipeIdRes.setRcpPartsDtls(recipe.getRcpPartsDtls());
-
-                getRecipeIdRes.setManual01(recipe.getManual01());
-                getRecipeIdRes.setManualImg01(recipe.getManualImg01());
-                getRecipeIdRes.setManual02(recipe.getManual02());
-                getRecipeIdRes.setManualImg02(recipe.getManualImg02());
-                getRecipeIdRes.setManual03(recipe.getManual03());
-                getRecipeIdRes.setManualImg03(recipe.getManualImg03());
-                getRecipeIdRes.setManual04(recipe.getManual04());
-                getRecipeIdRes.setManualImg04(recipe.getManualImg04());
-                getRecipeIdRes.setManual05(recipe.getManual05());
-                getRecipeIdRes.setManualImg05(recipe.getManualImg05());
-                getRecipeIdRes.setManual06(recipe.getManual06());
-                getRecipeIdRes.setManualImg06(recipe.getManualImg06());
-                getRecipeIdRes.setManual07(recipe.getManual07());
-                getRecipeIdRes.setManualImg07(recipe.getManualImg07());
-                getRecipeIdRes.setManual08(recipe.getManual08());
-                getRecipeIdRes.setManualImg08(recipe.getManualImg08());
-                getRecipeIdRes.setManual09(recipe.getManual09());
-                getRecipeIdRes.setManualImg09(recipe.getManualImg09());
-                getRecipeIdRes.setManual10(recipe.getManual10());
-                getRecipeIdRes.setManualImg10(recipe.getManualImg10());
-                getRecipeIdRes.setManual11(recipe.getManual11());
-                getRecipeIdRes.setManualImg11(recipe.getManualImg11());
-                getRecipeIdRes.setManual12(recipe.getManual12());
-                getRecipeIdRes.setManualImg12(recipe.getManualImg12());
-                getRecipeIdRes.setManual13(recipe.getManual13());
-                getRecipeIdRes.setManualImg13(recipe.getManualImg13());
-                getRecipeIdRes.setManual14(recipe.getManual14());
-                getRecipeIdRes.setManualImg14(recipe.getManualImg14());
-                getRecipeIdRes.setManual15(recipe.getManual15());
-                getRecipeIdRes.setManualImg15(recipe.getManualImg15());
-                getRecipeIdRes.setManual16(recipe.getManual16());
-                getRecipeIdRes.setManualImg16(recipe.getManualImg16());
-                getRecipeIdRes.setManual17(recipe.getManual17());
-                getRecipeIdRes.setManualImg17(recipe.getManualImg17());
-                getRecipeIdRes.setManual18(recipe.getManual18());
-                getRecipeIdRes.setManualImg18(recipe.getManualImg18());
-                getRecipeIdRes.setManual19(recipe.getManual19());
-                getRecipeIdRes.setManualImg19(recipe.getManualImg19());
-                getRecipeIdRes.setManual20(recipe.getManual20());
-                getRecipeIdRes.setManualImg20(recipe.getManualImg20());
-                getRecipeIdRes.setRcpNaTip(recipe.getRcpNaTip());
-
-                // 평균 평점 계산
-                double averageRating = recipe.getAverageRating();
-                getRecipeIdRes.setReviewAverge(averageRating);
-
-                recipe.setReviewAverge(averageRating);
-
-                //update
-                recipeRepository.save(recipe);
+                // 상세 조회 - 조리 순서 포함 (이 시점에 recipe_steps 로딩)
+                GetRecipeRes getRecipeIdRes = new GetRecipeRes(recipe, recipe.getSteps());
+                recipeDetailCache.put(rcpId, getRecipeIdRes, loadedAt);
 
                 return getRecipeIdRes;
             }
@@ -343,65 +201,149 @@ public class RecipeService {
         return null;
     }
 
-    // ====================================================================
+    /* 카탈로그 버전 - 클라이언트가 목록을 다시 받을지 확인하는 용도 */
+    public CatalogVersionRes getCatalogVersion() {
+        RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+        return new CatalogVersionRes(catalog.getVersion(), catalog.size(), catalog.getBuiltAt());
+    }
 
-    /* 정렬 */
-
-//    public List<GetRecipeOrderRes> getRecipeByOrderByInfoProDesc() throws BaseException { // 고단백
-//        List<GetRecipeOrderRes> getRecipeRes =
-//                recipeRepository.findAllByOrderByInfoProDesc()
-//                        .stream()
-//                        .map(GetRecipeOrderRes::new)
-//                        .toList();
-//
-//        if (getRecipeRes.isEmpty()) {
-//            throw new BaseException(DATABASE_ERROR);
-////            throw new IllegalStateException();
-//        }
-//        return getRecipeRes;
-//    }
-//
-//    public List<GetRecipeOrderRes> getRecipeByOrderByInfoFatAsc() throws BaseException { // 저지방
-//        List<GetRecipeOrderRes> getRecipeRes =
-//                recipeRepository.findAllByOrderByInfoFatAsc()
-//                        .stream()
-//                        .map(GetRecipeOrderRes::new)
-//                        .toList();
-//
-//        if (getRecipeRes.isEmpty()) {
-//            throw new BaseException(DATABASE_ERROR);
-////            throw new IllegalStateException();
-//        }
-//        return getRecipeRes;
-//    }
+    /* 상세 조회 캐시 현황 */
+    public CacheStatsRes getRecipeDetailCacheStats() {
+        return recipeDetailCache.stats();
+    }
+
+    /* 레시피 조리 순서 조회 */
+    @Transactional(readOnly = true)
+    public List<RecipeStepRes> getRecipeSteps(Long rcpId) throws BaseException {
+        if (!recipeRepository.existsById(rcpId)) {
+            throw new BaseException(RECIPE_NOT_EXISTS);
+        }
+        try {
+            return recipeStepRepository.findByRecipe_RcpIdOrderByStepNoAsc(rcpId)
+                    .stream()
+                    .map(RecipeStepRes::new)
+                    .toList();
+        } catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
 
     // ====================================================================
 
-    /* 레시피(리스트) 검색 */
-    public List<GetRecipeRes> searchRecipeByName(String keyword) throws BaseException {
+    /* 정렬 - 숫자 영양 정보 컬럼 기준, 페이지 단위 */
+
+    // 정렬 기준 파라미터 -> Recipe 숫자 컬럼
+    public static final Map<String, String> NUTRITION_SORT = Map.of(
+            "eng", "infoEngNum", "car", "infoCarNum", "pro", "infoProNum", "fat", "infoFatNum", "na", "infoNaNum");
+    public static final int MAX_PAGE_SIZE = 100;
+
+    @Transactional(readOnly = true)
+    public PageRes<GetRecipeOrderRes> getRecipeByOrderByInfoProDesc(int page, int size) throws BaseException { // 고단백
         try {
-            List<GetRecipeRes> getRecipeResList = recipeRepository.findByRcpNmContaining(keyword)
-                    .stream()
-                    .map(GetRecipeRes::new)
-                    .collect(Collectors.toList());
+            Page<GetRecipeOrderRes> getRecipeRes = recipeRepository
+                    .findByInfoProNumIsNotNullOrderByInfoProNumDescRcpIdDesc(PageRequest.of(page, size))
+                    .map(GetRecipeOrderRes::new);
+            return new PageRes<>(getRecipeRes);
+        } catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
 
-            if(getRecipeResList.isEmpty()) {
-                throw new BaseException(SHOW_FAIL_RECIPE);
+    @Transactional(readOnly = true)
+    public PageRes<GetRecipeOrderRes> getRecipeByOrderByInfoFatAsc(int page, int size) throws BaseException { // 저지방
+        try {
+            Page<GetRecipeOrderRes> getRecipeRes = recipeRepository
+                    .findByInfoFatNumIsNotNullOrderByInfoFatNumAscRcpIdAsc(PageRequest.of(page, size))
+                    .map(GetRecipeOrderRes::new);
+            return new PageRes<>(getRecipeRes);
+        } catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
+
+    /* 영양 정보 범위 검색 - 예) 단백질 20 이상, 나트륨 400 이하, 열량 300 ~ 600
+       영양 정보 컬럼 저장소 + 카탈로그 스냅샷에서 (DB 조회 없음), 서버 시작 직후 생성 전에는 DB 에서 */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PageRes<GetRecipeOrderRes> searchRecipeByNutrition(NutritionRangeReq req) throws BaseException {
+        String sortAttribute = NUTRITION_SORT.get(req.getSort());
+        if (sortAttribute == null || !req.isValidRange()
+                || req.getPage() < 0 || req.getSize() < 1 || req.getSize() > MAX_PAGE_SIZE) {
+            throw new BaseException(REQUEST_ERROR);
+        }
+        boolean descending = "desc".equalsIgnoreCase(req.getDirection());
+
+        RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+        if (nutritionStore.isLoaded() && catalog.isLoaded()) {
+            float[] min = {bound(req.getMinEng()), bound(req.getMinCar()), bound(req.getMinPro()), bound(req.getMinFat()), bound(req.getMinNa())};
+            float[] max = {bound(req.getMaxEng()), bound(req.getMaxCar()), bound(req.getMaxPro()), bound(req.getMaxFat()), bound(req.getMaxNa())};
+            NutritionStore.RangeResult result = nutritionStore.range(min, max, NutritionStore.FIELDS.indexOf(req.getSort()),
+                    descending, (int) Math.min((long) req.getPage() * req.getSize(), Integer.MAX_VALUE), req.getSize());
+
+            List<GetRecipeOrderRes> content = new ArrayList<>();
+            for (long rcpId : result.getRcpIds()) {
+                RecipeSummary recipe = catalog.get(rcpId);
+                if (recipe != null) {
+                    content.add(new GetRecipeOrderRes(recipe));
+                }
             }
-            return getRecipeResList;
+            return new PageRes<>(new PageImpl<>(content, PageRequest.of(req.getPage(), req.getSize()), result.getTotal()));
+        }
+
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        // 같은 값끼리는 rcpId 순으로 고정해서 페이지가 겹치거나 빠지지 않게 함
+        Sort sort = Sort.by(direction, sortAttribute).and(Sort.by(Sort.Direction.ASC, "rcpId"));
+
+        try {
+            Page<GetRecipeOrderRes> getRecipeRes = recipeRepository
+                    .findAll(RecipeSpecification.nutritionRange(req, sortAttribute), PageRequest.of(req.getPage(), req.getSize(), sort))
+                    .map(GetRecipeOrderRes::new);
+            return new PageRes<>(getRecipeRes);
         } catch (Exception exception) {
             throw new BaseException(DATABASE_ERROR);
         }
     }
 
+    /* 목표 영양소 근접 검색 - 예) 열량 500, 단백질 30 에 가장 가까운 레시피 */
+    public List<NutritionMatchRes> searchRecipeByNutritionTarget(NutritionTargetReq req) throws BaseException {
+        if (!req.isValidTarget() || req.getSize() < 1 || req.getSize() > MAX_PAGE_SIZE) {
+            throw new BaseException(REQUEST_ERROR);
+        }
+        RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+        if (!nutritionStore.isLoaded() || !catalog.isLoaded()) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+
+        float[] target = {bound(req.getEng()), bound(req.getCar()), bound(req.getPro()), bound(req.getFat()), bound(req.getNa())};
+        List<NutritionMatchRes> matches = new ArrayList<>();
+        for (NutritionStore.Match match : nutritionStore.nearest(target, req.getSize())) {
+            RecipeSummary recipe = catalog.get(match.getRcpId());
+            if (recipe != null) {
+                matches.add(new NutritionMatchRes(recipe, match.getDistance()));
+            }
+        }
+        return matches;
+    }
+
+    // 조건 값 -> 영양 정보 저장소 값 (없으면 NaN)
+    private static float bound(Double value) {
+        return value == null ? Float.NaN : value.floatValue();
+    }
+
+    // ====================================================================
+
+    /* 레시피(리스트) 검색 - 키워드 검색은 RecipeTextSearchService (전문 검색 색인) */
+
+    /* 재료로 레시피 검색 - 재료 메모리 색인 + 카탈로그 스냅샷 (DB 조회 없음) */
     public List<GetRecipeRes> searchRecipeByRcpPartsDtls(String keyword) throws BaseException {
         try {
-            List<GetRecipeRes> getRecipeResList = recipeRepository.findByRcpPartsDtlsContaining(keyword)
+            RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+            List<GetRecipeRes> getRecipeResList = ingredientSearchService.findRcpIds(keyword)
                     .stream()
+                    .map(catalog::get)
+                    .filter(Objects::nonNull)
                     .map(GetRecipeRes::new)
                     .toList();
 
-
             if(getRecipeResList.isEmpty()) {
                 throw new BaseException(SHOW_FAIL_RECIPE);
             }
@@ -411,237 +353,202 @@ public class RecipeService {
         }
     }
 
-    /* 재료 출력 */
+    /* 재료 출력 - 레시피명이 정확하지 않아도 가장 비슷한 레시피의 재료 ("부추콩가루 찜" -> "부추 콩가루 찜") */
     public List<String> searchRcpPartsDtlsByRcpNm(String rcpNm) throws BaseException {
-        /**
-         * <문제점>
-         *     정확한 명칭 "부추 콩가루 찜" 검색 해야 재료 출력
-         * </문제점>
-         * <해결방안>
-         *      findByRcpNm().isEmpty()면, -> findByRcpNmContaining 사용?
-         * </해결방안>
-         */
-        Recipe recipe = recipeRepository.findByRcpNm(rcpNm)
-                .orElseThrow(() -> new BaseException(DATABASE_ERROR));
-        GetRecipeRes response = new GetRecipeRes(recipe);
-//        return Collections.singletonList(response.getRcpPartsDtls()); // 문자열 출력
-
-        // 문자열에서 "\n"과 ","을 기준으로 분할하여 리스트로 저장
-        String[] ingredients = response.getRcpPartsDtls().split("[\\n,]");
-        List<String> ingredients_list = new ArrayList<>();
-
-        // 빈 문자열이나 공백 문자열을 제외하고 리스트에 추가
-        for (String ingredient : ingredients) {
-            ingredient = ingredient.trim();
-            if (!ingredient.isEmpty()) {
-                ingredients_list.add(ingredient);
-            }
-        }
-        return ingredients_list;
+        RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+        RecipeSummary recipe = recipeNameResolver.resolve(rcpNm)
+                .map(catalog::get)
+                .orElseThrow(() -> new BaseException(RECIPE_NOT_EXISTS));
+
+        // 저장 시 파싱해 둔 재료 ("연두부 75g(3/4모)")
+        return recipe.getIngredients();
     }
 
 
     // ====================================================================
 
 
-    //키워드 기반 맞춤형 레시피 추출
-    public GetRecipeRes searchGetRecipeResByKeyword (String rcpNm) throws BaseException {
-
-        try{
-            //System.out.println(rcpNm);
-
-            Optional<Recipe> recipeOptional = recommendRepository.findByRcpNm(rcpNm);
-
-
-            if(recipeOptional.isPresent()){
-
-                Recipe recipe = recipeOptional.get();
-
-                GetRecipeRes getRecipeIdRes = new GetRecipeRes();
-                getRecipeIdRes.setRcpId(recipe.getRcpId());
-                getRecipeIdRes.setRcpSeq(recipe.getRcpSeq());
-                getRecipeIdRes.setRcpNm(recipe.getRcpNm());
-                getRecipeIdRes.setRcpWay2(recipe.getRcpWay2());
-                getRecipeIdRes.setRcpPat2(recipe.getRcpPat2());
-                getRecipeIdRes.setInfoWgt(recipe.getInfoWgt());
-                getRecipeIdRes.setInfoEng(recipe.getInfoEng());
-                getRecipeIdRes.setInfoCar(recipe.getInfoCar());
-                getRecipeIdRes.setInfoPro(recipe.getInfoPro());
-                getRecipeIdRes.setInfoFat(recipe.getInfoFat());
-                getRecipeIdRes.setInfoNa(recipe.getInfoNa());
-                getRecipeIdRes.setHashTag(recipe.getHashTag());
-                getRecipeIdRes.setAttFileNoMain(recipe.getAttFileNoMain());
-                getRecipeIdRes.setAttFileNoMk(recipe.getAttFileNoMk());
-
-                /* 재료 */
-//                getRecipeIdRes.setRcpPartsDtls(new ArrayList<>(recipe.getRcpPartsDtls()));
-                getRecipeIdRes.setRcpPartsDtls(recipe.getRcpPartsDtls());
-
-                getRecipeIdRes.setManual01(recipe.getManual01());
-                getRecipeIdRes.setManualImg01(recipe.getManualImg01());
-                getRecipeIdRes.setManual02(recipe.getManual02());
-                getRecipeIdRes.setManualImg02(recipe.getManualImg02());
-                getRecipeIdRes.setManual03(recipe.getManual03());
-                getRecipeIdRes.setManualImg03(recipe.getManualImg03());
-                getRecipeIdRes.setManual04(recipe.getManual04());
-                getRecipeIdRes.setManualImg04(recipe.getManualImg04());
-                getRecipeIdRes.setManual05(recipe.getManual05());
-                getRecipeIdRes.setManualImg05(recipe.getManualImg05());
-                getRecipeIdRes.setManual06(recipe.getManual06());
-                getRecipeIdRes.setManualImg06(recipe.getManualImg06());
-                getRecipeIdRes.setManual07(recipe.getManual07());
-                getRecipeIdRes.setManualImg07(recipe.getManualImg07());
-                getRecipeIdRes.setManual08(recipe.getManual08());
-                getRecipeIdRes.setManualImg08(recipe.getManualImg08());
-                getRecipeIdRes.setManual09(recipe.getManual09());
-                getRecipeIdRes.setManualImg09(recipe.getManualImg09());
-                getRecipeIdRes.setManual10(recipe.getManual10());
-                getRecipeIdRes.setManualImg10(recipe.getManualImg10());
-                getRecipeIdRes.setManual11(recipe.getManual11());
-                getRecipeIdRes.setManualImg11(recipe.getManualImg11());
-                getRecipeIdRes.setManual12(recipe.getManual12());
-                getRecipeIdRes.setManualImg12(recipe.getManualImg12());
-                getRecipeIdRes.setManual13(recipe.getManual13());
-                getRecipeIdRes.setManualImg13(recipe.getManualImg13());
-                getRecipeIdRes.setManual14(recipe.getManual14());
-                getRecipeIdRes.setManualImg14(recipe.getManualImg14());
-                getRecipeIdRes.setManual15(recipe.getManual15());
-                getRecipeIdRes.setManualImg15(recipe.getManualImg15());
-                getRecipeIdRes.setManual16(recipe.getManual16());
-                getRecipeIdRes.setManualImg16(recipe.getManualImg16());
-                getRecipeIdRes.setManual17(recipe.getManual17());
-                getRecipeIdRes.setManualImg17(recipe.getManualImg17());
-                getRecipeIdRes.setManual18(recipe.getManual18());
-                getRecipeIdRes.setManualImg18(recipe.getManualImg18());
-                getRecipeIdRes.setManual19(recipe.getManual19());
-                getRecipeIdRes.setManualImg19(recipe.getManualImg19());
-                getRecipeIdRes.setManual20(recipe.getManual20());
-                getRecipeIdRes.setManualImg20(recipe.getManualImg20());
-                getRecipeIdRes.setRcpNaTip(recipe.getRcpNaTip());
-
-                // 평균 평점 계산
-                double averageRating = recipe.getAverageRating();
-                getRecipeIdRes.setReviewAverge(averageRating);
-
-                recipe.setReviewAverge(averageRating);
-
-                //update
-                recipeRepository.save(recipe);
-
-                return getRecipeIdRes;
+    /* 선호 / 알러지 재료 기반 추천 - 재료 메모리 색인 + 카탈로그 스냅샷 (외부 추천 서버, DB 조회 없음) */
+    public List<GetRecipeRes> recommendRecipesByIngredients(FlaskDTO userProfile) throws BaseException {
+        try {
+            return ingredientSearchService.recommend(userProfile.getUser_likes(), userProfile.getUser_allergies(),
+                            IngredientSearchService.RECOMMEND_SIZE)
+                    .stream()
+                    .map(GetRecipeRes::new)
+                    .toList();
+        } catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
 
+    /*
+     * 리뷰 평점 기반 협업 필터링 추천
+     * 평점 기록이 없거나 이웃이 없거나 모델 생성 전이면 인기 급상승 순, 그것도 없으면 평균 평점 높은 순
+     * 어느 경우든 사용자가 이미 평가한 레시피는 제외
+     */
+    public List<GetRecipeRes> recommendRecipesCollaborative(Long userId) throws BaseException {
+        try {
+            Set<Long> rated = collaborativeFilteringService.ratedRcpIds(userId);
+            // 야간 배치로 미리 계산한 행이 있으면 그대로, 없으면(새 사용자, 리뷰 변경 직후) 모델에서 바로 계산해 저장
+            // 바로 계산할 때는 최근에 보여 준 레시피를 뒤로 보냄
+            List<Long> rcpIds;
+            Optional<List<Long>> precomputed = recommendPrecomputeService.findPrecomputed(userId);
+            if (precomputed.isPresent()) {
+                rcpIds = precomputed.get();
+            } else if (collaborativeFilteringService.isReady()) {
+                // 계산 전에 평점을 읽은 시각을 먼저 잡음 (계산 중에 다시 읽어도 저장 기준은 더 이른 시각)
+                long version = collaborativeFilteringService.stats().getVersion();
+                long ratingsReadAt = collaborativeFilteringService.ratingsReadAt(userId);
+                rcpIds = collaborativeFilteringService.recommend(userId, CollaborativeFilteringService.RECOMMEND_SIZE,
+                        recordService.recentlyShown(userId));
+                saveLive(userId, rcpIds, version, ratingsReadAt);
+            } else {
+                log.info("협업 필터링 모델 생성 전 (userId {}) - 인기 급상승 순으로 대체", userId);
+                rcpIds = List.of();
             }
-            else {
-                GetRecipeRes getRecipeIdRes = new GetRecipeRes();
-                getRecipeIdRes.setRcpNm(rcpNm);
-
-                return getRecipeIdRes;
+            rcpIds = rcpIds.stream().filter(rcpId -> !rated.contains(rcpId)).toList();
+            RecipeBatchRes resolved = toBatchRes(rcpIds, resolveRecipes(rcpIds));
+            if (!resolved.getMissing().isEmpty()) {
+                log.warn("추천 레시피 {} 개를 찾지 못함 - {}", resolved.getMissing().size(), resolved.getMissing());
             }
-        } catch (Exception exception){
+            List<GetRecipeRes> getRecipeResList = resolved.getRecipes();
+            if (getRecipeResList.isEmpty()) {
+                // 평가한 레시피를 빼도 RECOMMEND_SIZE 개가 남도록 그만큼 더 읽음
+                RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+                getRecipeResList = trendingService.top(CollaborativeFilteringService.RECOMMEND_SIZE + rated.size()).stream()
+                        .filter(trending -> !rated.contains(trending.getRcpId()))
+                        .map(trending -> catalog.get(trending.getRcpId()))
+                        .filter(Objects::nonNull)
+                        .limit(CollaborativeFilteringService.RECOMMEND_SIZE)
+                        .map(GetRecipeRes::new)
+                        .toList();
+            }
+            if (getRecipeResList.isEmpty()) {
+                return recipeCatalog.snapshot().page("rating", null, 0L, CollaborativeFilteringService.RECOMMEND_SIZE + rated.size())
+                        .stream()
+                        .filter(recipe -> !rated.contains(recipe.getRcpId()))
+                        .limit(CollaborativeFilteringService.RECOMMEND_SIZE)
+                        .map(GetRecipeRes::new)
+                        .toList();
+            }
+            return getRecipeResList;
+        } catch (Exception exception) {
+            log.error("협업 필터링 추천 실패 (userId {})", userId, exception);
             throw new BaseException(DATABASE_ERROR);
         }
     }
 
+    // 바로 계산한 추천을 미리 계산한 행으로 저장 - 실패해도 추천 응답은 그대로 (다음 요청에서 다시 계산)
+    private void saveLive(Long userId, List<Long> rcpIds, long version, long ratingsReadAt) {
+        try {
+            recommendPrecomputeService.saveLive(userId, rcpIds, version, ratingsReadAt);
+        } catch (RuntimeException exception) {
+            log.warn("바로 계산한 추천 저장 실패 (userId {}) - {}", userId, exception.getMessage());
+        }
+    }
 
+    /* 인기 급상승 레시피 - 메모리 순위 상위 size 개 (카탈로그에 없는 레시피는 제외) */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<TrendingRecipeRes> getTrendingRecipes(int size) throws BaseException {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BaseException(REQUEST_ERROR);
+        }
+        RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+        List<TrendingRecipeRes> trending = new ArrayList<>();
+        for (TrendingService.Entry entry : trendingService.top(size)) {
+            RecipeSummary recipe = catalog.get(entry.getRcpId());
+            if (recipe != null) {
+                trending.add(new TrendingRecipeRes(recipe, entry.getScore()));
+            }
+        }
+        return trending;
+    }
 
-    public GetRecipeRes searchGetRecipeResByRcpId (String recipeId) throws BaseException {
-
-        try{
-
-            Optional<Recipe> recipeOptional = recommendRepository.findByRcpSeq(recipeId);
-
-
-            if(recipeOptional.isPresent()){
-
-                Recipe recipe = recipeOptional.get();
+    /* 협업 필터링 모델 현황 */
+    public CfModelStatsRes getCollaborativeModelStats() {
+        return collaborativeFilteringService.stats();
+    }
 
-                GetRecipeRes getRecipeIdRes = new GetRecipeRes();
-                getRecipeIdRes.setRcpId(recipe.getRcpId());
-                getRecipeIdRes.setRcpSeq(recipe.getRcpSeq());
-                getRecipeIdRes.setRcpNm(recipe.getRcpNm());
-                getRecipeIdRes.setRcpWay2(recipe.getRcpWay2());
-                getRecipeIdRes.setRcpPat2(recipe.getRcpPat2());
-                getRecipeIdRes.setInfoWgt(recipe.getInfoWgt());
-                getRecipeIdRes.setInfoEng(recipe.getInfoEng());
-                getRecipeIdRes.setInfoCar(recipe.getInfoCar());
-                getRecipeIdRes.setInfoPro(recipe.getInfoPro());
-                getRecipeIdRes.setInfoFat(recipe.getInfoFat());
-                getRecipeIdRes.setInfoNa(recipe.getInfoNa());
-                getRecipeIdRes.setHashTag(recipe.getHashTag());
-                getRecipeIdRes.setAttFileNoMain(recipe.getAttFileNoMain());
-                getRecipeIdRes.setAttFileNoMk(recipe.getAttFileNoMk());
-
-                /* 재료 */
-//                getRecipeIdRes.setRcpPartsDtls(new ArrayList<>(recipe.getRcpPartsDtls()));
-                getRecipeIdRes.setRcpPartsDtls(recipe.getRcpPartsDtls());
-
-                getRecipeIdRes.setManual01(recipe.getManual01());
-                getRecipeIdRes.setManualImg01(recipe.getManualImg01());
-                getRecipeIdRes.setManual02(recipe.getManual02());
-                getRecipeIdRes.setManualImg02(recipe.getManualImg02());
-                getRecipeIdRes.setManual03(recipe.getManual03());
-                getRecipeIdRes.setManualImg03(recipe.getManualImg03());
-                getRecipeIdRes.setManual04(recipe.getManual04());
-                getRecipeIdRes.setManualImg04(recipe.getManualImg04());
-                getRecipeIdRes.setManual05(recipe.getManual05());
-                getRecipeIdRes.setManualImg05(recipe.getManualImg05());
-                getRecipeIdRes.setManual06(recipe.getManual06());
-                getRecipeIdRes.setManualImg06(recipe.getManualImg06());
-                getRecipeIdRes.setManual07(recipe.getManual07());
-                getRecipeIdRes.setManualImg07(recipe.getManualImg07());
-                getRecipeIdRes.setManual08(recipe.getManual08());
-                getRecipeIdRes.setManualImg08(recipe.getManualImg08());
-                getRecipeIdRes.setManual09(recipe.getManual09());
-                getRecipeIdRes.setManualImg09(recipe.getManualImg09());
-                getRecipeIdRes.setManual10(recipe.getManual10());
-                getRecipeIdRes.setManualImg10(recipe.getManualImg10());
-                getRecipeIdRes.setManual11(recipe.getManual11());
-                getRecipeIdRes.setManualImg11(recipe.getManualImg11());
-                getRecipeIdRes.setManual12(recipe.getManual12());
-                getRecipeIdRes.setManualImg12(recipe.getManualImg12());
-                getRecipeIdRes.setManual13(recipe.getManual13());
-                getRecipeIdRes.setManualImg13(recipe.getManualImg13());
-                getRecipeIdRes.setManual14(recipe.getManual14());
-                getRecipeIdRes.setManualImg14(recipe.getManualImg14());
-                getRecipeIdRes.setManual15(recipe.getManual15());
-                getRecipeIdRes.setManualImg15(recipe.getManualImg15());
-                getRecipeIdRes.setManual16(recipe.getManual16());
-                getRecipeIdRes.setManualImg16(recipe.getManualImg16());
-                getRecipeIdRes.setManual17(recipe.getManual17());
-                getRecipeIdRes.setManualImg17(recipe.getManualImg17());
-                getRecipeIdRes.setManual18(recipe.getManual18());
-                getRecipeIdRes.setManualImg18(recipe.getManualImg18());
-                getRecipeIdRes.setManual19(recipe.getManual19());
-                getRecipeIdRes.setManualImg19(recipe.getManualImg19());
-                getRecipeIdRes.setManual20(recipe.getManual20());
-                getRecipeIdRes.setManualImg20(recipe.getManualImg20());
-                getRecipeIdRes.setRcpNaTip(recipe.getRcpNaTip());
-
-                // 평균 평점 계산
-                double averageRating = recipe.getAverageRating();
-                getRecipeIdRes.setReviewAverge(averageRating);
-
-
-                recipe.setReviewAverge(averageRating);
-
-                //update
-                recipeRepository.save(recipe);
+    /**
+     * 레시피 여러 개 한 번에 조회 - 요청 순서 유지, 찾지 못한 id / 일련 번호는 missing
+     * rcpIds, rcpSeqs 중 하나만
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public RecipeBatchRes getRecipesInBatch(List<Long> rcpIds, List<String> rcpSeqs) throws BaseException {
+        boolean byId = rcpIds != null && !rcpIds.isEmpty();
+        boolean bySeq = rcpSeqs != null && !rcpSeqs.isEmpty();
+        if (byId == bySeq || (byId ? rcpIds.size() : rcpSeqs.size()) > MAX_PAGE_SIZE) {
+            throw new BaseException(REQUEST_ERROR);
+        }
+        try {
+            return byId ? toBatchRes(rcpIds, resolveRecipes(rcpIds)) : toBatchRes(rcpSeqs, resolveRecipesBySeq(rcpSeqs));
+        } catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
 
-                return getRecipeIdRes;
+    // 요청 순서대로 찾은 레시피 / 찾지 못한 키
+    private static <K> RecipeBatchRes toBatchRes(List<K> keys, Map<K, RecipeSummary> recipes) {
+        List<GetRecipeRes> found = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (K key : keys) {
+            RecipeSummary recipe = recipes.get(key);
+            if (recipe != null) {
+                found.add(new GetRecipeRes(recipe));
+            } else {
+                missing.add(String.valueOf(key));
+            }
+        }
+        return new RecipeBatchRes(found, missing);
+    }
 
+    /*
+     * rcpId -> 레시피 - 카탈로그 스냅샷에 없는 id 만 IN 쿼리 한 번으로 DB 에서 읽음
+     * 평균 평점은 레시피 행의 평점 합계 / 개수 컬럼으로 계산하므로 리뷰를 읽지 않는다.
+     */
+    private Map<Long, RecipeSummary> resolveRecipes(Collection<Long> rcpIds) {
+        RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+        Map<Long, RecipeSummary> recipes = new HashMap<>();
+        Set<Long> rest = new LinkedHashSet<>();
+        for (Long rcpId : rcpIds) {
+            RecipeSummary recipe = catalog.get(rcpId);
+            if (recipe != null) {
+                recipes.put(rcpId, recipe);
+            } else if (rcpId != null) {
+                rest.add(rcpId);
+            }
+        }
+        if (!rest.isEmpty()) {
+            for (Recipe recipe : recipeRepository.findAllById(rest)) {
+                recipes.put(recipe.getRcpId(), new RecipeSummary(recipe, List.of()));
             }
-            else {
-                GetRecipeRes getRecipeIdRes = new GetRecipeRes();
-                getRecipeIdRes.setRcpSeq(recipeId.toString());
+        }
+        return recipes;
+    }
 
-                return getRecipeIdRes;
+    // rcpSeq -> 레시피 - 카탈로그 스냅샷에 없는 일련 번호만 IN 쿼리 한 번으로 DB 에서 읽음
+    private Map<String, RecipeSummary> resolveRecipesBySeq(Collection<String> rcpSeqs) {
+        RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+        Map<String, RecipeSummary> recipes = new HashMap<>();
+        Set<String> rest = new LinkedHashSet<>();
+        for (String rcpSeq : rcpSeqs) {
+            RecipeSummary recipe = catalog.getBySeq(rcpSeq);
+            if (recipe != null) {
+                recipes.put(rcpSeq, recipe);
+            } else if (rcpSeq != null) {
+                rest.add(rcpSeq);
+            }
+        }
+        if (!rest.isEmpty()) {
+            for (Recipe recipe : recipeRepository.findByRcpSeqIn(rest)) {
+                recipes.putIfAbsent(recipe.getRcpSeq(), new RecipeSummary(recipe, List.of()));
             }
-        } catch (Exception exception){
-            throw new BaseException(DATABASE_ERROR);
         }
+        return recipes;
     }
 
     //레시피를 반환해 리뷰 평균점수를 위한
+    @Transactional(readOnly = true)
     public Recipe getRecipeByRcpId(Long rcpId) throws BaseException {
         try{
             Optional<Recipe> recipeOptional = recipeRepository.findByRcpId(rcpId);
@@ -662,12 +569,16 @@ public class RecipeService {
             Optional<User> userOptional = userRepository.findById(userId);
             if (userOptional.isPresent()){
                 User user = userOptional.get();
-                Record record = recordRepository.findByUser(user).orElse(null);
+                RecommendHistory history = recordService.findLatest(userId).orElse(null);
 
+                // 가장 최근 추천 기록의 일련 번호 목록
                 GetRecord getRecord = new GetRecord();
-                getRecord.setRecordId(record != null ? record.getRecordId() : null);
+                getRecord.setRecordId(history != null ? history.getHistoryId() : null);
                 getRecord.setUser(user);
-                getRecord.setRecordNum(record != null ? record.getRecordNum() : new ArrayList<>());
+                getRecord.setRecordNum(history != null
+                        ? toBatchRes(history.rcpIdList(), resolveRecipes(history.rcpIdList())).getRecipes().stream()
+                                .map(GetRecipeRes::getRcpSeq).toList()
+                        : new ArrayList<>());
 
                 return getRecord;
             }
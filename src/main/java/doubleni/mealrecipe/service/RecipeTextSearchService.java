@@ -0,0 +1,300 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.config.exception.BaseException;
+import doubleni.mealrecipe.model.DTO.PageRes;
+import doubleni.mealrecipe.model.DTO.RecipeSearchHitRes;
+import doubleni.mealrecipe.model.Recipe;
+import doubleni.mealrecipe.model.RecipeStep;
+import doubleni.mealrecipe.model.RecipeSummary;
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import doubleni.mealrecipe.utils.NgramTokenizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static doubleni.mealrecipe.config.exception.BaseResponseStatus.*;
+
+/**
+ * 레시피 전문 검색 (메모리 역색인 + BM25)
+ * 레시피명, 해시태그, 저감 조리법, 조리 순서 설명을 한글 bigram 으로 색인하고 BM25 점수로 정렬한다.
+ * 필드마다 가중치를 두어 (레시피명 3, 해시태그 2, 나머지 1) 레시피명에 나온 단어가 더 높은 점수를 받는다.
+ * json 저장이 끝나면 전체를 다시 만들고, 저장 중에는 커밋된 청크의 레시피만 바로 반영한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecipeTextSearchService {
+
+    public static final int MAX_SIZE = 100;
+
+    // BM25 파라미터
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // 필드 가중치
+    private static final float NAME_WEIGHT = 3f;
+    private static final float HASH_TAG_WEIGHT = 2f;
+    private static final float TIP_WEIGHT = 1f;
+    private static final float STEP_WEIGHT = 1f;
+
+    // 레시피명에 검색어가 그대로 들어 있으면 점수 배율
+    private static final float NAME_MATCH_BOOST = 2f;
+
+    // 검색어 bigram 중 이 비율 이상이 들어 있는 레시피만 결과에 포함
+    private static final double MIN_SHOULD_MATCH = 0.5;
+
+    private final RecipeBatchRepository recipeBatchRepository;
+    private final RecipeCatalog recipeCatalog;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private TextIndex index = new TextIndex(); // lock 으로 보호
+
+    /* json 저장 완료 / 서버 시작 - 전체 재생성 (삭제 표시된 칸 정리) */
+    @EventListener
+    public void onRecipeDataChanged(RecipeDataChangedEvent event) {
+        try {
+            rebuild();
+        } catch (RuntimeException exception) {
+            log.error("전문 검색 색인 생성 실패 ({}) - {}", event.getReason(), exception.getMessage());
+        }
+    }
+
+    /* 청크 커밋 - 바뀐 레시피만 반영 */
+    @EventListener
+    public void onRecipeChunkSaved(RecipeChunkSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getDeletedRcpIds().forEach(index::remove);
+            for (Recipe recipe : event.getSaved()) {
+                if (recipe.getRcpId() == null) {
+                    continue;
+                }
+                StringBuilder steps = new StringBuilder();
+                if (recipe.getSteps() != null) {
+                    for (RecipeStep step : recipe.getSteps()) {
+                        if (step.getDescription() != null) {
+                            steps.append(step.getDescription()).append('\n');
+                        }
+                    }
+                }
+                index.add(recipe.getRcpId(), recipe.getRcpNm(), recipe.getHashTag(), recipe.getRcpNaTip(), steps.toString());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+
+        Map<Long, String[]> fields = new LinkedHashMap<>();
+        recipeBatchRepository.forEachRecipeText((RowCallbackHandler) rs ->
+                fields.put(rs.getLong(1), new String[]{rs.getString(2), rs.getString(3), rs.getString(4)}));
+        Map<Long, StringBuilder> steps = new HashMap<>();
+        recipeBatchRepository.forEachStepText((rcpId, description) ->
+                steps.computeIfAbsent(rcpId, key -> new StringBuilder()).append(description).append('\n'));
+
+        TextIndex built = new TextIndex();
+        fields.forEach((rcpId, values) -> {
+            StringBuilder stepText = steps.get(rcpId);
+            built.add(rcpId, values[0], values[1], values[2], stepText == null ? null : stepText.toString());
+        });
+
+        lock.writeLock().lock();
+        try {
+            this.index = built;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("전문 검색 색인 생성 - 레시피 {}, 단어 {} ({} ms)", built.live, built.postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 키워드 검색 - BM25 점수 내림차순, 같으면 레시피 id 오름차순
+     */
+    public PageRes<RecipeSearchHitRes> search(String keyword, int page, int size) throws BaseException {
+        if (keyword == null || keyword.isBlank() || page < 0 || size < 1 || size > MAX_SIZE) {
+            throw new BaseException(REQUEST_ERROR);
+        }
+        List<String> terms = NgramTokenizer.tokenize(keyword).stream().distinct().toList();
+        String phrase = compact(keyword);
+
+        List<long[]> pageHits = new ArrayList<>(); // {rcpId, score(float bits)}
+        int total;
+
+        lock.readLock().lock();
+        try {
+            TextIndex current = this.index;
+            float[] scores = current.score(terms, Math.max(1, (int) Math.ceil(terms.size() * MIN_SHOULD_MATCH)));
+
+            List<Integer> matched = new ArrayList<>();
+            for (int slot = 0; slot < scores.length; slot++) {
+                if (scores[slot] > 0) {
+                    if (current.names[slot] != null && current.names[slot].contains(phrase)) {
+                        scores[slot] *= NAME_MATCH_BOOST;
+                    }
+                    matched.add(slot);
+                }
+            }
+            matched.sort((a, b) -> scores[a] != scores[b]
+                    ? Float.compare(scores[b], scores[a])
+                    : Long.compare(current.rcpIds[a], current.rcpIds[b]));
+
+            total = matched.size();
+            int from = (int) Math.min((long) page * size, total);
+            for (int slot : matched.subList(from, Math.min(from + size, total))) {
+                pageHits.add(new long[]{current.rcpIds[slot], Float.floatToIntBits(scores[slot])});
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // 결과 레시피 정보는 카탈로그 스냅샷에서 (DB 조회 없음)
+        RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+        List<RecipeSearchHitRes> content = new ArrayList<>();
+        for (long[] hit : pageHits) {
+            RecipeSummary recipe = catalog.get(hit[0]);
+            if (recipe != null) {
+                content.add(new RecipeSearchHitRes(recipe, Float.intBitsToFloat((int) hit[1])));
+            }
+        }
+        return new PageRes<>(new PageImpl<>(content, PageRequest.of(page, size), total));
+    }
+
+    // 레시피명 포함 여부 비교용 - 소문자, 공백 제거
+    private static String compact(String text) {
+        return text == null ? null : text.toLowerCase().replaceAll("\\s+", "");
+    }
+
+    /* 역색인 - 레시피마다 칸(slot) 번호를 주고, 수정/삭제된 칸은 삭제 표시 후 재생성 때 정리 */
+    private static final class TextIndex {
+        long[] rcpIds = new long[64];
+        float[] lengths = new float[64]; // 가중치를 반영한 문서 길이
+        String[] names = new String[64]; // compact 한 레시피명 (삭제된 칸은 null)
+        int slots;
+        int live;
+        double totalLength;
+
+        final BitSet deleted = new BitSet();
+        final Map<Long, Integer> slotOf = new HashMap<>();
+        final Map<String, Postings> postings = new HashMap<>();
+
+        void add(long rcpId, String name, String hashTag, String tip, String steps) {
+            remove(rcpId);
+
+            Map<String, float[]> tf = new HashMap<>();
+            float length = accumulate(tf, name, NAME_WEIGHT) + accumulate(tf, hashTag, HASH_TAG_WEIGHT)
+                    + accumulate(tf, tip, TIP_WEIGHT) + accumulate(tf, steps, STEP_WEIGHT);
+
+            if (slots == rcpIds.length) {
+                int capacity = slots * 2;
+                rcpIds = Arrays.copyOf(rcpIds, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                names = Arrays.copyOf(names, capacity);
+            }
+            int slot = slots++;
+            rcpIds[slot] = rcpId;
+            lengths[slot] = length;
+            names[slot] = compact(name);
+            slotOf.put(rcpId, slot);
+            live++;
+            totalLength += length;
+
+            tf.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new Postings()).add(slot, weight[0]));
+        }
+
+        void remove(long rcpId) {
+            Integer slot = slotOf.remove(rcpId);
+            if (slot != null) {
+                deleted.set(slot);
+                names[slot] = null;
+                live--;
+                totalLength -= lengths[slot];
+            }
+        }
+
+        private static float accumulate(Map<String, float[]> tf, String text, float weight) {
+            float[] length = {0};
+            NgramTokenizer.tokenize(text, term -> {
+                tf.computeIfAbsent(term, key -> new float[1])[0] += weight;
+                length[0] += weight;
+            });
+            return length[0];
+        }
+
+        /**
+         * 칸별 BM25 점수, minMatch 개 미만의 검색어만 들어 있는 칸은 0
+         * 삭제 표시된 칸은 재생성 전까지 df 에는 포함된다. (점수에 주는 영향은 작음)
+         */
+        float[] score(List<String> terms, int minMatch) {
+            float[] scores = new float[slots];
+            int[] hits = new int[slots];
+            int[] lastTerm = new int[slots];
+            Arrays.fill(lastTerm, -1);
+            double avgLength = live == 0 ? 1 : Math.max(1, totalLength / live);
+
+            for (int t = 0; t < terms.size(); t++) {
+                String term = terms.get(t);
+                // 한 글자 검색어는 그 글자가 들어간 bigram 전체로 확장
+                List<Postings> lists = new ArrayList<>();
+                if (term.length() == 1 && NgramTokenizer.isHangul(term.charAt(0))) {
+                    postings.forEach((key, list) -> {
+                        if (key.contains(term)) {
+                            lists.add(list);
+                        }
+                    });
+                } else if (postings.containsKey(term)) {
+                    lists.add(postings.get(term));
+                }
+
+                for (Postings list : lists) {
+                    double idf = Math.log(1 + (live - list.size + 0.5) / (list.size + 0.5));
+                    for (int i = 0; i < list.size; i++) {
+                        int slot = list.slots[i];
+                        if (deleted.get(slot)) {
+                            continue;
+                        }
+                        float tf = list.tfs[i];
+                        double norm = K1 * (1 - B + B * lengths[slot] / avgLength);
+                        scores[slot] += (float) (Math.max(idf, 0.01) * tf * (K1 + 1) / (tf + norm));
+                        if (lastTerm[slot] != t) {
+                            lastTerm[slot] = t;
+                            hits[slot]++;
+                        }
+                    }
+                }
+            }
+
+            for (int slot = 0; slot < slots; slot++) {
+                if (hits[slot] < minMatch) {
+                    scores[slot] = 0;
+                }
+            }
+            return scores;
+        }
+    }
+
+    /* 단어 하나의 (칸, 가중 빈도) 목록 - 칸 번호 오름차순으로 추가됨 */
+    private static final class Postings {
+        int[] slots = new int[2];
+        float[] tfs = new float[2];
+        int size;
+
+        void add(int slot, float tf) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            slots[size] = slot;
+            tfs[size] = tf;
+            size++;
+        }
+    }
+}
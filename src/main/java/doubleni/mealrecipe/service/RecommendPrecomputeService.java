@@ -0,0 +1,207 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.config.exception.BaseException;
+import doubleni.mealrecipe.model.DTO.CfModelStatsRes;
+import doubleni.mealrecipe.model.DTO.RecommendJobRes;
+import doubleni.mealrecipe.model.RecommendJob;
+import doubleni.mealrecipe.model.UserRecommendation;
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import doubleni.mealrecipe.repository.RecommendJobRepository;
+import doubleni.mealrecipe.repository.UserRecommendationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static doubleni.mealrecipe.config.exception.BaseResponseStatus.*;
+
+/**
+ * 사용자별 협업 필터링 추천 미리 계산 (야간 배치)
+ * 평점 기록이 있는 사용자를 id 순으로 CHUNK_SIZE 명씩 나눠, 묶음 안에서는 병렬로 계산하고 묶음마다 한 번에 저장한다.
+ * 묶음을 저장할 때마다 마지막 사용자 id 를 체크포인트로 남겨, 중단된 작업은 다음 실행 때 그 다음 사용자부터 이어서 계산한다.
+ * 추천 요청은 미리 계산한 행 하나만 읽고, 리뷰를 바꾼 사용자의 행은 커밋 직후 무효화(invalidated_at 기록)해 다음 요청에서 새로 계산한다.
+ * 새로 계산한 결과는 다시 저장하므로 무효화 후에도 바로 계산하는 요청은 한 번뿐이다.
+ * 저장은 계산에 쓴 모델이 평점을 읽은 시각(computed_at)이 invalidated_at 보다 늦을 때만 덮어쓰므로,
+ * 계산 도중 리뷰를 바꾼 사용자의 이전 평점 기준 결과는 저장되지 않는다. 추천이 없는 사용자는 빈 목록으로 덮어쓴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecommendPrecomputeService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final long RESUME_WINDOW_MS = 24 * 60 * 60 * 1000L; // 이보다 오래된 미완료 작업은 처음부터
+
+    private final CollaborativeFilteringService collaborativeFilteringService;
+    private final RecipeBatchRepository recipeBatchRepository;
+    private final UserRecommendationRepository userRecommendationRepository;
+    private final RecommendJobRepository recommendJobRepository;
+
+    // 한 번에 하나의 계산 작업만 실행
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "recommend-precompute");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile RecommendJob running;
+    private volatile boolean stopping;
+
+    // 매일 새벽 (기본 04:00)
+    @Scheduled(cron = "${recipe.recommend.precompute-cron:0 0 4 * * *}", zone = "Asia/Seoul")
+    public void nightly() {
+        try {
+            start();
+        } catch (BaseException exception) {
+            log.error("추천 미리 계산 시작 실패 - {}", exception.getStatus().getMessage());
+        }
+    }
+
+    /* 계산 작업 시작 (이미 실행 중이면 그 작업 반환) */
+    public synchronized RecommendJobRes start() throws BaseException {
+        if (running != null) {
+            return new RecommendJobRes(running);
+        }
+        try {
+            RecommendJob job = new RecommendJob();
+            job.setStatus(RecommendJob.RUNNING);
+            job.setStartedAt(new Timestamp(System.currentTimeMillis()));
+
+            // 완료되지 않은 이전 작업은 체크포인트 다음 사용자부터 이어서 계산
+            RecommendJob previous = recommendJobRepository.findFirstByOrderByJobIdDesc().orElse(null);
+            if (previous != null && !RecommendJob.COMPLETED.equals(previous.getStatus())
+                    && job.getStartedAt().getTime() - previous.getStartedAt().getTime() < RESUME_WINDOW_MS) {
+                job.setCheckpoint(previous.getCheckpoint());
+                job.setUsersDone(previous.getUsersDone());
+                job.setUsersWritten(previous.getUsersWritten());
+                job.setUsersSkipped(previous.getUsersSkipped());
+                log.info("추천 미리 계산 재시작 - 이전 job {} 의 사용자 {} 다음부터", previous.getJobId(), previous.getCheckpoint());
+            }
+            recommendJobRepository.save(job);
+
+            running = job;
+            executor.submit(() -> run(job));
+            return new RecommendJobRes(job);
+        } catch (Exception exception) {
+            throw new BaseException(DATABASE_ERROR);
+        }
+    }
+
+    /* 가장 최근 작업 현황 */
+    public RecommendJobRes getLatestJob() throws BaseException {
+        RecommendJob current = running;
+        if (current != null) {
+            return new RecommendJobRes(current);
+        }
+        RecommendJob job = recommendJobRepository.findFirstByOrderByJobIdDesc()
+                .orElseThrow(() -> new BaseException(RECOMMEND_JOB_NOT_EXISTS));
+        return new RecommendJobRes(job);
+    }
+
+    /* 미리 계산한 추천 (없거나 리뷰를 바꿔 무효화됐으면 empty) */
+    public Optional<List<Long>> findPrecomputed(Long userId) {
+        return userRecommendationRepository.findById(userId)
+                .filter(recommendation -> recommendation.getRcpIds() != null)
+                .map(UserRecommendation::rcpIdList);
+    }
+
+    /**
+     * 바로 계산한 추천 저장 (별도 트랜잭션) - 다음 요청부터는 야간 배치를 기다리지 않고 이 행을 읽음
+     * computedAt 은 계산에 쓴 평점을 읽은 시각 - 그 뒤에 리뷰를 바꿔 무효화된 사용자는 저장 쿼리에서 건너뜀
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveLive(Long userId, List<Long> rcpIds, long modelVersion, long computedAt) {
+        recipeBatchRepository.upsertUserRecommendations(Collections.singletonList(
+                new Object[]{userId, UserRecommendation.join(rcpIds), modelVersion, new Timestamp(computedAt)}));
+    }
+
+    /* 리뷰 작성 / 수정 / 삭제 커밋 후 - 그 사용자의 미리 계산한 추천 무효화 (별도 트랜잭션) */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onRecipeActivity(RecipeActivityEvent event) {
+        switch (event.getType()) {
+            case RecipeActivityEvent.REVIEW_POSTED, RecipeActivityEvent.REVIEW_UPDATED, RecipeActivityEvent.REVIEW_DELETED -> {
+                recipeBatchRepository.invalidateUserRecommendation(event.getUserId(), new Timestamp(System.currentTimeMillis()));
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void run(RecommendJob job) {
+        long start = System.nanoTime();
+        long done = 0;
+        try {
+            // 모델이 평점을 읽기 시작한 시각을 계산 시각으로 저장 - 그 뒤에 리뷰를 바꾼 사용자는 저장 쿼리에서 건너뜀
+            CfModelStatsRes model = collaborativeFilteringService.stats();
+            long version = model.getVersion();
+            Timestamp computedAt = new Timestamp(model.getBuiltAt());
+            long[] userIds = collaborativeFilteringService.userIds();
+            job.setModelVersion(version);
+            job.setUsersTotal(userIds.length);
+
+            int from = Arrays.binarySearch(userIds, job.getCheckpoint() + 1);
+            from = from < 0 ? -from - 1 : from;
+
+            for (; from < userIds.length; from += CHUNK_SIZE) {
+                if (stopping) {
+                    job.setStatus(RecommendJob.CANCELLED);
+                    return;
+                }
+                long[] part = Arrays.copyOfRange(userIds, from, Math.min(from + CHUNK_SIZE, userIds.length));
+
+                // 추천이 없는 사용자도 빈 목록으로 덮어써 이전 결과가 남지 않게 함
+                List<Object[]> rows = Arrays.stream(part).parallel()
+                        .mapToObj(userId -> new Object[]{userId, UserRecommendation.join(
+                                collaborativeFilteringService.recommend(userId, CollaborativeFilteringService.RECOMMEND_SIZE)), version, computedAt})
+                        .toList();
+                recipeBatchRepository.upsertUserRecommendations(rows);
+
+                long empty = rows.stream().filter(row -> ((String) row[1]).isEmpty()).count();
+                done += part.length;
+                job.setUsersDone(job.getUsersDone() + part.length);
+                job.setUsersWritten(job.getUsersWritten() + rows.size() - empty);
+                job.setUsersSkipped(job.getUsersSkipped() + empty);
+                job.setCheckpoint(part[part.length - 1]);
+                job.setUsersPerSec(usersPerSec(done, start));
+                recommendJobRepository.save(job);
+            }
+            job.setStatus(RecommendJob.COMPLETED);
+        } catch (RuntimeException exception) {
+            job.setStatus(RecommendJob.FAILED);
+            job.setMessage(exception.getMessage());
+        } finally {
+            job.setUsersPerSec(usersPerSec(done, start));
+            job.setFinishedAt(new Timestamp(System.currentTimeMillis()));
+            recommendJobRepository.save(job);
+            running = null;
+            log.info("추천 미리 계산 {} - 사용자 {} / {}, 저장 {}, {} 명/초", job.getStatus(), job.getUsersDone(),
+                    job.getUsersTotal(), job.getUsersWritten(), job.getUsersPerSec());
+        }
+    }
+
+    private static double usersPerSec(long users, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds > 0 ? Math.round(users / seconds * 10) / 10.0 : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 실행 중인 작업은 현재 묶음까지만 저장하고 종료 - 다음 실행 시 체크포인트부터 이어서 계산
+        stopping = true;
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,75 @@
+package doubleni.mealrecipe.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import doubleni.mealrecipe.model.DTO.GetRecipeRes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 협업 필터링 추천 결과 캐시 - userId 기준, 저장 후 ttl 이 지나면 만료
+ * 추천은 그 사용자의 평점이 바뀔 때만 달라지므로 본인이 리뷰를 쓰거나 고치거나 지웠을 때만 지운다.
+ * 다른 사용자 평점으로 인한 모델 변화는 ttl 안에서 늦게 반영된다.
+ */
+@Component
+public class RecommendationCache {
+
+    private final Cache<Long, List<GetRecipeRes>> cache;
+    private final AtomicLong epoch = new AtomicLong(); // 무효화할 때마다 증가
+
+    public RecommendationCache(@Value("${recipe.recommend.cache-ttl-ms:600000}") long ttlMs,
+                               @Value("${recipe.recommend.cache-max-users:10000}") long maxUsers) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public List<GetRecipeRes> getIfPresent(Long userId) {
+        return cache.getIfPresent(userId);
+    }
+
+    // 추천 계산 직전에 받아 두고 put 에 넘김
+    public long epoch() {
+        return epoch.get();
+    }
+
+    /* 계산하는 동안 무효화가 없었을 때만 저장 (계산 도중 커밋된 리뷰를 놓쳤을 수 있음) */
+    public void put(Long userId, List<GetRecipeRes> recommendations, long loadedAt) {
+        if (epoch.get() == loadedAt) {
+            cache.put(userId, List.copyOf(recommendations));
+        }
+    }
+
+    public void invalidate(Long userId) {
+        epoch.incrementAndGet();
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    /* 리뷰 작성 / 수정 / 삭제 커밋 후 - 그 사용자의 추천만 제거 (좋아요는 추천에 쓰지 않음) */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeActivity(RecipeActivityEvent event) {
+        switch (event.getType()) {
+            case RecipeActivityEvent.REVIEW_POSTED, RecipeActivityEvent.REVIEW_UPDATED, RecipeActivityEvent.REVIEW_DELETED ->
+                    invalidate(event.getUserId());
+            default -> {
+            }
+        }
+    }
+
+    /* json 저장 완료 / 서버 시작 - 삭제된 레시피가 남지 않게 전체 제거 */
+    @EventListener
+    public void onRecipeDataChanged(RecipeDataChangedEvent event) {
+        epoch.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
@@ -1,37 +1,119 @@
 package doubleni.mealrecipe.service;
 
 import doubleni.mealrecipe.config.exception.BaseException;
-import doubleni.mealrecipe.model.Record;
-import doubleni.mealrecipe.model.User;
-import doubleni.mealrecipe.repository.RecordRepository;
-import doubleni.mealrecipe.repository.UserRepository;
+import doubleni.mealrecipe.model.RecommendHistory;
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import doubleni.mealrecipe.repository.RecommendHistoryRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static doubleni.mealrecipe.config.exception.BaseResponseStatus.RECORD_SAVE_ERROR;
 
+/**
+ * 추천 기록 - 보여 준 추천 목록을 recommend_history 에 추가만 한다 (이전 기록을 덮어쓰지 않음)
+ * 요청 스레드는 큐에 넣기만 하고, 주기적으로 모아서 batch insert 한다.
+ */
+@Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class RecordService {
-    private final RecordRepository recordRepository;
-    private final UserRepository userRepository;
 
-    public void saveRecord (List<String> recommendedRecipe, Long userId) throws BaseException {
-        try {
-            User user = userRepository.findById(userId).orElse(null);
+    public static final int RECENT_LISTS = 3; // "최근에 보여 준" 으로 보는 추천 목록 수
+    private static final int QUEUE_CAPACITY = 10000;
+    private static final int FLUSH_BATCH_SIZE = 1000;
+    private static final int MAX_ATTEMPTS = 10; // 한 묶음을 연속으로 이 횟수만큼 실패하면 버림
+
+    private final RecommendHistoryRepository recommendHistoryRepository;
+    private final RecipeBatchRepository recipeBatchRepository;
+    private final TransactionTemplate transactionTemplate;
 
-            Record record = recordRepository.findByUser(user).orElse(new Record());
-            record.setRecordNum(recommendedRecipe);
-            record.setUser(user);
+    // 저장 대기 중인 기록 - user_id, rcp_ids, shown_at
+    private final BlockingQueue<Object[]> pending = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
 
-            recordRepository.save(record);
+    // 저장 중인 묶음 - 실패하면 비우지 않고 다음 주기에 다시 저장 (flush 안에서만 사용)
+    private final List<Object[]> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+    private int attempts;
+
+    /* 추천 기록 추가 - 큐가 가득 차면 버리고 경고만 남김 (추천 응답은 실패시키지 않음) */
+    public void saveRecord (List<Long> recommendedRecipe, Long userId) throws BaseException {
+        if (userId == null || recommendedRecipe.isEmpty()) {
+            return;
+        }
+        Object[] row;
+        try {
+            row = new Object[]{userId, RecommendHistory.pack(recommendedRecipe), new Timestamp(System.currentTimeMillis())};
         } catch (Exception exception){
             throw new BaseException(RECORD_SAVE_ERROR);
         }
+        if (!pending.offer(row)) {
+            log.warn("추천 기록 큐가 가득 참 - 버린 기록 {}", dropped.incrementAndGet());
+        }
     }
 
+    // 묶음마다 한 트랜잭션으로 커밋 - 실패한 묶음은 통째로 롤백되므로 다음 주기에 먼저 다시 저장해도 중복되지 않고, 그동안 새 기록은 큐에 쌓임
+    @Scheduled(fixedDelayString = "${recipe.record.flush-ms:1000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public synchronized void flush() {
+        while (!batch.isEmpty() || pending.drainTo(batch, FLUSH_BATCH_SIZE) > 0) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> recipeBatchRepository.insertRecommendHistory(batch));
+                attempts = 0;
+            } catch (RuntimeException exception) {
+                if (++attempts < MAX_ATTEMPTS) {
+                    log.warn("추천 기록 {} 개 저장 실패 ({}번째) - 다음 주기에 다시 저장", batch.size(), attempts, exception);
+                    return;
+                }
+                log.error("추천 기록 {} 개 저장 {}번 실패 - 버림 (누적 {})", batch.size(), attempts,
+                        dropped.addAndGet(batch.size()), exception);
+                attempts = 0;
+            }
+            batch.clear();
+        }
+    }
+
+    /* 최근 RECENT_LISTS 번 보여 준 레시피 id (저장 대기 중인 기록 포함) - 추천 중복 줄이기용 */
+    @Transactional(readOnly = true)
+    public Set<Long> recentlyShown(Long userId) {
+        Set<Long> rcpIds = new HashSet<>();
+        for (Object[] row : pending) {
+            if (userId.equals(row[0])) {
+                rcpIds.addAll(RecommendHistory.unpack((byte[]) row[1]));
+            }
+        }
+        recommendHistoryRepository.findByUserIdOrderByShownAtDescHistoryIdDesc(userId, PageRequest.of(0, RECENT_LISTS))
+                .forEach(history -> rcpIds.addAll(history.rcpIdList()));
+        return rcpIds;
+    }
+
+    /* 가장 최근 추천 기록 */
+    @Transactional(readOnly = true)
+    public Optional<RecommendHistory> findLatest(Long userId) {
+        return recommendHistoryRepository.findByUserIdOrderByShownAtDescHistoryIdDesc(userId, PageRequest.of(0, 1))
+                .stream().findFirst();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 종료 전에 남은 기록 저장
+        flush();
+    }
 }
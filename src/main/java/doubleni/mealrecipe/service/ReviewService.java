@@ -4,12 +4,12 @@ import doubleni.mealrecipe.config.exception.BaseException;
 import doubleni.mealrecipe.model.*;
 import doubleni.mealrecipe.model.DTO.GetReviewRecipeRes;
 import doubleni.mealrecipe.model.DTO.GetReviewRes;
-import doubleni.mealrecipe.model.Record;
 import doubleni.mealrecipe.repository.RecipeRepository;
 import doubleni.mealrecipe.repository.ReviewImageRepository;
 import doubleni.mealrecipe.repository.ReviewRepository;
 import doubleni.mealrecipe.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -32,6 +32,7 @@ public class ReviewService {
     private final RecipeRepository recipeRepository;
     private final UserRepository userRepository;
     private final ReviewImageRepository reviewImageRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     //리뷰 작성
     public GetReviewRes postReview (String reviewContext, Double reviewRating, Long recipeId , MultipartFile imageFile, Long userId) throws BaseException {
@@ -86,6 +87,10 @@ public class ReviewService {
                 }
 
                 reviewRepository.save(review);
+                if (reviewRating != null) {
+                    recipeRepository.applyRatingChange(recipe.getRcpId(), reviewRating, 1);
+                }
+                eventPublisher.publishEvent(new RecipeActivityEvent(recipe.getRcpId(), userId, RecipeActivityEvent.REVIEW_POSTED));
 
                 GetReviewRes getReviewRes = new GetReviewRes();
                 getReviewRes.setReviewId(review.getReviewId());
@@ -163,6 +168,11 @@ public class ReviewService {
                 Review review = reviewOptional.get();
 
                 reviewRepository.delete(review);
+                if (review.getReviewRating() != null) {
+                    recipeRepository.applyRatingChange(review.getRecipe().getRcpId(), -review.getReviewRating(), -1);
+                }
+                eventPublisher.publishEvent(new RecipeActivityEvent(review.getRecipe().getRcpId(), review.getUser().getId(),
+                        RecipeActivityEvent.REVIEW_DELETED));
 
             }
         } catch (Exception exception){
@@ -331,7 +341,11 @@ public class ReviewService {
                 }
 
                 if (reviewRating != 0.0) {
+                    Double previousRating = review.getReviewRating();
                     review.setReviewRating(reviewRating);
+                    // 평점이 바뀐 만큼만 합계에 반영
+                    recipeRepository.applyRatingChange(review.getRecipe().getRcpId(),
+                            reviewRating - (previousRating == null ? 0.0 : previousRating), previousRating == null ? 1 : 0);
                 }
 
                 if (imageFile != null) {
@@ -376,6 +390,8 @@ public class ReviewService {
                 review.setModifiedDate(new Timestamp(System.currentTimeMillis()));
 
                 reviewRepository.save(review);
+                eventPublisher.publishEvent(new RecipeActivityEvent(review.getRecipe().getRcpId(), review.getUser().getId(),
+                        RecipeActivityEvent.REVIEW_UPDATED));
 
 
                 GetReviewRes getReviewRes = new GetReviewRes();
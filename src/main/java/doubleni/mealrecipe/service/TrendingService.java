@@ -0,0 +1,220 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.model.TrendingScore;
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import doubleni.mealrecipe.repository.TrendingScoreRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 인기 급상승 레시피 순위 (메모리)
+ * 좋아요 / 리뷰 커밋마다 해당 레시피 점수를 더하고, 점수는 반감기(halfLife)마다 절반으로 줄어든다.
+ * 모든 점수를 매번 줄이지 않도록 기준 시각(base) 에서의 값으로 저장한다 - 시각 t 의 이벤트는 w * 2^((t - base) / halfLife).
+ * 모든 레시피에 같은 비율이 곱해지므로 순위는 현재 값과 같고, 스냅샷 때 현재 시각으로 기준을 옮겨 값이 커지지 않게 한다.
+ * (점수 내림차순, rcp_id 오름차순) 정렬 집합을 유지해 상위 k 개는 앞에서부터 k 개만 읽는다.
+ */
+@Slf4j
+@Service
+public class TrendingService {
+
+    // 이벤트별 가중치 - 좋아요 취소 / 리뷰 삭제는 취소한 시점 기준으로 같은 크기를 뺀다
+    private static final Map<String, Double> WEIGHTS = Map.of(
+            RecipeActivityEvent.LIKED, 1.0,
+            RecipeActivityEvent.UNLIKED, -1.0,
+            RecipeActivityEvent.REVIEW_POSTED, 2.0,
+            RecipeActivityEvent.REVIEW_DELETED, -2.0);
+
+    private static final double MIN_SCORE = 0.01; // 스냅샷 때 이보다 작아진 레시피는 순위에서 제외
+
+    private final RecipeBatchRepository recipeBatchRepository;
+    private final TrendingScoreRepository trendingScoreRepository;
+    private final double halfLifeMs;
+
+    // 점수 갱신끼리는 동시에, 기준 시각 이동 / 스냅샷 불러오기는 단독으로
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Double> scores = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(
+            Comparator.comparingDouble(Entry::getScore).reversed().thenComparingLong(Entry::getRcpId));
+    private volatile long base = System.currentTimeMillis();
+    private volatile boolean loaded;
+
+    public TrendingService(RecipeBatchRepository recipeBatchRepository, TrendingScoreRepository trendingScoreRepository,
+                           @Value("${recipe.trending.half-life-hours:24}") double halfLifeHours) {
+        this.recipeBatchRepository = recipeBatchRepository;
+        this.trendingScoreRepository = trendingScoreRepository;
+        this.halfLifeMs = halfLifeHours * 60 * 60 * 1000;
+    }
+
+    /* 좋아요 / 리뷰 커밋 후 - 해당 레시피 점수 갱신 */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeActivity(RecipeActivityEvent event) {
+        Double weight = WEIGHTS.get(event.getType());
+        if (weight != null && event.getRcpId() != null) {
+            add(event.getRcpId(), weight, System.currentTimeMillis());
+        }
+    }
+
+    /* 서버 시작 - 마지막 스냅샷 불러오기 (json 저장 완료 때는 그대로) */
+    @EventListener
+    public void onRecipeDataChanged(RecipeDataChangedEvent event) {
+        if (loaded) {
+            return;
+        }
+        try {
+            load();
+        } catch (RuntimeException exception) {
+            log.error("인기 급상승 점수 불러오기 실패 ({}) - {}", event.getReason(), exception.getMessage());
+        }
+    }
+
+    /* json 저장 청크 커밋 - 삭제된 레시피 제거 */
+    @EventListener
+    public void onRecipeChunkSaved(RecipeChunkSavedEvent event) {
+        lock.readLock().lock();
+        try {
+            for (Long rcpId : event.getDeletedRcpIds()) {
+                scores.computeIfPresent(rcpId, (key, old) -> {
+                    ranking.remove(new Entry(key, old));
+                    return null;
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 상위 k 개 - 점수 내림차순, 같으면 rcp_id 순
+     * 점수는 현재 시각 기준으로 줄인 값
+     */
+    public List<Entry> top(int k) {
+        lock.readLock().lock();
+        try {
+            double decay = Math.pow(2, -(System.currentTimeMillis() - base) / halfLifeMs);
+            List<Entry> top = new ArrayList<>(k);
+            for (Entry entry : ranking) {
+                if (top.size() == k) {
+                    break;
+                }
+                top.add(new Entry(entry.rcpId, entry.score * decay));
+            }
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 점수를 DB 에 저장 - 기준 시각을 현재로 옮기고 작아진 점수는 정리
+    @Scheduled(fixedDelayString = "${recipe.trending.snapshot-ms:300000}", initialDelayString = "${recipe.trending.snapshot-ms:300000}")
+    public void snapshot() {
+        if (!loaded) {
+            return; // 이전 스냅샷을 불러오기 전에 덮어쓰지 않음
+        }
+        long now = System.currentTimeMillis();
+        List<Object[]> rows = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            rebase(now);
+            Timestamp snapshotAt = new Timestamp(now);
+            for (Entry entry : ranking) {
+                rows.add(new Object[]{entry.rcpId, entry.score, snapshotAt});
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        recipeBatchRepository.replaceTrendingScores(rows);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            snapshot();
+        } catch (RuntimeException exception) {
+            log.error("인기 급상승 점수 저장 실패 - {}", exception.getMessage());
+        }
+    }
+
+    private void add(Long rcpId, double weight, long at) {
+        lock.readLock().lock();
+        try {
+            double value = weight * Math.pow(2, (at - base) / halfLifeMs);
+            scores.compute(rcpId, (key, old) -> {
+                if (old != null) {
+                    ranking.remove(new Entry(key, old));
+                }
+                double score = (old == null ? 0 : old) + value;
+                if (score <= 0) {
+                    return null;
+                }
+                ranking.add(new Entry(key, score));
+                return score;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void load() {
+        long now = System.currentTimeMillis();
+        List<TrendingScore> saved = trendingScoreRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            // 스냅샷 이후 지난 시간만큼 줄여서, 그 사이 들어온 점수에 더함
+            rebase(now);
+            for (TrendingScore score : saved) {
+                double decayed = score.getScore() * Math.pow(2, -(now - score.getSnapshotAt().getTime()) / halfLifeMs);
+                double merged = scores.getOrDefault(score.getRcpId(), 0.0) + decayed;
+                Double old = scores.put(score.getRcpId(), merged);
+                if (old != null) {
+                    ranking.remove(new Entry(score.getRcpId(), old));
+                }
+                ranking.add(new Entry(score.getRcpId(), merged));
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("인기 급상승 점수 불러오기 - 레시피 {}", saved.size());
+    }
+
+    // 쓰기 잠금 안에서만 - 모든 점수를 now 기준 값으로 바꾸고 MIN_SCORE 미만은 제외
+    private void rebase(long now) {
+        double decay = Math.pow(2, -(now - base) / halfLifeMs);
+        List<Entry> entries = new ArrayList<>(ranking);
+        scores.clear();
+        ranking.clear();
+        for (Entry entry : entries) {
+            double score = entry.score * decay;
+            if (score >= MIN_SCORE) {
+                scores.put(entry.rcpId, score);
+                ranking.add(new Entry(entry.rcpId, score));
+            }
+        }
+        base = now;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Entry {
+        private final long rcpId;
+        private final double score;
+    }
+}
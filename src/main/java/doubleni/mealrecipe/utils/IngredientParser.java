@@ -0,0 +1,169 @@
+package doubleni.mealrecipe.utils;
+
+import doubleni.mealrecipe.model.RecipeIngredient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 식약처 재료 정보(RCP_PARTS_DTLS) 파서
+ * 예) "●양념장 : \n고춧가루 4g(1작은술), 다진 마늘 2.5g(1/2쪽), 통깨 약간"
+ *  -> (고춧가루, 4, g, 양념장), (다진 마늘 / 마늘, 2.5, g, 양념장), (통깨, null, null, 양념장)
+ */
+public class IngredientParser {
+    public IngredientParser() {
+    }
+
+    private static final int MAX_NAME_LENGTH = 100; // recipe_ingredients.name / base_name 컬럼 길이
+    private static final int MAX_TEXT_LENGTH = 255; // amount, section 컬럼 길이
+
+    // 재료명 + 수량 + 단위 + 나머지 (수량은 정수, 소수, 분수, ⅓ 같은 분수 문자)
+    private static final Pattern ITEM = Pattern.compile(
+            "^(.+?)\\s*(\\d+(?:\\.\\d+)?(?:/\\d+)?[½⅓⅔¼¾]?|[½⅓⅔¼¾])\\s*([a-zA-Z㎖㎎㎏%가-힣]*)(.*)$");
+
+    // 수량 없이 쓰는 분량 표현
+    private static final Pattern VAGUE = Pattern.compile("^(.+?)\\s+(약간|적당량|조금|소량|적당히|기호에 따라.*)$");
+
+    // 줄 앞의 기호, [1인분] 같은 표기
+    private static final Pattern PREFIX = Pattern.compile("^[●·•\\-\\s]*(\\[[^\\]]*\\])?[●·•\\s]*");
+
+    public static List<RecipeIngredient> parse(String partsDtls) {
+        List<RecipeIngredient> ingredients = new ArrayList<>();
+        if (partsDtls == null || partsDtls.isBlank()) {
+            return ingredients;
+        }
+
+        String section = null;
+        for (String rawLine : partsDtls.split("\\n")) {
+            String line = PREFIX.matcher(rawLine).replaceFirst("").trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            // "양념장 : 저염간장 3g, ..." - 콜론 앞은 구분, 뒤는 재료
+            int colon = line.indexOf(':');
+            if (colon >= 0) {
+                section = truncate(line.substring(0, colon).trim(), MAX_TEXT_LENGTH);
+                line = line.substring(colon + 1).trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+            } else if (isHeader(line)) {
+                // "고명", "새우두부계란찜" 처럼 수량도 쉼표도 없는 줄은 구분
+                section = truncate(line, MAX_TEXT_LENGTH);
+                continue;
+            }
+
+            for (String item : splitItems(line)) {
+                RecipeIngredient ingredient = parseItem(item);
+                if (ingredient != null) {
+                    ingredient.setSection(section);
+                    ingredient.setPosition(ingredients.size());
+                    ingredients.add(ingredient);
+                }
+            }
+        }
+        return ingredients;
+    }
+
+    // 검색어도 재료명과 같은 방식으로 정규화
+    public static String baseName(String name) {
+        String trimmed = name.trim().replaceAll("\\s+", " ");
+        int space = trimmed.lastIndexOf(' ');
+        return space < 0 ? trimmed : trimmed.substring(space + 1);
+    }
+
+    private static boolean isHeader(String line) {
+        return line.indexOf(',') < 0 && !line.matches(".*[\\d½⅓⅔¼¾].*") && !VAGUE.matcher(line).matches();
+    }
+
+    // 괄호 안의 쉼표는 무시하고 쉼표로 분리
+    private static List<String> splitItems(String line) {
+        List<String> items = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth = Math.max(0, depth - 1);
+            } else if (c == ',' && depth == 0) {
+                items.add(line.substring(start, i));
+                start = i + 1;
+            }
+        }
+        items.add(line.substring(start));
+        return items;
+    }
+
+    private static RecipeIngredient parseItem(String item) {
+        String text = item.trim().replaceAll("\\s+", " ");
+        if (text.isEmpty()) {
+            return null;
+        }
+
+        String name = text;
+        String amount = null;
+        Double quantity = null;
+        String unit = null;
+
+        Matcher matcher = ITEM.matcher(text);
+        Matcher vague = VAGUE.matcher(text);
+        if (matcher.matches()) {
+            name = matcher.group(1).trim();
+            quantity = toQuantity(matcher.group(2));
+            unit = matcher.group(3).isEmpty() ? null : matcher.group(3);
+            amount = text.substring(matcher.start(2)).trim();
+        } else if (vague.matches()) {
+            name = vague.group(1).trim();
+            amount = vague.group(2).trim();
+        }
+
+        // 컬럼보다 긴 값은 잘라서 저장 (재료를 빼지 않음)
+        name = truncate(name, MAX_NAME_LENGTH);
+        return RecipeIngredient.builder()
+                .name(name)
+                .baseName(baseName(name))
+                .quantity(quantity)
+                .unit(truncate(unit, MAX_TEXT_LENGTH))
+                .amount(truncate(amount, MAX_TEXT_LENGTH))
+                .build();
+    }
+
+    private static String truncate(String value, int length) {
+        return value == null || value.length() <= length ? value : value.substring(0, length).trim();
+    }
+
+    // "1⅓" -> 1.33, "3/4" -> 0.75, "½" -> 0.5, "1/0" -> null (분모가 0)
+    private static Double toQuantity(String token) {
+        double value = 0;
+        char last = token.charAt(token.length() - 1);
+        String number = token;
+        if ("½⅓⅔¼¾".indexOf(last) >= 0) {
+            value += switch (last) {
+                case '½' -> 1.0 / 2;
+                case '⅓' -> 1.0 / 3;
+                case '⅔' -> 2.0 / 3;
+                case '¼' -> 1.0 / 4;
+                default -> 3.0 / 4;
+            };
+            number = token.substring(0, token.length() - 1);
+        }
+        if (!number.isEmpty()) {
+            int slash = number.indexOf('/');
+            if (slash > 0) {
+                double denominator = Double.parseDouble(number.substring(slash + 1));
+                if (denominator == 0) {
+                    return null;
+                }
+                value += Double.parseDouble(number.substring(0, slash)) / denominator;
+            } else {
+                value += Double.parseDouble(number);
+            }
+        }
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,59 @@
+package doubleni.mealrecipe.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 한글 bigram 토크나이저 (전문 검색용)
+ * 한글은 형태소 분석 없이 붙여 쓰는 경우가 많아 두 글자씩 잘라 색인한다. ("김치찌개" -> 김치, 치찌, 찌개)
+ * 한 글자짜리 한글 단어는 그대로, 영문/숫자는 단어 단위(소문자)로 색인한다.
+ */
+public class NgramTokenizer {
+    public NgramTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        tokenize(text, tokens::add);
+        return tokens;
+    }
+
+    public static void tokenize(String text, Consumer<String> consumer) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase();
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            char c = normalized.charAt(i);
+            if (isHangul(c)) {
+                int start = i;
+                while (i < length && isHangul(normalized.charAt(i))) {
+                    i++;
+                }
+                if (i - start == 1) {
+                    consumer.accept(normalized.substring(start, i));
+                } else {
+                    for (int j = start; j + 2 <= i; j++) {
+                        consumer.accept(normalized.substring(j, j + 2));
+                    }
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(normalized.charAt(i)) && !isHangul(normalized.charAt(i))) {
+                    i++;
+                }
+                consumer.accept(normalized.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+    }
+
+    public static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+}
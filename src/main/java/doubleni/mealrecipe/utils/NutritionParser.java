@@ -0,0 +1,23 @@
+package doubleni.mealrecipe.utils;
+
+public class NutritionParser {
+    public NutritionParser() {
+    }
+
+    // 식약처 영양 정보 문자열 -> 숫자 ("220", "12.5", "1,020" 등), 비어 있거나 숫자가 아니면 null
+    public static Double parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.replace(",", "").trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        try {
+            double number = Double.parseDouble(trimmed);
+            return Double.isFinite(number) && number >= 0 ? number : null;
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package doubleni.mealrecipe.utils;
 
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 
 public class SHA256 {
@@ -9,7 +10,7 @@ public class SHA256 {
     public static String encrypt(String planText) {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
-            md.update(planText.getBytes());
+            md.update(planText.getBytes(StandardCharsets.UTF_8));
             byte[] byteData = md.digest();
             StringBuffer sb = new StringBuffer();
 
@@ -0,0 +1,175 @@
+package doubleni.mealrecipe.config;
+
+import doubleni.mealrecipe.config.exception.BaseException;
+import doubleni.mealrecipe.config.exception.BaseResponseStatus;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownstreamClientTest {
+
+    private static final Function<RestTemplate, String> UNAUTHORIZED = rt -> {
+        throw new HttpClientErrorException(HttpStatus.UNAUTHORIZED);
+    };
+    private static final Function<RestTemplate, String> BAD_GATEWAY = rt -> {
+        throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+    };
+    private static final Function<RestTemplate, String> TIMEOUT = rt -> {
+        throw new ResourceAccessException("Read timed out");
+    };
+
+    @Test
+    void 잘못된_토큰_4xx_는_차단기를_열지_않음() {
+        DownstreamClient.CircuitBreaker circuitBreaker = new DownstreamClient.CircuitBreaker(20, 10, 0.5, 30000);
+        DownstreamClient client = client(circuitBreaker);
+
+        for (int i = 0; i < 30; i++) {
+            assertEquals(BaseResponseStatus.REQUEST_ERROR, call(client, UNAUTHORIZED));
+        }
+
+        assertEquals(DownstreamClient.CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0.0, circuitBreaker.failureRate());
+        assertEquals(30, client.stats().getClientErrorCount());
+        assertEquals(0, client.stats().getFailureCount());
+    }
+
+    @Test
+    void 제한_시간_초과와_5xx_는_실패로_기록() {
+        DownstreamClient.CircuitBreaker circuitBreaker = new DownstreamClient.CircuitBreaker(20, 10, 0.5, 30000);
+        DownstreamClient client = client(circuitBreaker);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(BaseResponseStatus.SERVER_ERROR, call(client, TIMEOUT));
+            assertEquals(BaseResponseStatus.SERVER_ERROR, call(client, BAD_GATEWAY));
+        }
+
+        assertEquals(DownstreamClient.CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        // 차단 중에는 부르지 않고 바로 실패
+        assertEquals(BaseResponseStatus.SERVER_ERROR, call(client, rt -> "ok"));
+        assertEquals(1, client.stats().getRejectedCount());
+    }
+
+    @Test
+    void 최소_호출_수를_채우기_전에는_열리지_않음() {
+        DownstreamClient.CircuitBreaker circuitBreaker = new DownstreamClient.CircuitBreaker(10, 5, 0.5, 30000);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(circuitBreaker.tryAcquire());
+            circuitBreaker.onFailure();
+        }
+        assertEquals(DownstreamClient.CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(1.0, circuitBreaker.failureRate());
+
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+        assertEquals(DownstreamClient.CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void 실패율이_기준_미만이면_닫힌_상태_유지() {
+        DownstreamClient.CircuitBreaker circuitBreaker = new DownstreamClient.CircuitBreaker(10, 4, 0.6, 30000);
+
+        for (int i = 0; i < 10; i++) {
+            circuitBreaker.onSuccess();
+            circuitBreaker.onFailure();
+        }
+
+        assertEquals(DownstreamClient.CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0.5, circuitBreaker.failureRate());
+    }
+
+    @Test
+    void 오래된_결과는_창_밖으로_밀려남() {
+        DownstreamClient.CircuitBreaker circuitBreaker = new DownstreamClient.CircuitBreaker(4, 4, 0.75, 30000);
+
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onSuccess();
+        }
+        assertEquals(0.0, circuitBreaker.failureRate());
+
+        // 창 크기 4 중 3 개 실패 -> 차단
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        assertEquals(DownstreamClient.CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        circuitBreaker.onFailure();
+        assertEquals(DownstreamClient.CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void 차단_시간이_지나면_시험_호출_하나만_허용하고_성공하면_닫힘() {
+        DownstreamClient.CircuitBreaker circuitBreaker = open(new DownstreamClient.CircuitBreaker(4, 2, 0.5, 0));
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(DownstreamClient.CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+
+        circuitBreaker.onSuccess();
+        assertEquals(DownstreamClient.CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0.0, circuitBreaker.failureRate());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void 시험_호출이_실패하면_다시_차단() {
+        DownstreamClient.CircuitBreaker circuitBreaker = open(new DownstreamClient.CircuitBreaker(4, 2, 0.5, 0));
+
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+
+        assertEquals(DownstreamClient.CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void 시험_호출을_부르지_않고_돌려주면_다른_호출이_시험() {
+        DownstreamClient.CircuitBreaker circuitBreaker = open(new DownstreamClient.CircuitBreaker(4, 2, 0.5, 0));
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertFalse(circuitBreaker.tryAcquire());
+        circuitBreaker.release();
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(DownstreamClient.CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void 차단_중에_끝난_이전_호출의_결과는_무시() {
+        DownstreamClient.CircuitBreaker circuitBreaker = open(new DownstreamClient.CircuitBreaker(4, 2, 0.5, 30000));
+
+        circuitBreaker.onSuccess();
+        assertEquals(DownstreamClient.CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    // 최소 호출 수만큼 실패시켜 차단 상태로
+    private static DownstreamClient.CircuitBreaker open(DownstreamClient.CircuitBreaker circuitBreaker) {
+        while (circuitBreaker.getState() != DownstreamClient.CircuitBreaker.State.OPEN) {
+            circuitBreaker.onFailure();
+        }
+        return circuitBreaker;
+    }
+
+    private static DownstreamClient client(DownstreamClient.CircuitBreaker circuitBreaker) {
+        return new DownstreamClient("test", new RestTemplate(), new PoolingHttpClientConnectionManager(), 4, circuitBreaker);
+    }
+
+    private static BaseResponseStatus call(DownstreamClient client, Function<RestTemplate, String> call) {
+        try {
+            client.execute(call);
+            return BaseResponseStatus.SUCCESS;
+        } catch (BaseException exception) {
+            return exception.getStatus();
+        }
+    }
+}
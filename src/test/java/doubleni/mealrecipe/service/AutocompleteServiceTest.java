@@ -0,0 +1,114 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.config.exception.BaseException;
+import doubleni.mealrecipe.config.exception.BaseResponseStatus;
+import doubleni.mealrecipe.model.DTO.AutocompleteItemRes;
+import doubleni.mealrecipe.model.DTO.AutocompleteRes;
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AutocompleteServiceTest {
+
+    private AutocompleteService autocompleteService;
+
+    @BeforeEach
+    void setUp() {
+        RecipeBatchRepository recipeBatchRepository = mock(RecipeBatchRepository.class);
+        // rcp_id, rcp_nm, like_cnt, review_averge - 인기 점수 = 좋아요 수 + 평균 평점
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(0);
+            handler.processRow(row(1L, "김치찌개", 10, 4.5));
+            handler.processRow(row(2L, "김치볶음밥", 5, 4.0));
+            handler.processRow(row(3L, "된장찌개", 8, 3.0));
+            handler.processRow(row(4L, "돼지고기 김치 찌개", 2, 5.0));
+            handler.processRow(row(5L, "Kimchi Pancake", 1, 0.0));
+            return null;
+        }).when(recipeBatchRepository).forEachRecipePopularity(any(RowCallbackHandler.class));
+        // base_name, 레시피 수
+        doAnswer(invocation -> {
+            BiConsumer<String, Integer> consumer = invocation.getArgument(0);
+            consumer.accept("김치", 30);
+            consumer.accept("김", 12);
+            consumer.accept("돼지고기", 20);
+            return null;
+        }).when(recipeBatchRepository).forEachIngredientCount(any());
+
+        autocompleteService = new AutocompleteService(recipeBatchRepository);
+        autocompleteService.rebuild();
+    }
+
+    @Test
+    void 접두어는_인기순() throws BaseException {
+        AutocompleteRes res = autocompleteService.autocomplete("김치", 10);
+
+        assertEquals(List.of("김치찌개", "김치볶음밥", "돼지고기 김치 찌개"), names(res.getRecipes()));
+        assertEquals(List.of("김치"), names(res.getIngredients()));
+        assertEquals(1L, res.getRecipes().get(0).getRcpId());
+        assertEquals(30, res.getIngredients().get(0).getRecipeCount());
+    }
+
+    @Test
+    void 단어_시작_위치와_공백_무시() throws BaseException {
+        // "찌개" 는 띄어 쓴 "김치 찌개" 의 단어 시작에서만 (붙여 쓴 "김치찌개" 의 중간은 아님)
+        assertEquals(List.of("돼지고기 김치 찌개"), names(autocompleteService.autocomplete("찌개", 10).getRecipes()));
+        assertEquals(List.of("돼지고기 김치 찌개"), names(autocompleteService.autocomplete("돼지고기김치", 10).getRecipes()));
+        assertEquals(List.of("Kimchi Pancake"), names(autocompleteService.autocomplete("kimchi pan", 10).getRecipes()));
+    }
+
+    @Test
+    void 초성_입력() throws BaseException {
+        AutocompleteRes res = autocompleteService.autocomplete("ㄱㅊ", 10);
+
+        assertEquals(List.of("김치찌개", "김치볶음밥", "돼지고기 김치 찌개"), names(res.getRecipes()));
+        assertEquals(List.of("김치"), names(res.getIngredients()));
+        assertEquals(List.of("된장찌개", "돼지고기 김치 찌개"), names(autocompleteService.autocomplete("ㄷ", 10).getRecipes()));
+    }
+
+    @Test
+    void 음절과_초성_혼합_입력() throws BaseException {
+        assertEquals(List.of("김치찌개", "돼지고기 김치 찌개"), names(autocompleteService.autocomplete("김ㅊㅉ", 10).getRecipes()));
+        assertEquals(List.of("김치볶음밥"), names(autocompleteService.autocomplete("김치ㅂ", 10).getRecipes()));
+    }
+
+    @Test
+    void 상위_size_개만() throws BaseException {
+        assertEquals(List.of("김치찌개"), names(autocompleteService.autocomplete("ㄱ", 1).getRecipes()));
+    }
+
+    @Test
+    void 빈_입력과_범위_밖_size_는_요청_오류() {
+        assertEquals(BaseResponseStatus.REQUEST_ERROR,
+                assertThrows(BaseException.class, () -> autocompleteService.autocomplete("  ", 10)).getStatus());
+        assertEquals(BaseResponseStatus.REQUEST_ERROR,
+                assertThrows(BaseException.class, () -> autocompleteService.autocomplete("김치", AutocompleteService.TOP_K + 1)).getStatus());
+        assertEquals(BaseResponseStatus.REQUEST_ERROR,
+                assertThrows(BaseException.class, () -> autocompleteService.autocomplete("김치", 0)).getStatus());
+    }
+
+    private static List<String> names(List<AutocompleteItemRes> items) {
+        return items.stream().map(AutocompleteItemRes::getName).toList();
+    }
+
+    // 열 번호(1부터) 순서대로 값을 돌려주는 ResultSet 한 행
+    private static ResultSet row(Object... values) {
+        return mock(ResultSet.class, invocation -> {
+            Object value = values[(Integer) invocation.getArgument(0) - 1];
+            return switch (invocation.getMethod().getName()) {
+                case "getLong" -> ((Number) value).longValue();
+                case "getInt" -> ((Number) value).intValue();
+                case "getDouble" -> ((Number) value).doubleValue();
+                default -> value;
+            };
+        });
+    }
+}
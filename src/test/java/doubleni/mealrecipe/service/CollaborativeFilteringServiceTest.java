@@ -0,0 +1,148 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class CollaborativeFilteringServiceTest {
+
+    // reviews - {사용자 id, rcp_id, 평점}
+    private final List<long[]> reviews = new ArrayList<>();
+    private CollaborativeFilteringService collaborativeFilteringService;
+
+    @BeforeEach
+    void setUp() {
+        review(1, 10, 5);
+        review(1, 20, 5);
+        review(2, 10, 5);
+        review(2, 20, 4);
+        review(2, 30, 5);
+        review(3, 20, 5);
+        review(3, 30, 4);
+        review(3, 40, 5);
+
+        RecipeBatchRepository recipeBatchRepository = mock(RecipeBatchRepository.class);
+        // 실제 쿼리처럼 사용자 -> 레시피 순
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(0);
+            for (long[] review : sorted()) {
+                handler.processRow(row(review[0], review[1], (float) review[2]));
+            }
+            return null;
+        }).when(recipeBatchRepository).forEachReviewRating(any(RowCallbackHandler.class));
+        doAnswer(invocation -> {
+            long userId = invocation.getArgument(0);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (long[] review : sorted()) {
+                if (review[0] == userId) {
+                    handler.processRow(row(review[1], (float) review[2]));
+                }
+            }
+            return null;
+        }).when(recipeBatchRepository).forEachReviewRating(anyLong(), any(RowCallbackHandler.class));
+
+        collaborativeFilteringService = new CollaborativeFilteringService(recipeBatchRepository);
+    }
+
+    @Test
+    void 이웃_유사도_가중_평균_점수순_평가한_레시피_제외() {
+        collaborativeFilteringService.rebuild();
+
+        // 사용자 1 (10: 5, 20: 5)
+        // 30 = (sim(10,30) 0.552 x 5 + sim(20,30) 0.770 x 5) / (0.552 + 0.770 + 1) = 2.85
+        // 40 = sim(20,40) 0.616 x 5 / (0.616 + 1) = 1.91
+        assertEquals(List.of(30L, 40L), collaborativeFilteringService.recommend(1L, 10));
+        assertEquals(List.of(30L), collaborativeFilteringService.recommend(1L, 1));
+        assertEquals(Set.of(10L, 20L), collaborativeFilteringService.ratedRcpIds(1L));
+    }
+
+    @Test
+    void 최근에_보여_준_레시피는_뒤로() {
+        collaborativeFilteringService.rebuild();
+
+        assertEquals(List.of(40L, 30L), collaborativeFilteringService.recommend(1L, 10, Set.of(30L)));
+    }
+
+    @Test
+    void 평점_기록이_없는_사용자와_모델_생성_전은_빈_목록() {
+        assertFalse(collaborativeFilteringService.isReady());
+        assertTrue(collaborativeFilteringService.recommend(1L, 10).isEmpty());
+
+        collaborativeFilteringService.rebuild();
+
+        assertTrue(collaborativeFilteringService.isReady());
+        assertTrue(collaborativeFilteringService.recommend(99L, 10).isEmpty());
+        assertTrue(collaborativeFilteringService.recommend(null, 10).isEmpty());
+        assertTrue(collaborativeFilteringService.ratedRcpIds(99L).isEmpty());
+    }
+
+    @Test
+    void 리뷰_커밋_후_그_사용자의_평점_행만_다시_읽음() {
+        collaborativeFilteringService.rebuild();
+        review(1, 30, 4);
+
+        // 모델은 그대로이므로 갱신 전에는 방금 평가한 30 이 추천됨
+        assertEquals(List.of(30L, 40L), collaborativeFilteringService.recommend(1L, 10));
+
+        collaborativeFilteringService.onRecipeActivity(new RecipeActivityEvent(30L, 1L, RecipeActivityEvent.REVIEW_POSTED));
+
+        assertEquals(List.of(40L), collaborativeFilteringService.recommend(1L, 10));
+        assertEquals(Set.of(10L, 20L, 30L), collaborativeFilteringService.ratedRcpIds(1L));
+    }
+
+    @Test
+    void 모델에_없는_새_사용자도_리뷰_후_바로_추천() {
+        collaborativeFilteringService.rebuild();
+        review(9, 10, 5);
+
+        collaborativeFilteringService.onRecipeActivity(new RecipeActivityEvent(10L, 9L, RecipeActivityEvent.REVIEW_POSTED));
+
+        List<Long> recommended = collaborativeFilteringService.recommend(9L, 10);
+        assertEquals(List.of(20L, 30L), recommended);
+        assertFalse(recommended.contains(10L));
+    }
+
+    @Test
+    void 좋아요_이벤트는_평점_행을_다시_읽지_않음() {
+        collaborativeFilteringService.rebuild();
+        review(1, 30, 4);
+
+        collaborativeFilteringService.onRecipeActivity(new RecipeActivityEvent(30L, 1L, RecipeActivityEvent.LIKED));
+
+        assertEquals(Set.of(10L, 20L), collaborativeFilteringService.ratedRcpIds(1L));
+    }
+
+    private void review(long userId, long rcpId, long rating) {
+        reviews.add(new long[]{userId, rcpId, rating});
+    }
+
+    private List<long[]> sorted() {
+        List<long[]> sorted = new ArrayList<>(reviews);
+        sorted.sort(Comparator.<long[]>comparingLong(review -> review[0]).thenComparingLong(review -> review[1]));
+        return sorted;
+    }
+
+    // 열 번호(1부터) 순서대로 값을 돌려주는 ResultSet 한 행
+    private static ResultSet row(Object... values) {
+        return mock(ResultSet.class, invocation -> {
+            Object value = values[(Integer) invocation.getArgument(0) - 1];
+            return switch (invocation.getMethod().getName()) {
+                case "getLong" -> ((Number) value).longValue();
+                case "getFloat" -> ((Number) value).floatValue();
+                default -> value;
+            };
+        });
+    }
+}
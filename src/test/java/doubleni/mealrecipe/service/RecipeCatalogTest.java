@@ -0,0 +1,84 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.model.Recipe;
+import doubleni.mealrecipe.model.RecipeSummary;
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import doubleni.mealrecipe.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RecipeCatalogTest {
+
+    private RecipeCatalog recipeCatalog;
+
+    @BeforeEach
+    void setUp() {
+        RecipeRepository recipeRepository = mock(RecipeRepository.class);
+        when(recipeRepository.findAll(any(Sort.class))).thenReturn(List.of(
+                recipe(1L, "S1", 1, 300.0),
+                recipe(2L, "S2", 2, null),
+                recipe(3L, "S3", 3, 100.0),
+                recipe(4L, "S4", 4, 200.0)));
+        recipeCatalog = new RecipeCatalog(recipeRepository, mock(RecipeBatchRepository.class), mock(PlatformTransactionManager.class));
+        recipeCatalog.reload();
+    }
+
+    @Test
+    void 청크_반영은_새_카탈로그로_교체하고_읽던_카탈로그는_그대로() {
+        RecipeCatalog.Snapshot before = recipeCatalog.snapshot();
+
+        recipeCatalog.onRecipeChunkSaved(new RecipeChunkSavedEvent(List.of(recipe(5L, "S5", 0, 50.0)), List.of(2L)));
+        RecipeCatalog.Snapshot after = recipeCatalog.snapshot();
+
+        assertNotSame(before, after);
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(List.of(1L, 2L, 3L, 4L), rcpIds(before.getRecipes()));
+        assertEquals(4, before.size());
+        assertEquals(List.of(1L, 3L, 4L, 5L), rcpIds(after.getRecipes()));
+        assertEquals(4, after.getRecipes().size());
+        assertNull(after.get(2L));
+        assertNull(after.getBySeq("S2"));
+    }
+
+    @Test
+    void 수정된_레시피는_좋아요_수를_유지하고_정렬_순서를_옮김() {
+        // 청크 저장은 좋아요 수, 평점을 카탈로그 값으로 유지 - 열량만 바뀌어 열량 순서에서만 이동
+        recipeCatalog.onRecipeChunkSaved(new RecipeChunkSavedEvent(List.of(recipe(3L, "S3", 0, 400.0)), List.of()));
+        RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+
+        assertEquals(3, catalog.get(3L).getLikeCnt());
+        assertEquals(List.of(4L, 3L, 2L, 1L), rcpIds(catalog.page("likes", null, 0L, 10)));
+        assertEquals(List.of(4L, 1L, 3L), rcpIds(catalog.page("kcal", null, 0L, 10)));
+        // cursor 뒤부터 (좋아요 3 인 3번 다음)
+        assertEquals(List.of(2L, 1L), rcpIds(catalog.page("likes", -3.0, 3L, 10)));
+    }
+
+    @Test
+    void 일련_번호가_바뀌면_이전_번호로는_찾지_않음() {
+        recipeCatalog.onRecipeChunkSaved(new RecipeChunkSavedEvent(List.of(recipe(1L, "S1-NEW", 0, 300.0)), List.of()));
+        RecipeCatalog.Snapshot catalog = recipeCatalog.snapshot();
+
+        assertNull(catalog.getBySeq("S1"));
+        assertEquals(1L, catalog.getBySeq("S1-NEW").getRcpId());
+        assertEquals(4, catalog.size());
+    }
+
+    private static Recipe recipe(Long rcpId, String rcpSeq, int likeCnt, Double infoEngNum) {
+        return Recipe.builder().rcpId(rcpId).rcpSeq(rcpSeq).rcpNm("레시피 " + rcpId).likeCnt(likeCnt).infoEngNum(infoEngNum).build();
+    }
+
+    private static List<Long> rcpIds(Iterable<RecipeSummary> recipes) {
+        List<Long> rcpIds = new ArrayList<>();
+        recipes.forEach(recipe -> rcpIds.add(recipe.getRcpId()));
+        return rcpIds;
+    }
+}
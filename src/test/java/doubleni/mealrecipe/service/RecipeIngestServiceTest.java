@@ -0,0 +1,177 @@
+package doubleni.mealrecipe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import doubleni.mealrecipe.config.exception.BaseException;
+import doubleni.mealrecipe.model.IngestJob;
+import doubleni.mealrecipe.model.Recipe;
+import doubleni.mealrecipe.repository.IngestJobRepository;
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import doubleni.mealrecipe.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RecipeIngestServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private RecipeRepository recipeRepository;
+    private RecipeBatchRepository recipeBatchRepository;
+    private IngestJobRepository ingestJobRepository;
+    private RecipeIngestService recipeIngestService;
+
+    // insertAll 로 실제 저장된 레시피명
+    private final List<String> inserted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository = mock(RecipeRepository.class);
+        recipeBatchRepository = mock(RecipeBatchRepository.class);
+        ingestJobRepository = mock(IngestJobRepository.class);
+        when(recipeRepository.findRcpNmsIn(anyCollection())).thenReturn(List.of());
+
+        recipeIngestService = new RecipeIngestService(recipeRepository, recipeBatchRepository, ingestJobRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new ObjectMapper(),
+                mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(recipeIngestService, "chunkSize", 2);
+        ReflectionTestUtils.setField(recipeIngestService, "maxDeleteRatio", 0.1);
+    }
+
+    @Test
+    void 청크_크기만큼_읽어_한_번에_저장하고_이미_있는_레시피명은_건너뜀() throws Exception {
+        Path path = write(5);
+        when(recipeRepository.findRcpNmsIn(anyCollection())).thenReturn(List.of("레시피2"));
+        List<List<String>> chunks = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<Recipe> recipes = invocation.getArgument(0);
+            chunks.add(recipes.stream().map(Recipe::getRcpNm).toList());
+            return null;
+        }).when(recipeBatchRepository).insertAll(anyList(), anyInt());
+
+        IngestJob job = newJob(new IngestJob());
+        assertTrue(recipeIngestService.ingest(path, job, () -> false));
+
+        // 청크(2개)마다 이름 조회 한 번, batch insert 한 번
+        assertEquals(List.of(List.of("레시피1"), List.of("레시피3", "레시피4"), List.of("레시피5")), chunks);
+        verify(recipeRepository, times(3)).findRcpNmsIn(anyCollection());
+        assertEquals(5, job.getRowsRead());
+        assertEquals(4, job.getRowsWritten());
+        assertEquals(1, job.getRowsSkipped());
+        assertEquals(5, job.getCheckpoint());
+    }
+
+    @Test
+    void 청크_저장이_실패하면_체크포인트를_되돌리고_재시작_시_그_청크부터_저장() throws Exception {
+        Path path = write(6);
+
+        // 두 번째 청크 insert 실패 (롤백)
+        doAnswer(invocation -> {
+            List<Recipe> recipes = invocation.getArgument(0);
+            if (recipes.get(0).getRcpNm().equals("레시피3")) {
+                throw new IllegalStateException("batch insert 실패");
+            }
+            recipes.forEach(recipe -> inserted.add(recipe.getRcpNm()));
+            return null;
+        }).when(recipeBatchRepository).insertAll(anyList(), anyInt());
+
+        IngestJob job = newJob(new IngestJob());
+        assertThrows(BaseException.class, () -> recipeIngestService.ingest(path, job, () -> false));
+
+        // 커밋된 첫 청크까지만 반영
+        assertEquals(2, job.getCheckpoint());
+        assertEquals(2, job.getRowsRead());
+        assertEquals(2, job.getRowsWritten());
+        assertEquals(List.of("레시피1", "레시피2"), inserted);
+
+        // 이전 작업의 체크포인트부터 재시작 (RecipeIngestJobService.start 와 같은 방식)
+        doAnswer(invocation -> {
+            List<Recipe> recipes = invocation.getArgument(0);
+            recipes.forEach(recipe -> inserted.add(recipe.getRcpNm()));
+            return null;
+        }).when(recipeBatchRepository).insertAll(anyList(), anyInt());
+
+        IngestJob resumed = newJob(job);
+        assertTrue(recipeIngestService.ingest(path, resumed, () -> false));
+
+        assertEquals(6, resumed.getCheckpoint());
+        assertEquals(6, resumed.getRowsRead());
+        assertEquals(6, resumed.getRowsWritten());
+        assertEquals(List.of("레시피1", "레시피2", "레시피3", "레시피4", "레시피5", "레시피6"), inserted);
+    }
+
+    @Test
+    void 취소하면_커밋한_청크까지만_저장() throws Exception {
+        Path path = write(6);
+        doAnswer(invocation -> {
+            List<Recipe> recipes = invocation.getArgument(0);
+            recipes.forEach(recipe -> inserted.add(recipe.getRcpNm()));
+            return null;
+        }).when(recipeBatchRepository).insertAll(anyList(), anyInt());
+
+        IngestJob job = newJob(new IngestJob());
+        assertFalse(recipeIngestService.ingest(path, job, () -> true));
+
+        assertEquals(2, job.getCheckpoint());
+        assertEquals(List.of("레시피1", "레시피2"), inserted);
+    }
+
+    @Test
+    void 잘린_파일이면_빠진_레시피를_삭제하지_않음() throws Exception {
+        Path path = write(2);
+        // 저장된 레시피 10개 중 8개가 파일에 없음
+        Map<String, String> knownHashes = new HashMap<>();
+        for (int i = 1; i <= 10; i++) {
+            knownHashes.put(String.valueOf(i), "hash" + i);
+        }
+        when(recipeBatchRepository.findContentHashes()).thenReturn(knownHashes);
+
+        IngestJob job = newJob(new IngestJob());
+        job.setMode(IngestJob.MODE_DELTA);
+        assertTrue(recipeIngestService.ingest(path, job, () -> false));
+
+        verify(recipeRepository, never()).deleteAll(anyIterable());
+        assertEquals(0, job.getRowsDeleted());
+        assertNotNull(job.getMessage());
+    }
+
+    private IngestJob newJob(IngestJob previous) {
+        IngestJob job = new IngestJob();
+        job.setFileName("recipes.json");
+        job.setStatus(IngestJob.RUNNING);
+        job.setMode(IngestJob.MODE_INSERT);
+        job.setCheckpoint(previous.getCheckpoint());
+        job.setRowsRead(previous.getRowsRead());
+        job.setRowsWritten(previous.getRowsWritten());
+        job.setRowsSkipped(previous.getRowsSkipped());
+        job.setRowsFailed(previous.getRowsFailed());
+        return job;
+    }
+
+    private Path write(int rows) throws Exception {
+        StringBuilder json = new StringBuilder("{\"total_count\":\"" + rows + "\",\"row\":[");
+        for (int i = 1; i <= rows; i++) {
+            json.append(i > 1 ? "," : "")
+                    .append("{\"RCP_SEQ\":\"").append(i).append("\",\"RCP_NM\":\"레시피").append(i)
+                    .append("\",\"RCP_PARTS_DTLS\":\"두부 100g, 소금 약간\",\"INFO_ENG\":\"").append(100 + i).append("\"}");
+        }
+        Path path = dir.resolve("recipes.json");
+        Files.writeString(path, json.append("]}").toString());
+        return path;
+    }
+}
@@ -0,0 +1,102 @@
+package doubleni.mealrecipe.service;
+
+import doubleni.mealrecipe.config.exception.BaseException;
+import doubleni.mealrecipe.config.exception.BaseResponseStatus;
+import doubleni.mealrecipe.model.DTO.PageRes;
+import doubleni.mealrecipe.model.DTO.RecipeSearchHitRes;
+import doubleni.mealrecipe.model.Recipe;
+import doubleni.mealrecipe.repository.RecipeBatchRepository;
+import doubleni.mealrecipe.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RecipeTextSearchServiceTest {
+
+    private RecipeCatalog recipeCatalog;
+    private RecipeTextSearchService recipeTextSearchService;
+
+    @BeforeEach
+    void setUp() {
+        List<Recipe> recipes = List.of(
+                recipe(1L, "김치찌개", "김치", null),
+                recipe(2L, "된장찌개", "된장", null),
+                recipe(3L, "된장국", null, null),
+                recipe(4L, "떡볶이", null, null),
+                recipe(5L, "두부조림", null, "김치찌개에 넣어도 좋아요"));
+
+        RecipeRepository recipeRepository = mock(RecipeRepository.class);
+        RecipeBatchRepository recipeBatchRepository = mock(RecipeBatchRepository.class);
+        when(recipeRepository.findAll(any(Sort.class))).thenReturn(recipes);
+        recipeCatalog = new RecipeCatalog(recipeRepository, recipeBatchRepository, mock(PlatformTransactionManager.class));
+        recipeCatalog.reload();
+
+        // 청크 저장 이벤트로 색인 (전체 재생성과 같은 add 경로)
+        recipeTextSearchService = new RecipeTextSearchService(recipeBatchRepository, recipeCatalog);
+        recipeTextSearchService.onRecipeChunkSaved(new RecipeChunkSavedEvent(recipes, List.of()));
+    }
+
+    @Test
+    void 레시피명에_들어_있으면_설명에만_있는_것보다_앞() throws BaseException {
+        // 같은 점수는 rcpId 순, 조리 팁에만 "찌개" 가 있는 5번은 마지막
+        assertEquals(List.of(1L, 2L, 5L), rcpIds(recipeTextSearchService.search("찌개", 0, 10)));
+    }
+
+    @Test
+    void 검색어_bigram_절반_이상이_들어_있어야_결과() throws BaseException {
+        // "된장찌개" -> 된장, 장찌, 찌개 중 2개 이상 - 된장국(된장), 김치찌개(찌개)는 하나뿐
+        PageRes<RecipeSearchHitRes> res = recipeTextSearchService.search("된장찌개", 0, 10);
+
+        assertEquals(List.of(2L), rcpIds(res));
+        assertEquals(1, res.getTotalElements());
+    }
+
+    @Test
+    void 한_글자_검색어는_그_글자가_들어간_bigram_으로_확장() throws BaseException {
+        assertEquals(List.of(4L), rcpIds(recipeTextSearchService.search("떡", 0, 10)));
+    }
+
+    @Test
+    void 페이지() throws BaseException {
+        PageRes<RecipeSearchHitRes> res = recipeTextSearchService.search("찌개", 1, 1);
+
+        assertEquals(List.of(2L), rcpIds(res));
+        assertEquals(3, res.getTotalElements());
+        assertTrue(res.isHasNext());
+    }
+
+    @Test
+    void 청크_저장_이벤트로_수정_삭제_반영() throws BaseException {
+        RecipeChunkSavedEvent event = new RecipeChunkSavedEvent(List.of(recipe(3L, "순두부찌개", null, null)), List.of(4L));
+        recipeCatalog.onRecipeChunkSaved(event);
+        recipeTextSearchService.onRecipeChunkSaved(event);
+
+        assertTrue(recipeTextSearchService.search("떡", 0, 10).getContent().isEmpty());
+        assertTrue(recipeTextSearchService.search("장국", 0, 10).getContent().isEmpty());
+        assertEquals(List.of(3L, 5L), rcpIds(recipeTextSearchService.search("순두부", 0, 10)));
+        assertEquals(List.of(1L, 2L, 3L, 5L), rcpIds(recipeTextSearchService.search("찌개", 0, 10)));
+    }
+
+    @Test
+    void 빈_검색어와_범위_밖_size_는_요청_오류() {
+        assertEquals(BaseResponseStatus.REQUEST_ERROR,
+                assertThrows(BaseException.class, () -> recipeTextSearchService.search(" ", 0, 10)).getStatus());
+        assertEquals(BaseResponseStatus.REQUEST_ERROR,
+                assertThrows(BaseException.class, () -> recipeTextSearchService.search("찌개", 0, RecipeTextSearchService.MAX_SIZE + 1)).getStatus());
+    }
+
+    private static Recipe recipe(Long rcpId, String rcpNm, String hashTag, String rcpNaTip) {
+        return Recipe.builder().rcpId(rcpId).rcpNm(rcpNm).hashTag(hashTag).rcpNaTip(rcpNaTip).build();
+    }
+
+    private static List<Long> rcpIds(PageRes<RecipeSearchHitRes> res) {
+        return res.getContent().stream().map(RecipeSearchHitRes::getRcpId).toList();
+    }
+}
@@ -0,0 +1,98 @@
+package doubleni.mealrecipe.utils;
+
+import doubleni.mealrecipe.model.RecipeIngredient;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngredientParserTest {
+
+    @Test
+    void 구분_줄과_콜론_앞은_구분으로() {
+        List<RecipeIngredient> ingredients = IngredientParser.parse(
+                "새우두부계란찜\n연두부 75g(3/4모), 칵테일새우 20g(5마리)\n고명\n시금치 10g(3줄기)\n●양념장 : \n고춧가루 4g(1작은술), 통깨 약간");
+
+        assertEquals(5, ingredients.size());
+        assertEquals("새우두부계란찜", ingredients.get(0).getSection());
+        assertEquals("고명", ingredients.get(2).getSection());
+        assertEquals("양념장", ingredients.get(3).getSection());
+        assertEquals("양념장", ingredients.get(4).getSection());
+        for (int i = 0; i < ingredients.size(); i++) {
+            assertEquals(i, ingredients.get(i).getPosition());
+        }
+    }
+
+    @Test
+    void 수량_단위_원문_분량() {
+        RecipeIngredient ingredient = IngredientParser.parse("다진 마늘 2.5g(1/2쪽)").get(0);
+
+        assertEquals("다진 마늘", ingredient.getName());
+        assertEquals("마늘", ingredient.getBaseName());
+        assertEquals(2.5, ingredient.getQuantity());
+        assertEquals("g", ingredient.getUnit());
+        assertEquals("2.5g(1/2쪽)", ingredient.getAmount());
+    }
+
+    @Test
+    void 분수와_분수_문자() {
+        assertEquals(0.5, quantity("설탕 ½큰술"));
+        assertEquals(1.33, quantity("우유 1⅓컵"));
+        assertEquals(0.75, quantity("연두부 3/4모"));
+        assertEquals(2.75, quantity("물 2¾컵"));
+    }
+
+    @Test
+    void 분모가_0이면_수량_없음() {
+        assertNull(quantity("물 1/0컵"));
+        assertNull(quantity("물 0/0컵"));
+        assertEquals("1/0컵", IngredientParser.parse("물 1/0컵").get(0).getAmount());
+    }
+
+    @Test
+    void 괄호_안의_쉼표로는_나누지_않음() {
+        List<RecipeIngredient> ingredients = IngredientParser.parse("두부 100g(1/3모, 작은 것), 대파 10g");
+
+        assertEquals(2, ingredients.size());
+        assertEquals("두부", ingredients.get(0).getName());
+        assertEquals("100g(1/3모, 작은 것)", ingredients.get(0).getAmount());
+        assertEquals("대파", ingredients.get(1).getName());
+    }
+
+    @Test
+    void 수량_없는_분량_표현() {
+        RecipeIngredient ingredient = IngredientParser.parse("후춧가루 약간").get(0);
+
+        assertEquals("후춧가루", ingredient.getName());
+        assertNull(ingredient.getQuantity());
+        assertEquals("약간", ingredient.getAmount());
+    }
+
+    @Test
+    void 컬럼보다_긴_재료명은_잘라서_저장() {
+        String name = "아주".repeat(60) + " 긴재료";
+        List<RecipeIngredient> ingredients = IngredientParser.parse(name + " 10g, 소금 1g");
+
+        assertEquals(2, ingredients.size());
+        assertEquals(100, ingredients.get(0).getName().length());
+        assertTrue(ingredients.get(0).getBaseName().length() <= 100);
+        assertEquals(10.0, ingredients.get(0).getQuantity());
+    }
+
+    @Test
+    void 빈_값() {
+        assertTrue(IngredientParser.parse(null).isEmpty());
+        assertTrue(IngredientParser.parse(" \n ").isEmpty());
+    }
+
+    @Test
+    void 검색어_정규화() {
+        assertEquals("대파", IngredientParser.baseName("  다진   대파 "));
+        assertEquals("두부", IngredientParser.baseName("두부"));
+    }
+
+    private static Double quantity(String item) {
+        return IngredientParser.parse(item).get(0).getQuantity();
+    }
+}
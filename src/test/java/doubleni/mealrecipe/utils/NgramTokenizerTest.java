@@ -0,0 +1,42 @@
+package doubleni.mealrecipe.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NgramTokenizerTest {
+
+    @Test
+    void 한글은_두_글자씩() {
+        assertEquals(List.of("김치", "치찌", "찌개"), NgramTokenizer.tokenize("김치찌개"));
+    }
+
+    @Test
+    void 공백과_문장_부호에서_끊음() {
+        assertEquals(List.of("김치", "찌개", "된장", "장국"), NgramTokenizer.tokenize("김치 찌개, 된장국!"));
+    }
+
+    @Test
+    void 한_글자_단어는_그대로() {
+        assertEquals(List.of("떡", "볶음"), NgramTokenizer.tokenize("떡 볶음"));
+    }
+
+    @Test
+    void 영문_숫자는_단어_단위_소문자() {
+        assertEquals(List.of("bbq", "치킨", "2", "인분"), NgramTokenizer.tokenize("BBQ치킨 2인분"));
+    }
+
+    @Test
+    void 전각_문자는_정규화() {
+        assertEquals(List.of("abc", "12"), NgramTokenizer.tokenize("ＡＢＣ １２"));
+    }
+
+    @Test
+    void 빈_값은_토큰_없음() {
+        assertTrue(NgramTokenizer.tokenize(null).isEmpty());
+        assertTrue(NgramTokenizer.tokenize("").isEmpty());
+        assertTrue(NgramTokenizer.tokenize(" , ").isEmpty());
+    }
+}
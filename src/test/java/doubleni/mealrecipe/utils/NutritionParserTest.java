@@ -0,0 +1,38 @@
+package doubleni.mealrecipe.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NutritionParserTest {
+
+    @Test
+    void 정수_소수_천_단위_쉼표() {
+        assertEquals(220.0, NutritionParser.parse("220"));
+        assertEquals(12.5, NutritionParser.parse("12.5"));
+        assertEquals(1020.0, NutritionParser.parse("1,020"));
+        assertEquals(0.0, NutritionParser.parse("0"));
+    }
+
+    @Test
+    void 앞뒤_공백은_무시() {
+        assertEquals(98.3, NutritionParser.parse("  98.3 "));
+    }
+
+    @Test
+    void 비어_있거나_숫자가_아니면_null() {
+        assertNull(NutritionParser.parse(null));
+        assertNull(NutritionParser.parse(""));
+        assertNull(NutritionParser.parse("   "));
+        assertNull(NutritionParser.parse("약간"));
+        assertNull(NutritionParser.parse("12g"));
+    }
+
+    @Test
+    void 음수와_무한대는_null() {
+        assertNull(NutritionParser.parse("-5"));
+        assertNull(NutritionParser.parse("NaN"));
+        assertNull(NutritionParser.parse("Infinity"));
+        assertNull(NutritionParser.parse("1e400"));
+    }
+}